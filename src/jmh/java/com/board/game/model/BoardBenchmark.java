@@ -0,0 +1,90 @@
+package com.board.game.model;
+
+import com.board.game.service.BattleRuleService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 이동 검증과 적용, 종료 판정 등 한 수마다 불리는 Board 연산
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardBenchmark {
+
+    // 시작 배치에서 양쪽 최전선 말을 앞으로 한 칸 보냈다가 되돌리는 네 수
+    private static final Position[][] SHUFFLE = {
+        {new Position(4, 3), new Position(5, 3)},
+        {new Position(9, 3), new Position(8, 3)},
+        {new Position(5, 3), new Position(4, 3)},
+        {new Position(8, 3), new Position(9, 3)},
+    };
+
+    private Board board;
+    private Position[] cells;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        BattleRuleService battleRuleService = new BattleRuleService();
+        battleRuleService.init();
+        board = new Board();
+        board.setBattleRuleService(battleRuleService);
+
+        cells = new Position[BoardCells.CELL_COUNT];
+        for (int cell = 0; cell < cells.length; cell++) {
+            cells[cell] = BoardCells.positionOf(cell);
+        }
+    }
+
+    private Position nextCell() {
+        next = (next + 1) % cells.length;
+        return cells[next];
+    }
+
+    @Benchmark
+    public Piece getPieceAt() {
+        return board.getPieceAt(nextCell());
+    }
+
+    @Benchmark
+    public boolean isValidMove() {
+        Position from = nextCell();
+        return board.isValidMove(from, new Position(from.getX() + 1, from.getY()));
+    }
+
+    @Benchmark
+    public void getLegalMoves(Blackhole blackhole) {
+        blackhole.consume(board.getLegalMoves(SHUFFLE[0][0]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(4)
+    public boolean movePiece() {
+        boolean moved = true;
+        for (Position[] move : SHUFFLE) {
+            moved &= board.movePiece(move[0], move[1]);
+        }
+        return moved;
+    }
+
+    @Benchmark
+    public boolean isGameOver() {
+        return board.isGameOver();
+    }
+
+    @Benchmark
+    public PlayerColor getWinner() {
+        return board.getWinner();
+    }
+
+    @Benchmark
+    public long getHash() {
+        return board.getHash();
+    }
+}
@@ -0,0 +1,48 @@
+package com.board.game.service;
+
+import com.board.game.model.PieceType;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 전투 결과 조회. 한 번 호출마다 다른 타입 쌍을 본다
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BattleRuleBenchmark {
+
+    private static final PieceType[] TYPES = PieceType.values();
+
+    private BattleRuleService battleRuleService;
+    private BattleRuleSet ruleSet;
+    private int pair;
+
+    @Setup
+    public void setUp() {
+        battleRuleService = new BattleRuleService();
+        battleRuleService.init();
+        ruleSet = battleRuleService.getActiveRuleSet();
+    }
+
+    private int nextPair() {
+        pair = (pair + 1) % (TYPES.length * TYPES.length);
+        return pair;
+    }
+
+    @Benchmark
+    public int resolveBattle() {
+        int p = nextPair();
+        return battleRuleService.resolveBattle(TYPES[p / TYPES.length], TYPES[p % TYPES.length]);
+    }
+
+    @Benchmark
+    public int resolveBattleOnRuleSet() {
+        int p = nextPair();
+        return ruleSet.resolveBattle(TYPES[p / TYPES.length], TYPES[p % TYPES.length]);
+    }
+}
@@ -0,0 +1,72 @@
+package com.board.game.service;
+
+import com.board.game.dto.GameStateResponse;
+import com.board.game.model.*;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 색상별 화면 만들기(상대 말 가리기)와 JSON 직렬화.
+ * masked* 는 매번 새 버전의 화면을 만들고, cached 는 같은 버전에서 공유되는 화면을 돌려받는 경로다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameStateBenchmark {
+
+    private GameService gameService;
+    private GameRoom room;
+    private String roomId;
+    private GameStateResponse response;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() {
+        BattleRuleService battleRuleService = new BattleRuleService();
+        battleRuleService.init();
+        gameService = new GameService(battleRuleService);
+        objectMapper = new ObjectMapper();
+
+        roomId = gameService.createRoom("redPlayer");
+        gameService.joinRoom(roomId, "bluePlayer");
+        room = gameService.getRoom(roomId);
+        Board board = new Board();
+        board.setRuleSet(battleRuleService.getActiveRuleSet());
+        room.setBoard(board);
+        room.setStatus(GameStatus.PLAYING);
+        room.nextVersion();
+
+        response = gameService.getGameState(roomId, "redPlayer");
+    }
+
+    @TearDown
+    public void tearDown() {
+        gameService.shutdown();
+    }
+
+    @Benchmark
+    public GameStateResponse maskedView() {
+        return gameService.toGameState(RoomProjection.of(room), PlayerColor.RED);
+    }
+
+    @Benchmark
+    public GameStateResponse cachedView() {
+        return gameService.getGameState(roomId, "redPlayer");
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] maskedViewAndSerialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(gameService.toGameState(RoomProjection.of(room), PlayerColor.RED));
+    }
+}
@@ -0,0 +1,447 @@
+package com.board.game.loadtest;
+
+import com.board.game.ai.Formations;
+import com.board.game.model.BoardCells;
+import com.board.game.model.GameStatus;
+import com.board.game.model.Piece;
+import com.board.game.model.PieceType;
+import com.board.game.model.PlayerColor;
+import com.board.game.model.Position;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 가상 플레이어 한 명. 브라우저 클라이언트와 같은 순서로 서버를 사용합니다.
+ *
+ * 연결 -> /app/game.join -> /user/queue/reply 로 방과 색상 수신 -> 색상 토픽 구독
+ * -> SETUP 이면 REST formation 으로 배치와 ready 를 한 번에 (--setup=place 면 place-piece 35번 후 ready) -> 자기 차례마다 /app/game.move
+ * -> FINISHED 면 다시 join.
+ *
+ * 수 왕복 지연은 /app/game.move 를 보낸 때부터 seq 가 올라간 상태(또는 "Invalid move")를 색상 토픽으로 받을 때까지입니다.
+ * 모든 콜백은 이 객체로 동기화하므로 웹소켓, HTTP, 스케줄러 스레드 어디서 와도 상태가 꼬이지 않습니다.
+ */
+@Slf4j
+class LoadPlayer extends StompSessionHandlerAdapter {
+
+    private static final String INVALID_MOVE = "Invalid move";
+    private static final int MINE = PieceType.MINE.ordinal();
+
+    private final LoadTest test;
+    private final String playerId;
+    private final SplittableRandom random;
+    private final ObjectMapper mapper;
+
+    private StompSession session;
+    private StompSession.Subscription topic;
+
+    private String roomId;
+    private PlayerColor color;
+    private long seq = -1;
+    private GameStatus status;
+    private PlayerColor currentTurn;
+    private final Map<String, Piece> pieces = new HashMap<>();
+
+    private boolean placing;
+    private boolean started;
+    private long pendingSince;      // 0 이면 응답을 기다리는 수가 없다
+    private long pendingSeq;
+    private boolean moveScheduled;
+    private long lastProgress;
+
+    LoadPlayer(LoadTest test, String playerId, long seed) {
+        this.test = test;
+        this.playerId = playerId;
+        this.random = new SplittableRandom(seed);
+        this.mapper = test.getMapper();
+    }
+
+    synchronized boolean isPlaying() {
+        return status == GameStatus.PLAYING;
+    }
+
+    void connect() {
+        StompHeaders headers = new StompHeaders();
+        headers.add("playerId", playerId);
+        test.getStompClient().connectAsync(test.getWebSocketUrl(), new WebSocketHttpHeaders(), headers, this)
+                .whenComplete((connected, error) -> {
+                    if (error != null) {
+                        test.getStats().connectFailures.increment();
+                        log.debug("Player {} failed to connect: {}", playerId, error.toString());
+                    }
+                });
+    }
+
+    @Override
+    public synchronized void afterConnected(StompSession session, StompHeaders connectedHeaders) {
+        this.session = session;
+        test.getStats().connected.increment();
+        session.subscribe("/user/queue/reply", frameHandler(this::onReply));
+        join();
+    }
+
+    @Override
+    public void handleException(StompSession session, StompCommand command, StompHeaders headers,
+                                byte[] payload, Throwable exception) {
+        log.debug("Player {} failed to handle {}: {}", playerId, command, exception.toString());
+    }
+
+    @Override
+    public synchronized void handleTransportError(StompSession session, Throwable exception) {
+        if (!session.isConnected() && this.session == session) {
+            test.getStats().disconnects.increment();
+            this.session = null;
+            log.debug("Player {} lost its connection: {}", playerId, exception.toString());
+        }
+    }
+
+    private StompFrameHandler frameHandler(FrameConsumer consumer) {
+        return new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return byte[].class;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                byte[] bytes = (byte[]) payload;
+                test.getStats().framesIn.increment();
+                test.getStats().bytesIn.add(bytes.length);
+                try {
+                    consumer.accept(mapper.readTree(bytes));
+                } catch (IOException e) {
+                    log.debug("Player {} received an unreadable frame: {}", playerId, e.toString());
+                }
+            }
+        };
+    }
+
+    @FunctionalInterface
+    private interface FrameConsumer {
+        void accept(JsonNode frame);
+    }
+
+    // 새 게임에 들어간다
+    private void join() {
+        roomId = null;
+        color = null;
+        seq = -1;
+        status = null;
+        currentTurn = null;
+        pieces.clear();
+        placing = false;
+        started = false;
+        pendingSince = 0;
+        moveScheduled = false;
+        lastProgress = System.nanoTime();
+        if (topic != null) {
+            topic.unsubscribe();
+            topic = null;
+        }
+        send("/app/game.join", Map.of("playerId", playerId));
+    }
+
+    private synchronized void onReply(JsonNode reply) {
+        if (reply.has("type") || roomId != null) {
+            return;     // REDIRECT 또는 이미 받은 응답
+        }
+
+        roomId = reply.path("roomId").asText(null);
+        color = PlayerColor.valueOf(reply.path("playerColor").asText());
+        topic = session.subscribe("/topic/game." + roomId + "." + color, frameHandler(this::onState));
+        // 구독 전에 보낸 상대 참가 알림을 놓쳤을 수 있으니 현재 상태를 다시 받는다
+        send("/app/game.sync", Map.of("playerId", playerId, "roomId", roomId));
+    }
+
+    private synchronized void onState(JsonNode frame) {
+        if (!frame.path("roomId").asText("").equals(roomId)) {
+            return;
+        }
+        lastProgress = System.nanoTime();
+
+        long frameSeq = frame.path("seq").asLong(-1);
+        if ("DELTA".equals(frame.path("type").asText(null))) {
+            if (frame.path("baseSeq").asLong() != seq) {
+                if (frameSeq > seq) {
+                    sync();
+                }
+                return;
+            }
+            for (JsonNode node : frame.path("pieces")) {
+                Piece piece = readPiece(node);
+                pieces.put(piece.getId(), piece);
+            }
+        } else {
+            if (frameSeq < seq) {
+                return;
+            }
+            pieces.clear();
+            for (JsonNode node : frame.path("pieces")) {
+                Piece piece = readPiece(node);
+                pieces.put(piece.getId(), piece);
+            }
+        }
+        seq = frameSeq;
+        status = GameStatus.valueOf(frame.path("status").asText());
+        currentTurn = frame.hasNonNull("currentTurn") ? PlayerColor.valueOf(frame.path("currentTurn").asText()) : null;
+
+        if (pendingSince != 0) {
+            if (seq > pendingSeq) {
+                test.getStats().recordMove(System.nanoTime() - pendingSince);
+                pendingSince = 0;
+            } else if (INVALID_MOVE.equals(frame.path("message").asText(null))) {
+                test.getStats().invalidMoves.increment();
+                pendingSince = 0;
+            }
+        }
+        advance();
+    }
+
+    private void advance() {
+        switch (status) {
+            case SETUP -> {
+                if (!placing) {
+                    placing = true;
+                    placePieces();
+                }
+            }
+            case PLAYING -> {
+                if (!started) {
+                    started = true;
+                    test.getStats().gamesStarted.increment();
+                }
+                if (currentTurn == color && pendingSince == 0 && !moveScheduled) {
+                    moveScheduled = true;
+                    long think = test.getOptions().getThinkMillis();
+                    if (think > 0) {
+                        test.getScheduler().schedule(this::move, think, TimeUnit.MILLISECONDS);
+                    } else {
+                        move();
+                    }
+                }
+            }
+            case FINISHED -> {
+                if (started) {
+                    test.getStats().gamesFinished.increment();
+                }
+                if (test.isRunning()) {
+                    join();
+                } else {
+                    status = null;
+                }
+            }
+            default -> {
+            }
+        }
+    }
+
+    private void placePieces() {
+        if ("place".equals(test.getOptions().getSetup())) {
+            placePiecesOneByOne();
+        } else {
+            // 서버의 random 템플릿으로 배치와 ready 를 한 요청에 끝낸다
+            post(roomId, "formation", Map.of("playerId", playerId, "template", "random", "ready", true));
+        }
+    }
+
+    // 받은 말을 자기 진영에 무작위로 배치한 뒤 ready. 요청은 하나씩 차례로 보낸다
+    private void placePiecesOneByOne() {
+        String room = roomId;
+        PlayerColor side = color;
+        HttpRequest request = HttpRequest.newBuilder(URI.create(test.getOptions().getUrl()
+                        + "/api/game/rooms/" + room + "/initial-pieces?playerId=" + playerId))
+                .GET()
+                .build();
+
+        test.getStats().httpRequests.increment();
+        test.getHttpClient().sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .thenCompose(response -> {
+                    if (response.statusCode() != 200) {
+                        test.getStats().httpErrors.increment();
+                        return CompletableFuture.completedFuture(false);
+                    }
+                    List<Piece> own = new ArrayList<>();
+                    try {
+                        for (JsonNode node : mapper.readTree(response.body())) {
+                            own.add(readPiece(node));
+                        }
+                    } catch (IOException e) {
+                        test.getStats().httpErrors.increment();
+                        return CompletableFuture.completedFuture(false);
+                    }
+                    List<Position> cells;
+                    synchronized (this) {
+                        cells = Formations.random(own, side, random);
+                    }
+
+                    CompletableFuture<Boolean> chain = CompletableFuture.completedFuture(true);
+                    for (int i = 0; i < own.size(); i++) {
+                        Map<String, Object> body = Map.of(
+                                "playerId", playerId,
+                                "pieceId", own.get(i).getId(),
+                                "position", Map.of("x", cells.get(i).getX(), "y", cells.get(i).getY()));
+                        chain = chain.thenCompose(ok -> ok ? post(room, "place-piece", body) : CompletableFuture.completedFuture(false));
+                    }
+                    return chain.thenCompose(ok -> ok ? post(room, "ready", Map.of("playerId", playerId)) : CompletableFuture.completedFuture(false));
+                })
+                .exceptionally(error -> {
+                    test.getStats().httpErrors.increment();
+                    return false;
+                });
+    }
+
+    // PieceType 은 객체 모양으로 직렬화되어 Jackson 이 되읽지 못하므로 name 만 꺼낸다
+    private static Piece readPiece(JsonNode node) {
+        JsonNode type = node.path("type");
+        JsonNode position = node.path("position");
+        Piece piece = new Piece(
+                node.path("id").asText(),
+                PlayerColor.valueOf(node.path("color").asText()),
+                type.isObject() ? PieceType.valueOf(type.path("name").asText()) : null,
+                position.isObject() ? new Position(position.path("x").asDouble(), position.path("y").asDouble()) : null);
+        piece.setCaptured(node.path("captured").asBoolean());
+        piece.setRevealed(node.path("revealed").asBoolean());
+        return piece;
+    }
+
+    private CompletableFuture<Boolean> post(String room, String action, Map<String, ?> body) {
+        HttpRequest request;
+        try {
+            request = HttpRequest.newBuilder(URI.create(test.getOptions().getUrl() + "/api/game/rooms/" + room + "/" + action))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(body)))
+                    .build();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+
+        test.getStats().httpRequests.increment();
+        return test.getHttpClient().sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .handle((response, error) -> {
+                    if (error != null || response.statusCode() != 200) {
+                        test.getStats().httpErrors.increment();
+                        log.debug("Player {} failed to {} in room {}: {}", playerId, action, room,
+                                error != null ? error.toString() : response.statusCode());
+                        return false;
+                    }
+                    return true;
+                });
+    }
+
+    private synchronized void move() {
+        moveScheduled = false;
+        if (status != GameStatus.PLAYING || currentTurn != color || pendingSince != 0) {
+            return;
+        }
+
+        // 자기 말이 없는 이웃 칸으로 가는 수 중 하나. 검증은 서버에 맡긴다
+        boolean[] own = new boolean[BoardCells.CELL_COUNT];
+        List<Piece> movable = new ArrayList<>();
+        for (Piece piece : pieces.values()) {
+            int cell = piece.isCaptured() ? BoardCells.NONE : BoardCells.indexOf(piece.getPosition());
+            if (piece.getColor() != color || cell == BoardCells.NONE) {
+                continue;
+            }
+            own[cell] = true;
+            if (piece.getType() != null && piece.getType().ordinal() != MINE) {
+                movable.add(piece);
+            }
+        }
+
+        List<int[]> moves = new ArrayList<>();
+        for (Piece piece : movable) {
+            int from = BoardCells.indexOf(piece.getPosition());
+            for (int i = 0; i < BoardCells.neighbourCount(from); i++) {
+                int to = BoardCells.neighbour(from, i);
+                if (!own[to]) {
+                    moves.add(new int[]{from, to});
+                }
+            }
+        }
+        if (moves.isEmpty()) {
+            // 둘 수가 없으면 이 게임은 끝나지 않으므로 나가고 새 게임을 찾는다
+            send("/app/game.leave", Map.of("playerId", playerId, "roomId", roomId));
+            join();
+            return;
+        }
+
+        int[] move = moves.get(random.nextInt(moves.size()));
+        pendingSeq = seq;
+        pendingSince = System.nanoTime();
+        Map<String, Object> request = new HashMap<>();
+        request.put("roomId", roomId);
+        request.put("playerId", playerId);
+        request.put("from", BoardCells.positionOf(move[0]));
+        request.put("to", BoardCells.positionOf(move[1]));
+        send("/app/game.move", request);
+    }
+
+    /**
+     * 스케줄러가 주기적으로 부릅니다. 응답이 없는 수와 멈춘 게임을 전체 상태 재요청으로 되살립니다.
+     */
+    synchronized void check(long now) {
+        if (session == null || roomId == null) {
+            return;
+        }
+        LoadTest.Options options = test.getOptions();
+        if (pendingSince != 0 && now - pendingSince > TimeUnit.MILLISECONDS.toNanos(options.getMoveTimeoutMillis())) {
+            test.getStats().moveTimeouts.increment();
+            pendingSince = 0;
+            sync();
+        } else if (now - lastProgress > TimeUnit.MILLISECONDS.toNanos(options.getStallMillis())) {
+            lastProgress = now;
+            sync();
+        }
+    }
+
+    synchronized void stop() {
+        if (session == null) {
+            return;
+        }
+        if (roomId != null) {
+            send("/app/game.leave", Map.of("playerId", playerId, "roomId", roomId));
+        }
+        session.disconnect();
+        session = null;
+    }
+
+    private void sync() {
+        test.getStats().resyncs.increment();
+        send("/app/game.sync", Map.of("playerId", playerId, "roomId", roomId));
+    }
+
+    private void send(String destination, Object body) {
+        if (session == null) {
+            return;
+        }
+        StompHeaders headers = new StompHeaders();
+        headers.setDestination(destination);
+        headers.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        try {
+            session.send(headers, mapper.writeValueAsBytes(body));
+            test.getStats().framesOut.increment();
+        } catch (IOException | RuntimeException e) {
+            log.debug("Player {} failed to send to {}: {}", playerId, destination, e.toString());
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.board.game.loadtest;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 부하 테스트 집계. 모든 플레이어가 같은 인스턴스에 동시에 기록합니다.
+ *
+ * 수 왕복 지연은 0.1ms 단위 버킷에 세어 백분위를 구합니다. 60초를 넘는 값은 마지막 버킷에 모입니다.
+ */
+public class LoadStats {
+
+    private static final long BUCKET_NANOS = 100_000;
+    private static final int BUCKETS = 600_000;
+
+    final LongAdder connected = new LongAdder();
+    final LongAdder connectFailures = new LongAdder();
+    final LongAdder disconnects = new LongAdder();
+    final LongAdder framesIn = new LongAdder();
+    final LongAdder bytesIn = new LongAdder();
+    final LongAdder framesOut = new LongAdder();
+    final LongAdder httpRequests = new LongAdder();
+    final LongAdder httpErrors = new LongAdder();
+    final LongAdder gamesStarted = new LongAdder();
+    final LongAdder gamesFinished = new LongAdder();
+    final LongAdder invalidMoves = new LongAdder();
+    final LongAdder moveTimeouts = new LongAdder();
+    final LongAdder resyncs = new LongAdder();
+
+    private final AtomicLongArray latency = new AtomicLongArray(BUCKETS);
+    private final LongAdder moves = new LongAdder();
+    private final LongAdder latencyNanos = new LongAdder();
+
+    void recordMove(long nanos) {
+        latency.incrementAndGet((int) Math.min(BUCKETS - 1, Math.max(0, nanos / BUCKET_NANOS)));
+        moves.increment();
+        latencyNanos.add(nanos);
+    }
+
+    public long getMoves() {
+        return moves.sum();
+    }
+
+    public double getMeanLatencyMillis() {
+        long count = moves.sum();
+        return count == 0 ? 0 : latencyNanos.sum() / 1e6 / count;
+    }
+
+    /**
+     * 수 왕복 지연의 백분위(ms). fraction 은 0-1
+     */
+    public double getLatencyPercentile(double fraction) {
+        long count = moves.sum();
+        long target = Math.max(1, (long) Math.ceil(count * fraction));
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            seen += latency.get(bucket);
+            if (seen >= target) {
+                return (bucket + 1) * BUCKET_NANOS / 1e6;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * JSON 으로 내보낼 집계 (Jackson 으로 그대로 직렬화)
+     */
+    public Map<String, Object> toMap(double seconds) {
+        Map<String, Object> latencyStats = new LinkedHashMap<>();
+        latencyStats.put("mean", getMeanLatencyMillis());
+        latencyStats.put("p50", getLatencyPercentile(0.5));
+        latencyStats.put("p90", getLatencyPercentile(0.9));
+        latencyStats.put("p99", getLatencyPercentile(0.99));
+        latencyStats.put("p999", getLatencyPercentile(0.999));
+        latencyStats.put("max", getLatencyPercentile(1.0));
+
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("connected", connected.sum());
+        map.put("connectFailures", connectFailures.sum());
+        map.put("disconnects", disconnects.sum());
+        map.put("gamesStarted", gamesStarted.sum());
+        map.put("gamesFinished", gamesFinished.sum());
+        map.put("moves", getMoves());
+        map.put("invalidMoves", invalidMoves.sum());
+        map.put("moveTimeouts", moveTimeouts.sum());
+        map.put("resyncs", resyncs.sum());
+        map.put("moveLatencyMillis", latencyStats);
+        map.put("framesIn", framesIn.sum());
+        map.put("framesOut", framesOut.sum());
+        map.put("bytesIn", bytesIn.sum());
+        map.put("httpRequests", httpRequests.sum());
+        map.put("httpErrors", httpErrors.sum());
+        map.put("movesPerSecond", rate(getMoves(), seconds));
+        map.put("framesInPerSecond", rate(framesIn.sum(), seconds));
+        map.put("framesOutPerSecond", rate(framesOut.sum(), seconds));
+        return map;
+    }
+
+    /**
+     * 사람이 읽는 보고서
+     */
+    public String report(double seconds) {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format(Locale.ROOT, "Players: %d connected, %d failed, %d dropped%n",
+                connected.sum(), connectFailures.sum(), disconnects.sum()));
+        out.append(String.format(Locale.ROOT, "Games: %d started, %d finished%n",
+                gamesStarted.sum(), gamesFinished.sum()));
+        out.append(String.format(Locale.ROOT, "Moves: %d (%.0f/s), %d invalid, %d timed out, %d resyncs%n",
+                getMoves(), rate(getMoves(), seconds), invalidMoves.sum(), moveTimeouts.sum(), resyncs.sum()));
+        out.append(String.format(Locale.ROOT, "Move round trip (ms): mean %.2f  p50 %.1f  p90 %.1f  p99 %.1f  p99.9 %.1f  max %.1f%n",
+                getMeanLatencyMillis(), getLatencyPercentile(0.5), getLatencyPercentile(0.9),
+                getLatencyPercentile(0.99), getLatencyPercentile(0.999), getLatencyPercentile(1.0)));
+        out.append(String.format(Locale.ROOT, "STOMP frames: %.0f/s in (%.1f MB/s), %.0f/s out%n",
+                rate(framesIn.sum(), seconds), rate(bytesIn.sum(), seconds) / 1e6, rate(framesOut.sum(), seconds)));
+        out.append(String.format(Locale.ROOT, "HTTP requests: %d (%.0f/s), %d failed%n",
+                httpRequests.sum(), rate(httpRequests.sum(), seconds), httpErrors.sum()));
+        return out.toString();
+    }
+
+    private static double rate(long count, double seconds) {
+        return seconds <= 0 ? 0 : count / seconds;
+    }
+}
@@ -0,0 +1,279 @@
+package com.board.game.loadtest;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.websocket.ContainerProvider;
+import jakarta.websocket.WebSocketContainer;
+import lombok.Data;
+import org.springframework.web.socket.client.WebSocketClient;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import org.springframework.web.socket.sockjs.client.SockJsClient;
+import org.springframework.web.socket.sockjs.client.WebSocketTransport;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 실행 중인 서버에 가상 플레이어 수천 명을 붙여 STOMP 게임 트래픽을 만들고
+ * 수 왕복 지연 백분위와 초당 메시지 수를 보고합니다. 한 인스턴스가 동시에 몇 개의 방을 버티는지 확인하는 용도입니다.
+ *
+ * 플레이어는 ramp 동안 고르게 연결하고, duration 이 지나면 방을 나가며 끊습니다. 게임이 끝나면 새 게임에 다시 참가합니다.
+ * 짝이 맞지 않아 혼자 남은 방에는 서버 설정에 따라 봇이 앉을 수 있습니다.
+ *
+ * <pre>
+ * gradle bootRun                                  (다른 터미널에서 서버 실행)
+ * gradle loadTest -Pargs="--players=2000 --ramp=20 --duration=60 --json=build/load-test.json"
+ * </pre>
+ */
+public final class LoadTest {
+
+    private final Options options;
+    private final LoadStats stats = new LoadStats();
+    private final ObjectMapper mapper = new ObjectMapper()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    private final HttpClient httpClient;
+    private final WebSocketStompClient stompClient;
+    private final ScheduledExecutorService scheduler;
+    private volatile boolean running;
+
+    /**
+     * 실행 옵션. 명령행에서는 --players=100 처럼 씁니다.
+     */
+    @Data
+    public static class Options {
+        private String url = "http://localhost:8080";
+        private int players = 1000;
+        /** 모든 플레이어가 연결을 마칠 때까지의 시간(초) */
+        private int ramp = 10;
+        /** ramp 이후 부하를 유지할 시간(초) */
+        private int duration = 60;
+        /** 자기 차례가 온 뒤 수를 보내기까지 기다리는 시간 */
+        private long thinkMillis = 0;
+        private long moveTimeoutMillis = 10_000;
+        /** 이 시간 동안 상태가 오지 않으면 전체 상태를 다시 요청한다 */
+        private long stallMillis = 5_000;
+        /** sockjs: /ws (브라우저와 같은 경로), native: /ws-native */
+        private String transport = "sockjs";
+        /** formation: 배치와 ready 를 REST 한 번에, place: 말마다 place-piece 후 ready */
+        private String setup = "formation";
+        /** 웹소켓 세션당 텍스트 메시지 버퍼 (KB). 전체 상태 프레임보다 커야 한다 */
+        private int bufferKb = 32;
+        private int reportSeconds = 5;
+        private long seed = 1L;
+        private String json;
+    }
+
+    public LoadTest(Options options) {
+        this.options = options;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+
+        WebSocketContainer container = ContainerProvider.getWebSocketContainer();
+        container.setDefaultMaxTextMessageBufferSize(options.getBufferKb() * 1024);
+        container.setDefaultMaxBinaryMessageBufferSize(options.getBufferKb() * 1024);
+        WebSocketClient webSocketClient = new StandardWebSocketClient(container);
+        this.stompClient = new WebSocketStompClient("native".equals(options.getTransport())
+                ? webSocketClient
+                : new SockJsClient(List.of(new WebSocketTransport(webSocketClient))));
+        this.stompClient.setInboundMessageSizeLimit(options.getBufferKb() * 1024 * 2);
+
+        this.scheduler = Executors.newScheduledThreadPool(2, runnable -> {
+            Thread thread = new Thread(runnable, "load-test-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = parse(args);
+        LoadTest test = new LoadTest(options);
+        System.out.printf(Locale.ROOT, "Load test: %d players against %s (%s, %s setup), ramp %ds, duration %ds%n",
+                options.getPlayers(), options.getUrl(), options.getTransport(), options.getSetup(),
+                options.getRamp(), options.getDuration());
+
+        long start = System.nanoTime();
+        test.run();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf(Locale.ROOT, "Finished in %.1fs%n", seconds);
+        System.out.print(test.stats.report(seconds));
+
+        if (options.getJson() != null) {
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("url", options.getUrl());
+            report.put("transport", options.getTransport());
+            report.put("setup", options.getSetup());
+            report.put("players", options.getPlayers());
+            report.put("rampSeconds", options.getRamp());
+            report.put("durationSeconds", options.getDuration());
+            report.put("thinkMillis", options.getThinkMillis());
+            report.put("seconds", seconds);
+            report.putAll(test.stats.toMap(seconds));
+            writeJson(new File(options.getJson()), report);
+        }
+        System.exit(0);
+    }
+
+    private static void writeJson(File file, Map<String, Object> report) throws IOException {
+        if (file.getParentFile() != null) {
+            file.getParentFile().mkdirs();
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, report);
+    }
+
+    static Options parse(String[] args) {
+        Options options = new Options();
+        for (String arg : args) {
+            if (arg.isBlank()) {
+                continue;
+            }
+            String[] pair = arg.replaceFirst("^--", "").split("=", 2);
+            String value = pair.length > 1 ? pair[1] : "true";
+            switch (pair[0]) {
+                case "url" -> options.setUrl(value.replaceFirst("/+$", ""));
+                case "players" -> options.setPlayers(Integer.parseInt(value));
+                case "ramp" -> options.setRamp(Integer.parseInt(value));
+                case "duration" -> options.setDuration(Integer.parseInt(value));
+                case "think" -> options.setThinkMillis(Long.parseLong(value));
+                case "move-timeout" -> options.setMoveTimeoutMillis(Long.parseLong(value));
+                case "stall" -> options.setStallMillis(Long.parseLong(value));
+                case "transport" -> {
+                    if (!value.equals("sockjs") && !value.equals("native")) {
+                        throw new IllegalArgumentException("Unknown transport: " + value);
+                    }
+                    options.setTransport(value);
+                }
+                case "setup" -> {
+                    if (!value.equals("formation") && !value.equals("place")) {
+                        throw new IllegalArgumentException("Unknown setup: " + value);
+                    }
+                    options.setSetup(value);
+                }
+                case "buffer-kb" -> options.setBufferKb(Integer.parseInt(value));
+                case "report" -> options.setReportSeconds(Integer.parseInt(value));
+                case "seed" -> options.setSeed(Long.parseLong(value));
+                case "json" -> options.setJson(value);
+                default -> throw new IllegalArgumentException("Unknown option: " + arg);
+            }
+        }
+        return options;
+    }
+
+    /**
+     * 플레이어를 연결하고 duration 동안 부하를 유지한 뒤 모두 끊습니다.
+     */
+    public LoadStats run() throws InterruptedException {
+        running = true;
+        String runId = UUID.randomUUID().toString().substring(0, 8);
+        List<LoadPlayer> players = new ArrayList<>(options.getPlayers());
+        for (int i = 0; i < options.getPlayers(); i++) {
+            players.add(new LoadPlayer(this, "load-" + runId + "-" + i, options.getSeed() * 31 + i));
+        }
+
+        long rampNanos = TimeUnit.SECONDS.toNanos(options.getRamp());
+        for (int i = 0; i < players.size(); i++) {
+            scheduler.schedule(players.get(i)::connect, rampNanos * i / players.size(), TimeUnit.NANOSECONDS);
+        }
+        scheduler.scheduleWithFixedDelay(() -> {
+            long now = System.nanoTime();
+            players.forEach(player -> player.check(now));
+        }, 500, 500, TimeUnit.MILLISECONDS);
+
+        Progress progress = new Progress(players);
+        scheduler.scheduleAtFixedRate(progress::print,
+                options.getReportSeconds(), options.getReportSeconds(), TimeUnit.SECONDS);
+
+        TimeUnit.SECONDS.sleep(options.getRamp() + options.getDuration());
+
+        running = false;
+        players.forEach(LoadPlayer::stop);
+        // 나가기 프레임이 전송될 시간을 준다
+        TimeUnit.SECONDS.sleep(1);
+        scheduler.shutdownNow();
+        return stats;
+    }
+
+    /**
+     * 주기적으로 직전 구간의 처리량과 누적 지연을 출력합니다.
+     */
+    private final class Progress {
+        private final List<LoadPlayer> players;
+        private final long start = System.nanoTime();
+        private long last = start;
+        private long lastMoves;
+        private long lastFramesIn;
+        private long lastFramesOut;
+
+        Progress(List<LoadPlayer> players) {
+            this.players = players;
+        }
+
+        void print() {
+            long now = System.nanoTime();
+            double seconds = (now - last) / 1e9;
+            long moves = stats.getMoves();
+            long framesIn = stats.framesIn.sum();
+            long framesOut = stats.framesOut.sum();
+            long playing = players.stream().filter(LoadPlayer::isPlaying).count();
+
+            System.out.printf(Locale.ROOT,
+                    "[%4.0fs] connected %d, rooms playing %d, moves %.0f/s, frames in %.0f/s out %.0f/s, p50 %.1fms p99 %.1fms%n",
+                    (now - start) / 1e9, stats.connected.sum() - stats.disconnects.sum(), playing / 2,
+                    (moves - lastMoves) / seconds, (framesIn - lastFramesIn) / seconds, (framesOut - lastFramesOut) / seconds,
+                    stats.getLatencyPercentile(0.5), stats.getLatencyPercentile(0.99));
+
+            last = now;
+            lastMoves = moves;
+            lastFramesIn = framesIn;
+            lastFramesOut = framesOut;
+        }
+    }
+
+    Options getOptions() {
+        return options;
+    }
+
+    LoadStats getStats() {
+        return stats;
+    }
+
+    ObjectMapper getMapper() {
+        return mapper;
+    }
+
+    HttpClient getHttpClient() {
+        return httpClient;
+    }
+
+    WebSocketStompClient getStompClient() {
+        return stompClient;
+    }
+
+    ScheduledExecutorService getScheduler() {
+        return scheduler;
+    }
+
+    boolean isRunning() {
+        return running;
+    }
+
+    String getWebSocketUrl() {
+        String base = options.getUrl().replaceFirst("^http", "ws");
+        return "native".equals(options.getTransport()) ? base + "/ws-native" : options.getUrl() + "/ws";
+    }
+}
@@ -0,0 +1,17 @@
+package com.board.game.ai;
+
+import com.board.game.model.Position;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * 봇이 고른 수와 탐색 통계
+ */
+@Data
+@AllArgsConstructor
+public class BotMove {
+    private Position from;
+    private Position to;
+    private int depth;      // 모든 표본에서 끝까지 탐색한 깊이 (0 이면 시간 안에 한 단계도 끝내지 못함)
+    private long nodes;
+}
@@ -0,0 +1,309 @@
+package com.board.game.ai;
+
+import com.board.game.model.BoardCells;
+import com.board.game.model.Piece;
+import com.board.game.model.PieceType;
+import com.board.game.model.PlayerColor;
+import com.board.game.service.BattleRuleSet;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * 가려진 정보가 있는 보드에서 한 수를 고르는 반복 심화 탐색.
+ *
+ * 가려진 상대 말의 타입을 여러 번 표본으로 채우고(Determinizer), 각 표본에서 같은 깊이의 알파-베타 탐색을 돌려
+ * 가장 많은 표본이 고른 수를 택합니다. 깊이를 하나씩 늘리다 시간이 다 되면 모든 표본을 끝낸 마지막 깊이의 결과를 씁니다.
+ * 치환표는 Zobrist 해시를 키로 표본 사이에서도 공유합니다 (해시에 타입이 들어가므로 충돌하지 않는다).
+ *
+ * 인스턴스는 한 번의 탐색에만 쓰고 스레드 사이에서 공유하지 않습니다.
+ */
+public final class BotSearch {
+
+    public static final int DEFAULT_SAMPLES = 8;
+
+    private static final int MAX_DEPTH = 24;
+    private static final int WIN = 1_000_000;
+    private static final int INFINITY = WIN + 1;
+    private static final int CHECK_EVERY = 1024;
+
+    private static final int TABLE_BITS = 16;
+    private static final int EXACT = 0;
+    private static final int LOWER = 1;
+    private static final int UPPER = 2;
+
+    // 색상별 셀의 전진 정도 (상대 진영에 가까울수록 크다)
+    private static final int[][] PROGRESS = new int[2][BoardCells.CELL_COUNT];
+
+    static {
+        for (int cell = 0; cell < BoardCells.CELL_COUNT; cell++) {
+            int x = (int) BoardCells.xOf(cell);
+            PROGRESS[SimBoard.RED][cell] = x;
+            PROGRESS[SimBoard.BLUE][cell] = 13 - x;
+        }
+    }
+
+    private final BattleRuleSet ruleSet;
+    private final int[] values;
+
+    private final long[] tableKeys = new long[1 << TABLE_BITS];
+    private final int[] tableScores = new int[1 << TABLE_BITS];
+    private final int[] tableMoves = new int[1 << TABLE_BITS];
+    private final byte[] tableDepths = new byte[1 << TABLE_BITS];
+    private final byte[] tableBounds = new byte[1 << TABLE_BITS];
+
+    private SimBoard[] stack;
+    private final int[][] moves = new int[MAX_DEPTH + 1][SimBoard.MAX_MOVES];
+    private long deadline;
+    private long nodes;
+    private boolean aborted;
+    private int lastRootScore;
+
+    public BotSearch(BattleRuleSet ruleSet) {
+        this.ruleSet = ruleSet;
+        this.values = pieceValues(ruleSet);
+    }
+
+    /**
+     * 말의 가치. 승부표에서 공격해서 이기는 상대 수와 방어해서 이기는 상대 수를 더해 정합니다.
+     * 군기는 잡히면 게임이 끝나므로 평가에 넣지 않습니다.
+     */
+    static int[] pieceValues(BattleRuleSet ruleSet) {
+        PieceType[] types = PieceType.values();
+        int[] values = new int[types.length];
+        for (PieceType type : types) {
+            int wins = 0;
+            for (PieceType other : types) {
+                if (ruleSet.resolveBattle(type, other) > 0) {
+                    wins++;
+                }
+                if (ruleSet.resolveBattle(other, type) < 0) {
+                    wins++;
+                }
+            }
+            values[type.ordinal()] = type == PieceType.FLAG ? 0 : 20 + 10 * wins;
+        }
+        return values;
+    }
+
+    /**
+     * me 가 둘 수를 고릅니다.
+     *
+     * @param view    me 가 보는 말 목록 (상대의 가려진 말은 타입이 null)
+     * @param budgetNanos 탐색 시간. 넘기면 마지막으로 끝낸 깊이의 결과를 반환한다
+     * @return 둘 수가 없거나 게임이 끝났으면 null
+     */
+    public BotMove choose(List<Piece> view, PlayerColor me, long budgetNanos, int samples, long seed) {
+        deadline = System.nanoTime() + budgetNanos;
+        nodes = 0;
+        aborted = false;
+
+        SimBoard template = new SimBoard(ruleSet, view, me);
+        int[] rootMoves = new int[SimBoard.MAX_MOVES];
+        int rootCount = template.generateMoves(rootMoves);
+        if (rootCount == 0) {
+            return null;
+        }
+
+        // 이긴 수(상대 말을 잡는 수)를 앞에 두면 시간이 모자라도 무난한 수가 남는다
+        orderCaptures(template, rootMoves, rootCount, -1);
+        int best = rootMoves[0];
+        int completedDepth = 0;
+
+        Determinizer determinizer = new Determinizer(template, me);
+        int sampleCount = determinizer.hasHiddenPieces() ? Math.max(1, samples) : 1;
+        SplittableRandom random = new SplittableRandom(seed);
+        SimBoard[] worlds = new SimBoard[sampleCount];
+        for (int i = 0; i < sampleCount; i++) {
+            worlds[i] = template.copy();
+            determinizer.sample(worlds[i], random);
+        }
+
+        stack = new SimBoard[MAX_DEPTH + 1];
+        for (int i = 0; i < stack.length; i++) {
+            stack[i] = template.copy();
+        }
+
+        int[] sampleBest = new int[sampleCount];
+        for (int i = 0; i < sampleCount; i++) {
+            sampleBest[i] = -1;
+        }
+
+        for (int depth = 1; depth <= MAX_DEPTH && rootCount > 1; depth++) {
+            int[] votes = new int[rootCount];
+            long[] scores = new long[rootCount];
+            boolean decided = true;
+
+            for (int i = 0; i < sampleCount && !aborted; i++) {
+                stack[0].copyFrom(worlds[i]);
+                int index = searchRoot(rootMoves, rootCount, sampleBest[i], depth);
+                if (aborted) {
+                    break;
+                }
+                sampleBest[i] = index;
+                votes[index]++;
+                scores[index] += lastRootScore;
+                decided &= Math.abs(lastRootScore) >= WIN - MAX_DEPTH;
+            }
+            if (aborted) {
+                break;
+            }
+
+            int chosen = 0;
+            for (int m = 1; m < rootCount; m++) {
+                if (votes[m] > votes[chosen] || (votes[m] == votes[chosen] && scores[m] > scores[chosen])) {
+                    chosen = m;
+                }
+            }
+            best = rootMoves[chosen];
+            completedDepth = depth;
+
+            // 모든 표본에서 승패가 정해졌으면 더 깊이 볼 필요가 없다
+            if (decided) {
+                break;
+            }
+        }
+
+        return new BotMove(BoardCells.positionOf(SimBoard.from(best)), BoardCells.positionOf(SimBoard.to(best)),
+                completedDepth, nodes);
+    }
+
+    private int searchRoot(int[] rootMoves, int rootCount, int first, int depth) {
+        SimBoard board = stack[0];
+        int alpha = -INFINITY;
+        int firstIndex = first >= 0 ? first : 0;
+        int bestIndex = firstIndex;
+        int bestScore = -INFINITY;
+
+        for (int k = -1; k < rootCount; k++) {
+            // 이전 깊이에서 이 표본이 고른 수를 먼저 본다
+            int index = k < 0 ? firstIndex : k;
+            if (k >= 0 && index == firstIndex) {
+                continue;
+            }
+
+            SimBoard child = stack[1];
+            child.copyFrom(board);
+            child.apply(rootMoves[index]);
+            int score = -negamax(1, depth - 1, -INFINITY, -alpha);
+            if (aborted) {
+                return bestIndex;
+            }
+            if (score > bestScore) {
+                bestScore = score;
+                bestIndex = index;
+            }
+            alpha = Math.max(alpha, score);
+        }
+
+        lastRootScore = bestScore;
+        return bestIndex;
+    }
+
+    private int negamax(int ply, int depth, int alpha, int beta) {
+        SimBoard board = stack[ply];
+        if (board.isOver()) {
+            return board.winner() == board.turn() ? WIN - ply : -(WIN - ply);
+        }
+        if (depth <= 0 || ply >= MAX_DEPTH) {
+            return evaluate(board);
+        }
+        if (++nodes % CHECK_EVERY == 0 && System.nanoTime() > deadline) {
+            aborted = true;
+            return 0;
+        }
+
+        long hash = board.hash();
+        int slot = (int) hash & ((1 << TABLE_BITS) - 1);
+        int tableMove = -1;
+        if (tableKeys[slot] == hash) {
+            tableMove = tableMoves[slot];
+            if (tableDepths[slot] >= depth) {
+                int stored = tableScores[slot];
+                if (tableBounds[slot] == EXACT
+                        || (tableBounds[slot] == LOWER && stored >= beta)
+                        || (tableBounds[slot] == UPPER && stored <= alpha)) {
+                    return stored;
+                }
+            }
+        }
+
+        int[] list = moves[ply];
+        int count = board.generateMoves(list);
+        if (count == 0) {
+            // 움직일 말이 없어도 게임은 끝나지 않는다. 수를 둘 수 없는 쪽에 불리하게 본다
+            return evaluate(board) - values[PieceType.GENERAL.ordinal()];
+        }
+        orderCaptures(board, list, count, tableMove);
+
+        int originalAlpha = alpha;
+        int best = -INFINITY;
+        int bestMove = list[0];
+        SimBoard child = stack[ply + 1];
+        for (int i = 0; i < count; i++) {
+            child.copyFrom(board);
+            child.apply(list[i]);
+            int score = -negamax(ply + 1, depth - 1, -beta, -alpha);
+            if (aborted) {
+                return 0;
+            }
+            if (score > best) {
+                best = score;
+                bestMove = list[i];
+            }
+            if (score > alpha) {
+                alpha = score;
+                if (alpha >= beta) {
+                    break;
+                }
+            }
+        }
+
+        tableKeys[slot] = hash;
+        tableScores[slot] = best;
+        tableMoves[slot] = bestMove;
+        tableDepths[slot] = (byte) depth;
+        tableBounds[slot] = (byte) (best <= originalAlpha ? UPPER : best >= beta ? LOWER : EXACT);
+        return best;
+    }
+
+    /**
+     * 둘 차례인 쪽에서 본 점수. 살아 있는 말의 가치 합과 전진 정도의 차이입니다.
+     */
+    private int evaluate(SimBoard board) {
+        int score = 0;
+        for (int slot = 0; slot < board.size(); slot++) {
+            int cell = board.cellOf(slot);
+            int type = board.typeOf(slot);
+            if (cell < 0 || type < 0) {
+                continue;
+            }
+            int colour = board.colorOf(slot);
+            int value = values[type] + PROGRESS[colour][cell];
+            score += colour == board.turn() ? value : -value;
+        }
+        return score;
+    }
+
+    // 치환표의 수를 맨 앞에, 잡는 수를 그 다음에 둔다
+    private static void orderCaptures(SimBoard board, int[] list, int count, int first) {
+        int front = 0;
+        for (int i = 0; i < count; i++) {
+            if (list[i] == first) {
+                swap(list, i, front++);
+                break;
+            }
+        }
+        for (int i = front; i < count; i++) {
+            if (board.isCapture(list[i])) {
+                swap(list, i, front++);
+            }
+        }
+    }
+
+    private static void swap(int[] list, int i, int j) {
+        int tmp = list[i];
+        list[i] = list[j];
+        list[j] = tmp;
+    }
+}
@@ -0,0 +1,95 @@
+package com.board.game.ai;
+
+import com.board.game.model.Board;
+import com.board.game.model.Piece;
+import com.board.game.model.PieceType;
+import com.board.game.model.PlayerColor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * 한 플레이어가 보는 보드에서 가려진 상대 말의 타입을 표본으로 채웁니다.
+ *
+ * 후보는 표준 말 구성(35개)에서 이미 드러난 상대 말(노출되었거나 잡힌 말)의 타입을 뺀 나머지입니다.
+ * 말 ID 는 시작 배치에서 타입을 알려주므로 쓰지 않습니다.
+ */
+public final class Determinizer {
+
+    private static final int PRIVATE = PieceType.PRIVATE.ordinal();
+
+    private final SimBoard template;
+    private final int[] hidden;
+    private final int[] pool;
+
+    /**
+     * @param template 가려진 상대 말의 타입이 -1 인 보드 (RoomProjection.piecesFor 로 만든 보드)
+     */
+    public Determinizer(SimBoard template, PlayerColor viewer) {
+        this.template = template;
+        PlayerColor opponentColor = viewer == PlayerColor.RED ? PlayerColor.BLUE : PlayerColor.RED;
+        int opponent = opponentColor == PlayerColor.BLUE ? SimBoard.BLUE : SimBoard.RED;
+
+        List<Integer> remaining = new ArrayList<>();
+        for (Piece piece : new Board(true).getInitialPieces(opponentColor)) {
+            remaining.add(piece.getType().ordinal());
+        }
+
+        List<Integer> hiddenSlots = new ArrayList<>();
+        for (int slot = 0; slot < template.size(); slot++) {
+            if (template.colorOf(slot) != opponent) {
+                continue;
+            }
+            if (template.typeOf(slot) < 0) {
+                hiddenSlots.add(slot);
+            } else {
+                remaining.remove(Integer.valueOf(template.typeOf(slot)));
+            }
+        }
+
+        this.hidden = hiddenSlots.stream().mapToInt(Integer::intValue).toArray();
+        this.pool = remaining.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * 가려진 말이 하나도 없으면 표본을 만들 필요가 없습니다.
+     */
+    public boolean hasHiddenPieces() {
+        return hidden.length > 0;
+    }
+
+    /** 후보 타입 수 (sample 의 scratch 크기) */
+    public int poolSize() {
+        return pool.length;
+    }
+
+    /**
+     * target 을 template 으로 덮어쓰고 가려진 말마다 남은 타입 중 하나를 중복 없이 무작위로 넣습니다.
+     */
+    public void sample(SimBoard target, SplittableRandom random) {
+        sample(target, random, new int[pool.length]);
+    }
+
+    /**
+     * sample 과 같지만 scratch(poolSize 이상)를 작업 공간으로 써서 할당하지 않습니다. 플레이아웃을 반복할 때 사용합니다.
+     */
+    public void sample(SimBoard target, SplittableRandom random, int[] scratch) {
+        target.copyFrom(template);
+        int[] types = scratch;
+        System.arraycopy(pool, 0, types, 0, pool.length);
+        for (int i = 0; i < hidden.length; i++) {
+            int type;
+            if (i < pool.length) {
+                int j = i + random.nextInt(pool.length - i);
+                type = types[j];
+                types[j] = types[i];
+                types[i] = type;
+            } else {
+                // 표준 구성보다 말이 많은 보드 (테스트 등)
+                type = PRIVATE;
+            }
+            target.assignType(hidden[i], type);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.board.game.ai;
+
+import com.board.game.model.Piece;
+import com.board.game.model.PieceType;
+import com.board.game.model.PlayerColor;
+import com.board.game.model.Position;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * 봇과 자체 대국이 쓰는 배치
+ */
+public final class Formations {
+
+    private static final int COLUMNS = 5;
+    private static final int ROWS = 7;
+
+    private Formations() {
+    }
+
+    /**
+     * 자기 진영 35칸에 말을 무작위로 놓을 칸 목록 (pieces 와 같은 순서). 군기는 맨 뒷줄에 둡니다.
+     */
+    public static List<Position> random(List<Piece> pieces, PlayerColor color, RandomGenerator random) {
+        int back = color == PlayerColor.RED ? 0 : 13;
+        int step = color == PlayerColor.RED ? 1 : -1;
+
+        // 맨 뒷줄에서 군기 자리를 먼저 뽑고 나머지 34칸을 섞는다
+        int flagRow = random.nextInt(ROWS);
+        List<Position> others = new ArrayList<>(COLUMNS * ROWS);
+        for (int column = 0; column < COLUMNS; column++) {
+            for (int y = 0; y < ROWS; y++) {
+                if (column != 0 || y != flagRow) {
+                    others.add(new Position(back + step * column, y));
+                }
+            }
+        }
+        for (int i = others.size() - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            Position tmp = others.get(i);
+            others.set(i, others.get(j));
+            others.set(j, tmp);
+        }
+
+        Position flagCell = new Position(back, flagRow);
+        List<Position> cells = new ArrayList<>(pieces.size());
+        int next = 0;
+        for (Piece piece : pieces) {
+            cells.add(piece.getType() == PieceType.FLAG ? flagCell : others.get(next++));
+        }
+        return cells;
+    }
+}
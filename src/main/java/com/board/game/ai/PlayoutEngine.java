@@ -0,0 +1,158 @@
+package com.board.game.ai;
+
+import com.board.game.model.BoardCells;
+import com.board.game.model.Piece;
+import com.board.game.model.PlayerColor;
+import com.board.game.service.BattleRuleSet;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * 결정화(determinization) 몬테카를로 플레이아웃 엔진.
+ *
+ * 플레이아웃마다 가려진 상대 말의 타입을 남은 구성에서 새로 뽑고(Determinizer), 후보 수 하나를 둔 뒤
+ * 양쪽 모두 무작위 수로 끝까지(또는 maxPlies 까지) 둡니다. 후보 수는 플레이아웃 번호로 돌아가며 고르므로 고르게 표본을 받습니다.
+ *
+ * 플레이아웃 구간을 ForkJoinPool 에서 반씩 나눠 병렬로 돌립니다. 구간마다 SimBoard 하나와 작업 배열만 쓰므로
+ * 플레이아웃 중에는 할당이 없고, 난수는 SplittableRandom 을 구간 분할과 같은 모양으로 나눠 풀 크기와 관계없이 결과가 같습니다.
+ */
+public final class PlayoutEngine {
+
+    public static final int DEFAULT_MAX_PLIES = 200;
+
+    // 이 수 이하의 구간은 더 나누지 않고 한 스레드에서 돌린다
+    private static final int LEAF_PLAYOUTS = 256;
+
+    private final ForkJoinPool pool;
+
+    /**
+     * @param pool 플레이아웃 전용 풀. 공용 풀(commonPool)은 parallel stream 등과 나눠 쓰므로 호출하는 쪽이 따로 만들어 넘긴다
+     */
+    public PlayoutEngine(ForkJoinPool pool) {
+        this.pool = Objects.requireNonNull(pool, "pool");
+    }
+
+    /**
+     * me 가 볼 수 있는 말 목록에서 me 의 후보 수마다 승률을 계산합니다.
+     *
+     * @param view     me 가 보는 말 목록 (상대의 가려진 말은 타입이 null)
+     * @param playouts 전체 플레이아웃 수 (후보 수에 고르게 나뉜다)
+     * @param maxPlies 플레이아웃 한 번의 최대 수. 넘으면 무승부(0.5)로 센다
+     */
+    public PlayoutResult analyse(BattleRuleSet ruleSet, List<Piece> view, PlayerColor me,
+                                 int playouts, int maxPlies, long seed) {
+        long start = System.nanoTime();
+        SimBoard template = new SimBoard(ruleSet, view, me);
+        int[] rootMoves = new int[SimBoard.MAX_MOVES];
+        int rootCount = template.generateMoves(rootMoves);
+        if (rootCount == 0 || playouts <= 0) {
+            return new PlayoutResult(List.of(), 0, System.nanoTime() - start);
+        }
+
+        Analysis analysis = new Analysis(template, new Determinizer(template, me), rootMoves, rootCount,
+                template.turn(), maxPlies);
+        long[] totals = pool.invoke(new Batch(analysis, 0, playouts, new SplittableRandom(seed)));
+
+        List<PlayoutResult.MoveStats> moves = new ArrayList<>(rootCount);
+        for (int m = 0; m < rootCount; m++) {
+            moves.add(new PlayoutResult.MoveStats(
+                    BoardCells.positionOf(SimBoard.from(rootMoves[m])),
+                    BoardCells.positionOf(SimBoard.to(rootMoves[m])),
+                    totals[m],
+                    totals[rootCount + m] / 2.0));
+        }
+        moves.sort(Comparator.comparingDouble(PlayoutResult.MoveStats::getWinRate).reversed());
+        return new PlayoutResult(moves, playouts, System.nanoTime() - start);
+    }
+
+    /**
+     * 한 번의 분석에서 모든 구간이 읽기만 하는 값
+     */
+    private static final class Analysis {
+        final SimBoard template;
+        final Determinizer determinizer;
+        final int[] rootMoves;
+        final int rootCount;
+        final int me;
+        final int maxPlies;
+
+        Analysis(SimBoard template, Determinizer determinizer, int[] rootMoves, int rootCount, int me, int maxPlies) {
+            this.template = template;
+            this.determinizer = determinizer;
+            this.rootMoves = rootMoves;
+            this.rootCount = rootCount;
+            this.me = me;
+            this.maxPlies = maxPlies;
+        }
+    }
+
+    /**
+     * [from, to) 번 플레이아웃. 결과는 후보 수별 [플레이아웃 수..., 승리 x 2...] 입니다.
+     */
+    private static final class Batch extends RecursiveTask<long[]> {
+        private final Analysis analysis;
+        private final int from;
+        private final int to;
+        private final SplittableRandom random;
+
+        Batch(Analysis analysis, int from, int to, SplittableRandom random) {
+            this.analysis = analysis;
+            this.from = from;
+            this.to = to;
+            this.random = random;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (to - from <= LEAF_PLAYOUTS) {
+                return play();
+            }
+
+            int mid = (from + to) >>> 1;
+            Batch left = new Batch(analysis, from, mid, random.split());
+            left.fork();
+            long[] right = new Batch(analysis, mid, to, random).compute();
+            long[] totals = left.join();
+            for (int i = 0; i < totals.length; i++) {
+                totals[i] += right[i];
+            }
+            return totals;
+        }
+
+        private long[] play() {
+            int rootCount = analysis.rootCount;
+            long[] totals = new long[rootCount * 2];
+            SimBoard board = analysis.template.copy();
+            int[] scratch = new int[analysis.determinizer.poolSize()];
+            int[] moves = new int[SimBoard.MAX_MOVES];
+
+            for (int i = from; i < to; i++) {
+                int m = i % rootCount;
+                analysis.determinizer.sample(board, random, scratch);
+                board.apply(analysis.rootMoves[m]);
+
+                for (int ply = 0; ply < analysis.maxPlies && !board.isOver(); ply++) {
+                    int count = board.generateMoves(moves);
+                    if (count == 0) {
+                        break;
+                    }
+                    board.apply(moves[random.nextInt(count)]);
+                }
+
+                totals[m]++;
+                if (!board.isOver()) {
+                    totals[rootCount + m] += 1;
+                } else if (board.winner() == analysis.me) {
+                    totals[rootCount + m] += 2;
+                }
+            }
+            return totals;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.board.game.ai;
+
+import com.board.game.model.Position;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * PlayoutEngine 분석 결과. 후보 수는 승률이 높은 순서입니다.
+ */
+@Data
+@AllArgsConstructor
+public class PlayoutResult {
+
+    private List<MoveStats> moves;
+    private long playouts;
+    private long elapsedNanos;
+
+    public MoveStats getBest() {
+        return moves.isEmpty() ? null : moves.get(0);
+    }
+
+    public double getPlayoutsPerSecond() {
+        return elapsedNanos == 0 ? 0 : playouts * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * 한 후보 수의 플레이아웃 통계. 승리는 1, 제한 수 안에 끝나지 않은 게임은 0.5 로 셉니다.
+     */
+    @Data
+    @AllArgsConstructor
+    public static class MoveStats {
+        private Position from;
+        private Position to;
+        private long playouts;
+        private double wins;
+
+        public double getWinRate() {
+            return playouts == 0 ? 0 : wins / playouts;
+        }
+    }
+}
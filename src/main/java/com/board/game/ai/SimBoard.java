@@ -0,0 +1,312 @@
+package com.board.game.ai;
+
+import com.board.game.model.BoardCells;
+import com.board.game.model.Piece;
+import com.board.game.model.PieceType;
+import com.board.game.model.PlayerColor;
+import com.board.game.model.Zobrist;
+import com.board.game.service.BattleRuleSet;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 탐색용 보드. 말을 객체 대신 슬롯 번호로 다루고 상태를 원시 배열에만 담아 copyFrom 한 번으로 복제합니다.
+ *
+ * 슬롯은 만들 때 받은 말 목록의 순서입니다. 이동과 승부, 척후병 노출, 종료 판정은 Board.movePiece 와 같습니다.
+ * 타입을 모르는 말(-1)도 담을 수 있지만, 승부를 정확히 보려면 Determinizer 로 타입을 채운 뒤 사용해야 합니다.
+ */
+public final class SimBoard {
+
+    public static final int RED = 0;
+    public static final int BLUE = 1;
+
+    /** 한 차례에 나올 수 있는 최대 수 (말 35개 x 이웃 8칸) */
+    public static final int MAX_MOVES = 35 * 8;
+
+    public static final int CAPTURED = -1;
+    public static final int OFF_BOARD = -2;
+
+    private static final int TYPE_COUNT = PieceType.values().length;
+    private static final int FLAG = PieceType.FLAG.ordinal();
+    private static final int MINE = PieceType.MINE.ordinal();
+    private static final int SCOUT = PieceType.SCOUT.ordinal();
+
+    // 복제본끼리 공유하는 읽기 전용 배열
+    private final byte[] outcomes;
+    private final byte[] color;
+
+    private final byte[] type;
+    private final byte[] at;
+    private final boolean[] revealed;
+    private final byte[] cells = new byte[BoardCells.CELL_COUNT];   // 슬롯 + 1, 0 은 빈 칸
+    private final int[] alive = new int[2];
+    private int flagsDown;
+    private int turn;
+    private int winner = -1;
+    private long hash;
+
+    /**
+     * 말 목록으로 보드를 만듭니다. 위치가 없는 말은 인벤토리(OFF_BOARD)로 두며 살아 있는 말로 셉니다.
+     */
+    public SimBoard(BattleRuleSet ruleSet, List<Piece> pieces, PlayerColor toMove) {
+        int size = pieces.size();
+        this.outcomes = new byte[TYPE_COUNT * TYPE_COUNT];
+        PieceType[] types = PieceType.values();
+        for (PieceType attacker : types) {
+            for (PieceType defender : types) {
+                outcomes[attacker.ordinal() * TYPE_COUNT + defender.ordinal()] =
+                        (byte) ruleSet.resolveBattle(attacker, defender);
+            }
+        }
+
+        this.color = new byte[size];
+        this.type = new byte[size];
+        this.at = new byte[size];
+        this.revealed = new boolean[size];
+        this.turn = toMove == PlayerColor.BLUE ? BLUE : RED;
+        if (turn == BLUE) {
+            hash = Zobrist.BLUE_TO_MOVE;
+        }
+
+        for (int slot = 0; slot < size; slot++) {
+            Piece piece = pieces.get(slot);
+            color[slot] = (byte) (piece.getColor() == PlayerColor.BLUE ? BLUE : RED);
+            type[slot] = (byte) (piece.getType() != null ? piece.getType().ordinal() : -1);
+            revealed[slot] = piece.isRevealed();
+
+            int cell = BoardCells.indexOf(piece.getPosition());
+            if (piece.isCaptured()) {
+                at[slot] = CAPTURED;
+                if (type[slot] == FLAG) {
+                    flagsDown |= 1 << color[slot];
+                }
+            } else if (cell == BoardCells.NONE || cells[cell] != 0) {
+                at[slot] = OFF_BOARD;
+                alive[color[slot]]++;
+            } else {
+                at[slot] = (byte) cell;
+                cells[cell] = (byte) (slot + 1);
+                hash ^= Zobrist.key(color[slot], type[slot], cell, revealed[slot]);
+                alive[color[slot]]++;
+            }
+        }
+        settle();
+    }
+
+    private SimBoard(SimBoard source) {
+        this.outcomes = source.outcomes;
+        this.color = source.color;
+        this.type = new byte[source.type.length];
+        this.at = new byte[source.at.length];
+        this.revealed = new boolean[source.revealed.length];
+        copyFrom(source);
+    }
+
+    /**
+     * 같은 말 목록에서 만든 새 보드를 돌려줍니다. 반복해서 복제할 때는 copyFrom 으로 기존 보드를 재사용하세요.
+     */
+    public SimBoard copy() {
+        return new SimBoard(this);
+    }
+
+    /**
+     * source 의 상태를 그대로 덮어씁니다. source 는 이 보드와 같은 말 목록에서 복제된 보드여야 합니다.
+     */
+    public void copyFrom(SimBoard source) {
+        if (source.color != color) {
+            throw new IllegalArgumentException("Boards were built from different piece lists");
+        }
+        System.arraycopy(source.type, 0, type, 0, type.length);
+        System.arraycopy(source.at, 0, at, 0, at.length);
+        System.arraycopy(source.revealed, 0, revealed, 0, revealed.length);
+        System.arraycopy(source.cells, 0, cells, 0, cells.length);
+        alive[RED] = source.alive[RED];
+        alive[BLUE] = source.alive[BLUE];
+        flagsDown = source.flagsDown;
+        turn = source.turn;
+        winner = source.winner;
+        hash = source.hash;
+    }
+
+    public int size() {
+        return color.length;
+    }
+
+    public int colorOf(int slot) {
+        return color[slot];
+    }
+
+    /** 타입 ordinal. 모르면 -1 */
+    public int typeOf(int slot) {
+        return type[slot];
+    }
+
+    /** 셀 인덱스, CAPTURED 또는 OFF_BOARD */
+    public int cellOf(int slot) {
+        return at[slot];
+    }
+
+    /** 셀에 있는 말의 슬롯. 비어 있으면 -1 */
+    public int slotAt(int cell) {
+        return cells[cell] - 1;
+    }
+
+    public boolean isRevealed(int slot) {
+        return revealed[slot];
+    }
+
+    public int turn() {
+        return turn;
+    }
+
+    public boolean isOver() {
+        return winner >= 0;
+    }
+
+    /** 승자 색상(RED, BLUE). 진행 중이면 -1 */
+    public int winner() {
+        return winner;
+    }
+
+    /** Board.getHash 와 같은 규칙의 Zobrist 해시 */
+    public long hash() {
+        return hash;
+    }
+
+    /**
+     * 말의 타입을 정합니다. 가려진 상대 말에 표본 타입을 넣을 때 사용합니다.
+     */
+    public void assignType(int slot, int newType) {
+        int cell = at[slot];
+        if (cell >= 0) {
+            hash ^= Zobrist.key(color[slot], type[slot], cell, revealed[slot])
+                    ^ Zobrist.key(color[slot], newType, cell, revealed[slot]);
+        }
+        type[slot] = (byte) newType;
+    }
+
+    public static int from(int move) {
+        return move >>> 7;
+    }
+
+    public static int to(int move) {
+        return move & 0x7F;
+    }
+
+    public static int move(int from, int to) {
+        return from << 7 | to;
+    }
+
+    public boolean isCapture(int move) {
+        return cells[to(move)] != 0;
+    }
+
+    /**
+     * 둘 차례인 쪽의 모든 수를 moves 에 쓰고 개수를 반환합니다. moves 는 MAX_MOVES 이상이어야 합니다.
+     */
+    public int generateMoves(int[] moves) {
+        if (winner >= 0) {
+            return 0;
+        }
+
+        int count = 0;
+        for (int slot = 0; slot < color.length; slot++) {
+            int from = at[slot];
+            if (color[slot] != turn || from < 0 || type[slot] == MINE) {
+                continue;
+            }
+            for (int i = 0; i < BoardCells.neighbourCount(from); i++) {
+                int to = BoardCells.neighbour(from, i);
+                int occupant = cells[to] - 1;
+                if (occupant < 0 || color[occupant] != turn) {
+                    moves[count++] = move(from, to);
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * generateMoves 가 만든 수를 적용합니다. 합법성은 검사하지 않습니다.
+     */
+    public void apply(int move) {
+        int from = from(move);
+        int to = to(move);
+        int attacker = cells[from] - 1;
+        int defender = cells[to] - 1;
+        lift(attacker, from);
+
+        if (defender < 0) {
+            drop(attacker, to);
+        } else {
+            int result = type[attacker] < 0 || type[defender] < 0
+                    ? 0
+                    : outcomes[type[attacker] * TYPE_COUNT + type[defender]];
+            if (result > 0) {
+                lift(defender, to);
+                capture(defender);
+                drop(attacker, to);
+                if (type[defender] == SCOUT) {
+                    reveal(attacker);
+                }
+            } else if (result < 0) {
+                capture(attacker);
+                if (type[attacker] == SCOUT) {
+                    reveal(defender);
+                }
+            } else {
+                lift(defender, to);
+                capture(attacker);
+                capture(defender);
+            }
+            settle();
+        }
+
+        turn ^= 1;
+        hash ^= Zobrist.BLUE_TO_MOVE;
+    }
+
+    private void lift(int slot, int cell) {
+        cells[cell] = 0;
+        hash ^= Zobrist.key(color[slot], type[slot], cell, revealed[slot]);
+    }
+
+    private void drop(int slot, int cell) {
+        cells[cell] = (byte) (slot + 1);
+        at[slot] = (byte) cell;
+        hash ^= Zobrist.key(color[slot], type[slot], cell, revealed[slot]);
+    }
+
+    private void capture(int slot) {
+        at[slot] = CAPTURED;
+        alive[color[slot]]--;
+        if (type[slot] == FLAG) {
+            flagsDown |= 1 << color[slot];
+        }
+    }
+
+    private void reveal(int slot) {
+        if (!revealed[slot]) {
+            int cell = at[slot];
+            hash ^= Zobrist.key(color[slot], type[slot], cell, false) ^ Zobrist.key(color[slot], type[slot], cell, true);
+            revealed[slot] = true;
+        }
+    }
+
+    // Board.getWinner 와 같은 순서로 판정한다
+    private void settle() {
+        if ((flagsDown & (1 << RED)) != 0) {
+            winner = BLUE;
+        } else if ((flagsDown & (1 << BLUE)) != 0) {
+            winner = RED;
+        } else if (alive[RED] == 0 || alive[BLUE] == 0) {
+            winner = alive[RED] > 0 ? RED : BLUE;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "SimBoard{turn=" + turn + ", winner=" + winner + ", alive=" + Arrays.toString(alive) + "}";
+    }
+}
@@ -0,0 +1,35 @@
+package com.board.game.config;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+
+import java.security.Principal;
+
+/**
+ * STOMP CONNECT 프레임의 playerId 헤더를 세션 사용자로 등록합니다.
+ * 등록해야 /app/game.join 응답처럼 /user/{playerId}/queue/reply 로 보낸 메시지가 /user/queue/reply 구독에 도착합니다.
+ * 헤더가 없으면 기존처럼 익명 세션으로 연결됩니다.
+ */
+public class PlayerPrincipalInterceptor implements ChannelInterceptor {
+
+    public static final String PLAYER_ID_HEADER = "playerId";
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() != StompCommand.CONNECT || accessor.getUser() != null) {
+            return message;
+        }
+
+        String playerId = accessor.getFirstNativeHeader(PLAYER_ID_HEADER);
+        if (playerId != null && !playerId.isBlank()) {
+            Principal principal = () -> playerId;
+            accessor.setUser(principal);
+        }
+        return message;
+    }
+}
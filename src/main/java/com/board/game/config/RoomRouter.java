@@ -0,0 +1,88 @@
+package com.board.game.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * 여러 노드로 운영할 때 방을 소유한 노드를 찾습니다.
+ *
+ * 방 상태는 방을 만든 노드의 메모리에만 있으므로, 방 ID 앞에 노드 ID 를 붙여 두고
+ * 다른 노드로 들어온 방 명령은 소유 노드로 돌려보냅니다. 노드 ID 가 비어 있으면 단일 노드로 동작합니다.
+ * 빠른 매칭 대기열도 노드 메모리에 있으므로, matchmaker 를 지정하면 모든 노드의 빠른 매칭을 그 노드 하나로 모읍니다.
+ */
+@Component
+@ConfigurationProperties(prefix = "game.cluster")
+@Data
+public class RoomRouter {
+
+    public static final char NODE_SEPARATOR = '-';
+
+    private static final Pattern NODE_ID = Pattern.compile("[A-Za-z0-9_]{1,32}");
+
+    /** 이 노드의 ID. 방 ID 의 접두사로 쓰인다 */
+    private String nodeId = "";
+
+    /** 노드 ID -> 외부에서 접근 가능한 기본 URL (예: https://node-a.example.com) */
+    private Map<String, String> nodes = new LinkedHashMap<>();
+
+    /** 빠른 매칭을 맡는 노드 ID. 비어 있으면 각 노드가 따로 매칭한다 */
+    private String matchmaker = "";
+
+    /**
+     * 노드 ID 에 구분자 '-' 가 있으면 방 ID 에서 소유 노드를 찾을 수 없으므로 시작하지 않습니다.
+     */
+    @PostConstruct
+    public void validate() {
+        if (!nodeId.isEmpty()) {
+            checkNodeId("game.cluster.node-id", nodeId);
+        }
+        nodes.keySet().forEach(id -> checkNodeId("game.cluster.nodes", id));
+        if (!matchmaker.isEmpty() && !matchmaker.equals(nodeId) && !nodes.containsKey(matchmaker)) {
+            throw new IllegalStateException("game.cluster.matchmaker '" + matchmaker + "' is not in game.cluster.nodes");
+        }
+    }
+
+    private static void checkNodeId(String property, String id) {
+        if (!NODE_ID.matcher(id).matches()) {
+            throw new IllegalStateException(property + " '" + id
+                    + "' must be 1-32 letters, digits or '_' (it must not contain '" + NODE_SEPARATOR + "')");
+        }
+    }
+
+    /**
+     * 방 ID 에서 소유 노드 ID 를 꺼냅니다. 노드 접두사가 없으면 null 을 반환합니다.
+     */
+    public static String ownerOf(String roomId) {
+        int separator = roomId != null ? roomId.indexOf(NODE_SEPARATOR) : -1;
+        return separator > 0 ? roomId.substring(0, separator) : null;
+    }
+
+    /**
+     * 이 노드가 처리해야 하는 방인지 확인합니다.
+     * 접두사가 없거나 알 수 없는 노드의 방은 이 노드에서 처리합니다 (없는 방이면 그대로 실패).
+     */
+    public boolean isLocal(String roomId) {
+        String owner = ownerOf(roomId);
+        return owner == null || owner.equals(nodeId) || !nodes.containsKey(owner);
+    }
+
+    /**
+     * 방을 소유한 노드의 기본 URL. 이 노드가 처리해야 하면 null 을 반환합니다.
+     */
+    public String ownerUrl(String roomId) {
+        return isLocal(roomId) ? null : nodes.get(ownerOf(roomId));
+    }
+
+    /**
+     * 빠른 매칭을 맡은 노드의 기본 URL. 지정하지 않았거나 이 노드가 맡으면 null 을 반환합니다.
+     */
+    public String matchmakerUrl() {
+        return matchmaker.isEmpty() || matchmaker.equals(nodeId) ? null : nodes.get(matchmaker);
+    }
+}
@@ -0,0 +1,44 @@
+package com.board.game.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+/**
+ * 다른 노드가 소유한 방에 대한 REST 요청을 소유 노드로, 빠른 매칭(방 ID 가 없는 요청)은 매칭 노드로 307 리다이렉트합니다.
+ * 307 은 메서드와 본문을 유지하므로 POST 명령도 그대로 다시 보내진다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RoomRoutingInterceptor implements HandlerInterceptor {
+
+    private final RoomRouter roomRouter;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        @SuppressWarnings("unchecked")
+        Map<String, String> variables = (Map<String, String>) request.getAttribute(
+                HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        String roomId = variables != null ? variables.get("roomId") : null;
+        String targetUrl = roomId != null ? roomRouter.ownerUrl(roomId) : roomRouter.matchmakerUrl();
+        if (targetUrl == null) {
+            return true;
+        }
+
+        String location = targetUrl + request.getRequestURI()
+                + (request.getQueryString() != null ? "?" + request.getQueryString() : "");
+        log.debug("Routing room {} request to node: {}", roomId != null ? roomId : "quick-match", location);
+        response.setStatus(HttpStatus.TEMPORARY_REDIRECT.value());
+        response.setHeader(HttpHeaders.LOCATION, location);
+        return false;
+    }
+}
@@ -1,12 +1,17 @@
 package com.board.game.config;
 
+import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
+@RequiredArgsConstructor
 public class WebConfig implements WebMvcConfigurer {
 
+    private final RoomRoutingInterceptor roomRoutingInterceptor;
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         registry.addMapping("/**")
@@ -15,4 +20,11 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowedHeaders("*")
                 .allowCredentials(true);
     }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // 방 단위 명령은 방을 소유한 노드에서, 빠른 매칭은 매칭 노드에서 처리한다
+        registry.addInterceptor(roomRoutingInterceptor)
+                .addPathPatterns("/api/game/join", "/api/game/rooms/{roomId}", "/api/game/rooms/{roomId}/**");
+    }
 }
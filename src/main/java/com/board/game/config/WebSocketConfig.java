@@ -1,18 +1,61 @@
 package com.board.game.config;
 
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.messaging.simp.config.StompBrokerRelayRegistration;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
 
 @Configuration
 @EnableWebSocketMessageBroker
+@Slf4j
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    /** simple: 노드 내부 브로커 (단일 노드), relay: 외부 STOMP 브로커로 중계 (여러 노드) */
+    @Value("${game.broker.mode:simple}")
+    private String brokerMode;
+
+    @Value("${game.broker.relay.host:localhost}")
+    private String relayHost;
+
+    @Value("${game.broker.relay.port:61613}")
+    private int relayPort;
+
+    @Value("${game.broker.relay.login:guest}")
+    private String relayLogin;
+
+    @Value("${game.broker.relay.passcode:guest}")
+    private String relayPasscode;
+
+    @Value("${game.broker.relay.virtual-host:}")
+    private String relayVirtualHost;
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
-        config.enableSimpleBroker("/topic", "/queue");
+        switch (brokerMode) {
+            case "simple" -> config.enableSimpleBroker("/topic", "/queue");
+            case "relay" -> {
+                StompBrokerRelayRegistration relay = config.enableStompBrokerRelay("/topic", "/queue")
+                        .setRelayHost(relayHost)
+                        .setRelayPort(relayPort)
+                        .setClientLogin(relayLogin)
+                        .setClientPasscode(relayPasscode)
+                        .setSystemLogin(relayLogin)
+                        .setSystemPasscode(relayPasscode)
+                        // /user/** 대상은 사용자가 연결된 노드를 찾아 전달한다
+                        .setUserDestinationBroadcast("/topic/unresolved-user")
+                        .setUserRegistryBroadcast("/topic/user-registry");
+                if (!relayVirtualHost.isBlank()) {
+                    relay.setVirtualHost(relayVirtualHost);
+                }
+                log.info("Relaying STOMP broker destinations to {}:{}", relayHost, relayPort);
+            }
+            default -> throw new IllegalStateException("Unknown game.broker.mode: " + brokerMode);
+        }
         config.setApplicationDestinationPrefixes("/app");
     }
 
@@ -21,5 +64,14 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
         registry.addEndpoint("/ws")
                 .setAllowedOriginPatterns("*")
                 .withSockJS();
+
+        // SockJS 없이 바로 연결하는 엔드포인트. 바이너리 프레임(*.bin 토픽)은 여기서만 받을 수 있다
+        registry.addEndpoint("/ws-native")
+                .setAllowedOriginPatterns("*");
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(new PlayerPrincipalInterceptor());
     }
 }
@@ -0,0 +1,47 @@
+package com.board.game.controller;
+
+import com.board.game.service.FormationService;
+import com.board.game.service.FormationTemplate;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 배치 템플릿 조회 및 저장. 적용은 POST /api/game/rooms/{roomId}/formation
+ */
+@RestController
+@RequestMapping("/api/game/formations")
+@RequiredArgsConstructor
+@Slf4j
+public class FormationController {
+
+    private final FormationService formationService;
+
+    @GetMapping
+    public List<FormationTemplate> getTemplates() {
+        return formationService.getTemplates();
+    }
+
+    @GetMapping("/{name}")
+    public ResponseEntity<FormationTemplate> getTemplate(@PathVariable String name) {
+        FormationTemplate template = formationService.getTemplate(name);
+        return template == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(template);
+    }
+
+    /**
+     * 템플릿을 저장합니다. { name, description, rows: [[7칸] x 5줄] }, rows[0] 이 맨 뒷줄
+     */
+    @PostMapping
+    public ResponseEntity<?> save(@RequestBody FormationTemplate template) {
+        try {
+            return ResponseEntity.ok(formationService.save(template));
+        } catch (IllegalArgumentException e) {
+            log.warn("Formation template rejected: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+}
@@ -1,14 +1,16 @@
 package com.board.game.controller;
 
-import com.board.game.dto.GameStateResponse;
+import com.board.game.config.RoomRouter;
 import com.board.game.dto.MoveRequest;
 import com.board.game.model.GameRoom;
+import com.board.game.service.GameBroadcaster;
+import com.board.game.service.GameMetrics;
 import com.board.game.service.GameService;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.Payload;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Controller;
 
 import java.util.Map;
@@ -19,23 +21,36 @@ import java.util.Map;
 public class GameController {
 
     private final GameService gameService;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final GameBroadcaster broadcaster;
+    private final RoomRouter roomRouter;
+    private final GameMetrics metrics;
 
     @MessageMapping("/game.join")
     public void joinGame(@Payload Map<String, String> payload) {
         String playerId = payload.get("playerId");
         log.info("Player {} joining game", playerId);
 
+        String matchmakerUrl = roomRouter.matchmakerUrl();
+        if (matchmakerUrl != null) {
+            // 빠른 매칭 대기열은 매칭 노드에만 있다
+            broadcaster.sendToUser(playerId, "/queue/reply", Map.of(
+                    "type", "REDIRECT",
+                    "url", matchmakerUrl));
+            return;
+        }
+
         GameRoom room = gameService.findOrCreateRoom(playerId);
         if (room != null) {
-            GameStateResponse response = gameService.getGameState(room.getRoomId(), playerId);
-            response.setMessage("Player joined: " + playerId);
+            String message = "Player joined: " + playerId;
+            byte[] state = broadcaster.render(room.getRoomId(), room.getPlayerColor(playerId), message);
 
             // Send to the joining player first (so they know the roomId)
-            messagingTemplate.convertAndSendToUser(playerId, "/queue/reply", response);
+            if (state != null) {
+                broadcaster.sendToUser(playerId, "/queue/reply", state);
+            }
 
-            // Then broadcast to all players with their respective views
-            broadcastGameStateToRoom(room.getRoomId());
+            // Then broadcast to all players with their respective views (몰린 참가는 한 프레임으로 모은다)
+            broadcaster.scheduleBroadcast(room.getRoomId(), message);
         }
     }
 
@@ -43,18 +58,53 @@ public class GameController {
     public void makeMove(@Payload MoveRequest request) {
         log.info("Move request: {} -> {} by {} in room {}",
                 request.getFrom(), request.getTo(), request.getPlayerId(), request.getRoomId());
+        if (redirectIfRemote(request.getRoomId(), request.getPlayerId())) {
+            return;
+        }
 
-        boolean moved = gameService.movePiece(
-                request.getRoomId(),
-                request.getPlayerId(),
-                request.getFrom(),
-                request.getTo()
-        );
+        Timer.Sample sample = metrics.startMove();
+        boolean moved = false;
+        try {
+            moved = gameService.movePiece(
+                    request.getRoomId(),
+                    request.getPlayerId(),
+                    request.getFrom(),
+                    request.getTo()
+            );
+
+            if (moved) {
+                // Broadcast to all players with their respective views
+                broadcaster.broadcastMove(request.getRoomId(), "Move successful");
+            } else {
+                // 상태가 바뀌지 않았으므로 요청한 플레이어에게만 알린다
+                GameRoom room = gameService.getRoom(request.getRoomId());
+                if (room != null) {
+                    broadcaster.sendState(request.getRoomId(), room.getPlayerColor(request.getPlayerId()), "Invalid move");
+                }
+            }
+        } finally {
+            // 예외로 끝난 이동도 rejected 로 센다
+            metrics.stopMove(sample, moved);
+        }
+    }
 
-        String message = moved ? "Move successful" : "Invalid move";
+    /**
+     * 클라이언트가 seq 공백을 발견했을 때 전체 상태를 다시 요청합니다.
+     * 요청한 플레이어의 색상 토픽으로 스냅샷을 보냅니다.
+     */
+    @MessageMapping("/game.sync")
+    public void syncGame(@Payload Map<String, String> payload) {
+        String playerId = payload.get("playerId");
+        String roomId = payload.get("roomId");
+        log.debug("Player {} requested resync of room {}", playerId, roomId);
+        if (redirectIfRemote(roomId, playerId)) {
+            return;
+        }
 
-        // Broadcast to all players with their respective views
-        broadcastGameStateToRoom(request.getRoomId(), message);
+        GameRoom room = gameService.getRoom(roomId);
+        if (room != null) {
+            broadcaster.sendState(roomId, room.getPlayerColor(playerId), null);
+        }
     }
 
     @MessageMapping("/game.leave")
@@ -62,46 +112,31 @@ public class GameController {
         String playerId = payload.get("playerId");
         String roomId = payload.get("roomId");
         log.info("Player {} leaving room {}", playerId, roomId);
+        if (redirectIfRemote(roomId, playerId)) {
+            return;
+        }
 
         gameService.leaveRoom(roomId, playerId);
 
         // Broadcast to remaining players
-        broadcastGameStateToRoom(roomId, "Player left: " + playerId);
+        broadcaster.broadcast(roomId, "Player left: " + playerId);
     }
 
     /**
-     * 각 플레이어에게 맞춤형 게임 상태를 전송합니다.
-     * RED 플레이어는 /topic/game.{roomId}.RED 를 구독
-     * BLUE 플레이어는 /topic/game.{roomId}.BLUE 를 구독
+     * 다른 노드가 소유한 방이면 명령을 처리하지 않고, 소유 노드 주소를 /user/queue/reply 로 알려줍니다.
+     * 클라이언트는 그 노드로 다시 연결한 뒤 명령을 보내야 합니다.
      */
-    private void broadcastGameStateToRoom(String roomId) {
-        broadcastGameStateToRoom(roomId, null);
-    }
-
-    private void broadcastGameStateToRoom(String roomId, String message) {
-        GameRoom room = gameService.getRoom(roomId);
-        if (room == null) {
-            return;
+    private boolean redirectIfRemote(String roomId, String playerId) {
+        String ownerUrl = roomRouter.ownerUrl(roomId);
+        if (ownerUrl == null) {
+            return false;
         }
 
-        // RED 플레이어 전용 토픽으로 전송
-        if (room.getRedPlayer() != null) {
-            GameStateResponse redView = gameService.getGameState(roomId, room.getRedPlayer());
-            if (message != null) {
-                redView.setMessage(message);
-            }
-            log.debug("Broadcasting to RED player via /topic/game.{}.RED", roomId);
-            messagingTemplate.convertAndSend("/topic/game." + roomId + ".RED", redView);
-        }
-
-        // BLUE 플레이어 전용 토픽으로 전송
-        if (room.getBluePlayer() != null) {
-            GameStateResponse blueView = gameService.getGameState(roomId, room.getBluePlayer());
-            if (message != null) {
-                blueView.setMessage(message);
-            }
-            log.debug("Broadcasting to BLUE player via /topic/game.{}.BLUE", roomId);
-            messagingTemplate.convertAndSend("/topic/game." + roomId + ".BLUE", blueView);
-        }
+        log.debug("Room {} is owned by {}, redirecting player {}", roomId, ownerUrl, playerId);
+        broadcaster.sendToUser(playerId, "/queue/reply", Map.of(
+                "type", "REDIRECT",
+                "roomId", roomId,
+                "url", ownerUrl));
+        return true;
     }
 }
@@ -1,12 +1,19 @@
 package com.board.game.controller;
 
+import com.board.game.dto.FormationRequest;
 import com.board.game.dto.GameStateResponse;
+import com.board.game.dto.PlacementRequest;
+import com.board.game.service.FormationService;
+import com.board.game.service.GameBot;
+import com.board.game.service.GameBroadcaster;
 import com.board.game.service.GameService;
+import com.board.game.service.RoomLifecycleManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -16,36 +23,53 @@ import java.util.Map;
 public class GameRestController {
 
     private final GameService gameService;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final RoomLifecycleManager roomLifecycleManager;
+    private final GameBroadcaster broadcaster;
+    private final GameBot gameBot;
+    private final FormationService formationService;
 
     @GetMapping("/rooms")
     public ResponseEntity<List<String>> getAvailableRooms() {
         return ResponseEntity.ok(gameService.getAvailableRooms());
     }
 
+    @GetMapping("/stats")
+    public Map<String, Long> getStats() {
+        Map<String, Long> stats = new LinkedHashMap<>(roomLifecycleManager.getStats());
+        stats.putAll(gameBot.getStats());
+        return stats;
+    }
+
     @GetMapping("/rooms/{roomId}")
-    public ResponseEntity<GameStateResponse> getRoomState(@PathVariable String roomId) {
-        GameStateResponse state = gameService.getGameState(roomId);
+    public ResponseEntity<byte[]> getRoomState(@PathVariable String roomId) {
+        byte[] state = broadcaster.render(roomId, null, null);
         if (state == null) {
             return ResponseEntity.notFound().build();
         }
-        return ResponseEntity.ok(state);
+        return json(state);
     }
 
     @PostMapping("/rooms")
-    public ResponseEntity<GameStateResponse> createRoom(@RequestBody Map<String, String> payload) {
+    public ResponseEntity<?> createRoom(@RequestBody Map<String, String> payload) {
         String playerId = payload.get("playerId");
-        String roomId = gameService.createRoom(playerId);
+        String roomId = gameService.createRoom(playerId, payload.get("ruleVersion"));
+
+        if (roomId == null) {
+            GameStateResponse errorResponse = new GameStateResponse();
+            errorResponse.setMessage("Room could not be created (unknown rule version or room limit reached)");
+            return ResponseEntity.badRequest().body(errorResponse);
+        }
 
-        com.board.game.model.GameRoom room = gameService.getRoom(roomId);
-        GameStateResponse response = gameService.getGameState(roomId, playerId);
-        response.setMessage("Room created: " + roomId);
-        response.setPlayerColor(room.getPlayerColor(playerId));  // 색상 정보 추가
-        return ResponseEntity.ok(response);
+        com.board.game.model.PlayerColor color = gameService.getPlayerColor(roomId, playerId);
+        if (color == null) {
+            return playerNotInRoom();
+        }
+        // 색상 정보 포함
+        return json(broadcaster.render(roomId, color, "Room created: " + roomId));
     }
 
     @PostMapping("/join")
-    public ResponseEntity<GameStateResponse> joinGame(@RequestBody Map<String, String> payload) {
+    public ResponseEntity<byte[]> joinGame(@RequestBody Map<String, String> payload) {
         String playerId = payload.get("playerId");
         System.out.println("🎮 Player joining: " + playerId);
 
@@ -57,19 +81,19 @@ public class GameRestController {
 
         System.out.println("✅ Player " + playerId + " joined room " + room.getRoomId() + " as " + room.getPlayerColor(playerId));
 
-        GameStateResponse response = gameService.getGameState(room.getRoomId(), playerId);
-        response.setMessage("Player joined: " + playerId);
-        response.setPlayerColor(room.getPlayerColor(playerId));  // 색상 정보 추가
+        // 색상 정보 포함. 같은 바이트가 이 플레이어의 토픽으로도 전송된다
+        String message = "Player joined: " + playerId;
+        byte[] response = broadcaster.render(room.getRoomId(), room.getPlayerColor(playerId), message);
 
         // Broadcast to other player
         System.out.println("📢 Broadcasting room state after join...");
-        broadcastGameStateToRoom(room.getRoomId());
+        broadcaster.scheduleBroadcast(room.getRoomId(), message);
 
-        return ResponseEntity.ok(response);
+        return json(response);
     }
 
     @PostMapping("/rooms/{roomId}/join")
-    public ResponseEntity<GameStateResponse> joinRoom(
+    public ResponseEntity<?> joinRoom(
             @PathVariable String roomId,
             @RequestBody Map<String, String> payload) {
         String playerId = payload.get("playerId");
@@ -82,14 +106,13 @@ public class GameRestController {
             return ResponseEntity.badRequest().body(errorResponse);
         }
 
-        GameStateResponse response = gameService.getGameState(roomId, playerId);
-        response.setMessage("Player joined: " + playerId);
-        response.setPlayerColor(room.getPlayerColor(playerId));
+        String message = "Player joined: " + playerId;
+        byte[] response = broadcaster.render(roomId, room.getPlayerColor(playerId), message);
 
         // Broadcast to all players in the room via WebSocket (each with their view)
-        broadcastGameStateToRoom(roomId);
+        broadcaster.scheduleBroadcast(roomId, message);
 
-        return ResponseEntity.ok(response);
+        return json(response);
     }
 
     @GetMapping("/rooms/{roomId}/initial-pieces")
@@ -106,8 +129,23 @@ public class GameRestController {
         return ResponseEntity.ok(pieces);
     }
 
+    @GetMapping("/rooms/{roomId}/legal-moves")
+    public ResponseEntity<?> getLegalMoves(
+            @PathVariable String roomId,
+            @RequestParam String playerId,
+            @RequestParam String pieceId) {
+        List<com.board.game.model.Position> moves = gameService.getLegalMoves(roomId, playerId, pieceId);
+
+        if (moves == null) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("error", "Room, player or piece not found"));
+        }
+
+        return ResponseEntity.ok(moves);
+    }
+
     @PostMapping("/rooms/{roomId}/place-piece")
-    public ResponseEntity<GameStateResponse> placePiece(
+    public ResponseEntity<?> placePiece(
             @PathVariable String roomId,
             @RequestBody Map<String, Object> payload) {
         String playerId = (String) payload.get("playerId");
@@ -129,16 +167,67 @@ public class GameRestController {
             return ResponseEntity.badRequest().body(errorResponse);
         }
 
-        GameStateResponse response = gameService.getGameState(roomId, playerId);
+        com.board.game.model.PlayerColor color = gameService.getPlayerColor(roomId, playerId);
+        if (color == null) {
+            return playerNotInRoom();
+        }
+        byte[] response = broadcaster.render(roomId, color, null);
 
         // Broadcast to all players in the room via WebSocket (each with their view)
-        broadcastGameStateToRoom(roomId);
+        broadcaster.scheduleBroadcast(roomId, null);
 
-        return ResponseEntity.ok(response);
+        return json(response);
+    }
+
+    /**
+     * 배치 전체를 한 번에 적용합니다. 말마다 place-piece 를 부르는 대신 요청 한 번, 브로드캐스트 한 번으로 끝납니다.
+     * { playerId, template: "fortress" } 또는 { playerId, placements: [{pieceId, position: {x, y}}, ...] }
+     * ready 가 true 이면 준비 완료까지 함께 처리합니다.
+     */
+    @PostMapping("/rooms/{roomId}/formation")
+    public ResponseEntity<?> placeFormation(
+            @PathVariable String roomId,
+            @RequestBody FormationRequest request) {
+        String playerId = request.getPlayerId();
+        String template = request.getTemplate();
+        boolean ready = request.isReady();
+
+        com.board.game.model.PlayerColor color = gameService.getPlayerColor(roomId, playerId);
+        if (color == null) {
+            return playerNotInRoom();
+        }
+
+        Map<String, com.board.game.model.Position> placements;
+        if (template != null) {
+            placements = formationService.placements(template, color);
+        } else {
+            placements = new LinkedHashMap<>();
+            for (PlacementRequest entry : request.getPlacements() != null ? request.getPlacements() : List.<PlacementRequest>of()) {
+                // 빈 항목이나 같은 말이 두 번 나오면 거절한다
+                if (entry == null || placements.containsKey(entry.getPieceId())) {
+                    placements = null;
+                    break;
+                }
+                placements.put(entry.getPieceId(), entry.getPosition());
+            }
+        }
+
+        if (placements == null || !gameService.placeFormation(roomId, playerId, placements, ready)) {
+            GameStateResponse errorResponse = new GameStateResponse();
+            errorResponse.setMessage(placements == null && template != null
+                    ? "Unknown formation template: " + template
+                    : "Failed to place formation");
+            return ResponseEntity.badRequest().body(errorResponse);
+        }
+
+        String message = ready ? "Player ready" : null;
+        byte[] response = broadcaster.render(roomId, color, message);
+        broadcaster.scheduleBroadcast(roomId, message);
+        return json(response);
     }
 
     @PostMapping("/rooms/{roomId}/ready")
-    public ResponseEntity<GameStateResponse> setPlayerReady(
+    public ResponseEntity<?> setPlayerReady(
             @PathVariable String roomId,
             @RequestBody Map<String, String> payload) {
         String playerId = payload.get("playerId");
@@ -151,48 +240,31 @@ public class GameRestController {
             return ResponseEntity.badRequest().body(errorResponse);
         }
 
-        GameStateResponse response = gameService.getGameState(roomId, playerId);
-        response.setMessage("Player ready");
+        com.board.game.model.PlayerColor color = gameService.getPlayerColor(roomId, playerId);
+        if (color == null) {
+            return playerNotInRoom();
+        }
+        byte[] response = broadcaster.render(roomId, color, "Player ready");
 
         // Broadcast to all players in the room via WebSocket (each with their view)
-        broadcastGameStateToRoom(roomId);
+        broadcaster.scheduleBroadcast(roomId, "Player ready");
 
-        return ResponseEntity.ok(response);
+        return json(response);
     }
 
     /**
-     * 각 플레이어에게 맞춤형 게임 상태를 전송합니다.
-     * RED 플레이어는 /topic/game.{roomId}.RED 를 구독
-     * BLUE 플레이어는 /topic/game.{roomId}.BLUE 를 구독
+     * 방이 사라졌거나(회수됨) 플레이어가 그 방에 없을 때의 응답입니다.
      */
-    private void broadcastGameStateToRoom(String roomId) {
-        com.board.game.model.GameRoom room = gameService.getRoom(roomId);
-        if (room == null) {
-            System.out.println("⚠️ Room not found: " + roomId);
-            return;
-        }
-
-        System.out.println("🔄 Broadcasting to room: " + roomId);
-        System.out.println("   RED player: " + room.getRedPlayer());
-        System.out.println("   BLUE player: " + room.getBluePlayer());
-        System.out.println("   Status: " + room.getStatus());
-
-        // RED 플레이어 전용 토픽으로 전송
-        if (room.getRedPlayer() != null) {
-            String topic = "/topic/game." + roomId + ".RED";
-            GameStateResponse redView = gameService.getGameState(roomId, room.getRedPlayer());
-            System.out.println("📤 Sending to RED: " + topic);
-            System.out.println("   Pieces count: " + redView.getPieces().size());
-            messagingTemplate.convertAndSend(topic, redView);
-        }
+    private static ResponseEntity<GameStateResponse> playerNotInRoom() {
+        GameStateResponse errorResponse = new GameStateResponse();
+        errorResponse.setMessage("Room not found or player not in room");
+        return ResponseEntity.badRequest().body(errorResponse);
+    }
 
-        // BLUE 플레이어 전용 토픽으로 전송
-        if (room.getBluePlayer() != null) {
-            String topic = "/topic/game." + roomId + ".BLUE";
-            GameStateResponse blueView = gameService.getGameState(roomId, room.getBluePlayer());
-            System.out.println("📤 Sending to BLUE: " + topic);
-            System.out.println("   Pieces count: " + blueView.getPieces().size());
-            messagingTemplate.convertAndSend(topic, blueView);
-        }
+    /**
+     * 브로드캐스트와 공유하는 직렬화된 상태를 그대로 응답 본문으로 씁니다.
+     */
+    private static ResponseEntity<byte[]> json(byte[] body) {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
     }
 }
@@ -0,0 +1,61 @@
+package com.board.game.controller;
+
+import com.board.game.dto.RuleSelectionRequest;
+import com.board.game.service.BattleRuleService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * 승부 규칙 버전 조회, 재로딩 및 적용 버전 전환
+ */
+@RestController
+@RequestMapping("/api/rules")
+@RequiredArgsConstructor
+@Slf4j
+public class RuleController {
+
+    private final BattleRuleService battleRuleService;
+
+    @GetMapping
+    public Map<String, Object> getRules() {
+        return Map.of(
+                "activeVersion", battleRuleService.getActiveVersion(),
+                "candidateVersion", battleRuleService.getCandidateVersion(),
+                "candidatePercent", battleRuleService.getCandidatePercent(),
+                "versions", battleRuleService.getVersions()
+        );
+    }
+
+    /**
+     * 규칙 파일을 다시 읽습니다. 진행 중인 방은 기존 규칙을 유지합니다.
+     * POST /api/rules/reload
+     */
+    @PostMapping("/reload")
+    public ResponseEntity<Map<String, Object>> reload() {
+        try {
+            return ResponseEntity.ok(Map.of("versions", battleRuleService.reload()));
+        } catch (IllegalStateException e) {
+            log.warn("Battle rule reload rejected: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * 새 방에 적용할 기본 규칙, 후보 규칙, 후보 비율을 한 번에 바꿉니다. 진행 중인 방은 기존 규칙을 유지합니다.
+     * POST /api/rules/selection { activeVersion, candidateVersion, candidatePercent }
+     */
+    @PostMapping("/selection")
+    public ResponseEntity<Map<String, Object>> select(@RequestBody RuleSelectionRequest request) {
+        try {
+            battleRuleService.select(request.getActiveVersion(), request.getCandidateVersion(), request.getCandidatePercent());
+            return ResponseEntity.ok(getRules());
+        } catch (IllegalArgumentException e) {
+            log.warn("Battle rule selection rejected: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.board.game.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 배치 전체 적용 요청. template 이 있으면 placements 는 무시합니다.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FormationRequest {
+    private String playerId;
+    private String template;
+    private List<PlacementRequest> placements = new ArrayList<>();
+    private boolean ready;
+}
@@ -0,0 +1,26 @@
+package com.board.game.dto;
+
+import com.board.game.model.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 이동 한 번으로 바뀐 부분만 담은 게임 상태.
+ * 클라이언트는 baseSeq 가 자신이 가진 seq 와 같을 때만 적용하고,
+ * 다르면 /app/game.sync 로 전체 상태를 다시 받아야 합니다.
+ */
+@Data
+@NoArgsConstructor
+public class GameDeltaResponse {
+    private final String type = "DELTA";
+    private String roomId;
+    private long seq;                 // 이 델타를 적용한 뒤의 버전
+    private long baseSeq;             // 이 델타를 적용하기 전의 버전
+    private List<Piece> pieces;       // 이동, 잡힘, 노출로 바뀐 말
+    private PlayerColor currentTurn;
+    private GameStatus status;
+    private PlayerColor winner;
+    private String message;
+}
@@ -22,4 +22,6 @@ public class GameStateResponse {
     private Boolean bluePlayerReady;  // 블루 플레이어 준비 상태
     private String redPlayer;         // 레드 플레이어 ID
     private String bluePlayer;        // 블루 플레이어 ID
+    private String ruleVersion;       // 이 방에 적용된 승부 규칙 버전
+    private Long seq;                 // 방 상태 버전 (델타 적용 기준)
 }
@@ -0,0 +1,14 @@
+package com.board.game.dto;
+
+import com.board.game.model.Position;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlacementRequest {
+    private String pieceId;
+    private Position position;
+}
@@ -0,0 +1,14 @@
+package com.board.game.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RuleSelectionRequest {
+    private String activeVersion;
+    private String candidateVersion;   // 비어 있으면 후보 규칙을 끈다
+    private int candidatePercent;
+}
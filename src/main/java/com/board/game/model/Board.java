@@ -1,29 +1,94 @@
 package com.board.game.model;
 
 import com.board.game.service.BattleRuleService;
+import com.board.game.service.BattleRuleSet;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 import java.util.*;
 
 @Data
 public class Board {
-    private List<Piece> pieces;
+    private PieceList pieces;
     private PlayerColor currentTurn;
     private BattleRuleService battleRuleService;
 
+    // 이 보드에 고정된 승부 규칙. 규칙이 다시 로드되어도 진행 중인 게임은 바뀌지 않는다.
+    private BattleRuleSet ruleSet;
+
+    // 셀 인덱스(BoardCells)별 점유 말. pieces 가 외부에서 변경되면 다음 조회 시 다시 만든다.
+    @Getter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private final Piece[] cells = new Piece[BoardCells.CELL_COUNT];
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private int indexedModCount = -1;
+
+    // 칸에 놓인 말들의 Zobrist 해시. 셀이 바뀔 때마다 함께 갱신한다 (차례는 getHash 에서 더한다).
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private long cellHash;
+
+    // 색상(ordinal)별 잡히지 않은 말 수와 잡힌 군기 비트. 점유 정보와 함께 다시 만들고 잡힐 때마다 갱신한다
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private final int[] alive = new int[2];
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private int flagsDown;
+
+    // 말 ID 슬롯(BoardCodec.slotOf)별 목록에 있는 말. 점유 정보와 함께 다시 만든다
+    @Getter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private final Piece[] byId = new Piece[BoardCodec.SLOTS];
+
+    // 배치 단계에서 아직 목록에 없는 양쪽 시작 말. SETUP 에 들어설 때 한 번 만든다
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private Piece[] reserve;
+
     public Board() {
         this(false);
     }
 
     public Board(boolean empty) {
-        this.pieces = new ArrayList<>();
+        this.pieces = new PieceList();
         this.currentTurn = PlayerColor.RED;
         if (!empty) {
             initializeBoard();
         }
     }
 
+    public List<Piece> getPieces() {
+        return pieces;
+    }
+
+    public void setPieces(List<Piece> pieces) {
+        this.pieces = new PieceList(pieces);
+    }
+
     public void setBattleRuleService(BattleRuleService battleRuleService) {
         this.battleRuleService = battleRuleService;
+        if (ruleSet == null && battleRuleService != null) {
+            ruleSet = battleRuleService.getActiveRuleSet();
+        }
     }
 
     public List<Piece> getInitialPieces(PlayerColor color) {
@@ -56,15 +121,104 @@ public class Board {
         return initialPieces;
     }
 
-    public void placePiece(String pieceId, Position position) {
-        Piece piece = pieces.stream()
-                .filter(p -> p.getId().equals(pieceId))
-                .findFirst()
-                .orElse(null);
+    /**
+     * 말을 보드 목록에 추가합니다. 위치가 있으면 점유 정보도 함께 갱신합니다.
+     */
+    public void addPiece(Piece piece) {
+        boolean indexed = isIndexed();
+        pieces.add(piece);
+        if (indexed) {
+            occupy(piece);
+            count(piece);
+            register(piece);
+            indexedModCount = pieces.modCount();
+        }
+    }
+
+    /**
+     * 배치 단계에서 말을 옮깁니다. position 이 null 이면 인벤토리로 되돌립니다.
+     * 다른 말이 이미 있는 칸에는 놓을 수 없습니다.
+     */
+    public boolean placePiece(String pieceId, Position position) {
+        Piece piece = findPiece(pieceId);
+        if (piece == null) {
+            return false;
+        }
 
-        if (piece != null) {
-            piece.setPosition(position);
+        int target = BoardCells.indexOf(position);
+        if (position != null) {
+            if (target == BoardCells.NONE) {
+                return false;
+            }
+            if (cells[target] != null && cells[target] != piece) {
+                return false;
+            }
         }
+
+        vacate(piece);
+        piece.setPosition(position);
+        if (target != BoardCells.NONE && !piece.isCaptured()) {
+            put(target, piece);
+        }
+        return true;
+    }
+
+    /**
+     * 목록에서 ID 로 말을 찾습니다. 시작 배치의 ID 는 슬롯 번호로 바로 찾습니다.
+     */
+    public Piece findPiece(String pieceId) {
+        ensureIndexed();
+        int slot = BoardCodec.slotOf(pieceId);
+        if (slot >= 0) {
+            return byId[slot];
+        }
+        for (Piece piece : pieces) {
+            if (piece.getId().equals(pieceId)) {
+                return piece;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 배치 단계에서 쓸 양쪽 시작 말 70개를 미리 만듭니다. 이미 만들었으면 아무것도 하지 않습니다.
+     */
+    public void reserveInitialPieces() {
+        if (reserve != null) {
+            return;
+        }
+        Piece[] created = new Piece[BoardCodec.SLOTS];
+        for (PlayerColor color : PlayerColor.values()) {
+            for (Piece piece : getInitialPieces(color)) {
+                created[BoardCodec.slotOf(piece.getId())] = piece;
+            }
+        }
+        reserve = created;
+    }
+
+    /**
+     * color 플레이어가 배치할 시작 말을 돌려줍니다. 아직 목록에 없으면 미리 만든 말을 인벤토리 상태로 추가합니다.
+     * 시작 배치의 ID 가 아니거나 다른 색상의 말이면 null 을 반환합니다.
+     */
+    public Piece claimInitialPiece(String pieceId, PlayerColor color) {
+        Piece piece = findPiece(pieceId);
+        if (piece == null) {
+            int slot = BoardCodec.slotOf(pieceId);
+            if (slot < 0) {
+                return null;
+            }
+            reserveInitialPieces();
+            piece = reserve[slot];
+            if (piece.getColor() != color) {
+                return null;
+            }
+            // 목록에 없으므로 다른 곳에서 쓰이지 않는 말이다. 이전 배치의 흔적만 지운다
+            piece.setPosition(null);
+            piece.setCaptured(false);
+            piece.setRevealed(false);
+            addPiece(piece);
+        }
+        return piece.getColor() == color ? piece : null;
     }
 
     private void initializeBoard() {
@@ -113,132 +267,119 @@ public class Board {
     }
 
     public Piece getPieceAt(Position position) {
-        return pieces.stream()
-                .filter(p -> !p.isCaptured() &&
-                           Math.abs(p.getPosition().getX() - position.getX()) < 0.01 &&
-                           Math.abs(p.getPosition().getY() - position.getY()) < 0.01)
-                .findFirst()
-                .orElse(null);
+        int cell = BoardCells.indexOf(position);
+        return cell == BoardCells.NONE ? null : getPieceAt(cell);
+    }
+
+    public Piece getPieceAt(int cell) {
+        ensureIndexed();
+        return cells[cell];
     }
 
     public boolean isValidMove(Position from, Position to) {
-        Piece piece = getPieceAt(from);
-        if (piece == null || piece.getColor() != currentTurn) {
-            return false;
-        }
+        return isValidMove(BoardCells.indexOf(from), BoardCells.indexOf(to));
+    }
 
-        // Check if piece can move (지뢰는 이동 불가)
-        if (battleRuleService != null && !battleRuleService.canMove(piece.getType())) {
+    private boolean isValidMove(int fromCell, int toCell) {
+        // Check if destination is valid
+        if (fromCell == BoardCells.NONE || toCell == BoardCells.NONE) {
             return false;
         }
 
-        // Check if destination is valid
-        if (!to.isValid()) {
+        // Orthogonal movement or diagonal movement to/from crossing points
+        if (!BoardCells.isAdjacent(fromCell, toCell)) {
             return false;
         }
 
-        double fx = from.getX();
-        double fy = from.getY();
-        double tx = to.getX();
-        double ty = to.getY();
-        double dx = tx - fx;
-        double dy = ty - fy;
-        double absDx = Math.abs(dx);
-        double absDy = Math.abs(dy);
-
-        boolean isValidMove = false;
-
-        // Normal orthogonal movement (4 directions: up, down, left, right)
-        if ((absDx == 1 && absDy == 0) || (absDx == 0 && absDy == 1)) {
-            isValidMove = true;
-        }
+        ensureIndexed();
 
-        // Diagonal movement to/from crossing points
-        if (isDiagonalCrossingMove(fx, fy, tx, ty)) {
-            isValidMove = true;
+        Piece piece = cells[fromCell];
+        if (piece == null || piece.getColor() != currentTurn) {
+            return false;
         }
 
-        if (!isValidMove) {
+        // Check if piece can move (지뢰는 이동 불가)
+        if (ruleSet != null && !ruleSet.canMove(piece.getType())) {
             return false;
         }
 
         // Check if destination is empty or has opponent piece
-        Piece destPiece = getPieceAt(to);
+        Piece destPiece = cells[toCell];
         return destPiece == null || destPiece.getColor() != piece.getColor();
     }
 
-    private boolean isDiagonalCrossingMove(double fx, double fy, double tx, double ty) {
-        // Crossing point 1: (6.5, 1.5)
-        // Connected to: (5,1), (5,2), (8,1), (8,2)
-        if ((fx == 6.5 && fy == 1.5) || (tx == 6.5 && ty == 1.5)) {
-            return ((fx == 5 && fy == 1) || (fx == 5 && fy == 2) ||
-                    (fx == 8 && fy == 1) || (fx == 8 && fy == 2) ||
-                    (fx == 6.5 && fy == 1.5)) &&
-                   ((tx == 5 && ty == 1) || (tx == 5 && ty == 2) ||
-                    (tx == 8 && ty == 1) || (tx == 8 && ty == 2) ||
-                    (tx == 6.5 && ty == 1.5));
+    /**
+     * 지정한 칸의 말이 이번 턴에 이동할 수 있는 칸 목록을 반환합니다.
+     */
+    public List<Position> getLegalMoves(Position from) {
+        int fromCell = BoardCells.indexOf(from);
+        if (fromCell == BoardCells.NONE) {
+            return List.of();
         }
 
-        // Crossing point 2: (6.5, 4.5)
-        // Connected to: (5,4), (5,5), (8,4), (8,5)
-        if ((fx == 6.5 && fy == 4.5) || (tx == 6.5 && ty == 4.5)) {
-            return ((fx == 5 && fy == 4) || (fx == 5 && fy == 5) ||
-                    (fx == 8 && fy == 4) || (fx == 8 && fy == 5) ||
-                    (fx == 6.5 && fy == 4.5)) &&
-                   ((tx == 5 && ty == 4) || (tx == 5 && ty == 5) ||
-                    (tx == 8 && ty == 4) || (tx == 8 && ty == 5) ||
-                    (tx == 6.5 && ty == 4.5));
+        List<Position> moves = new ArrayList<>();
+        for (int i = 0; i < BoardCells.neighbourCount(fromCell); i++) {
+            int toCell = BoardCells.neighbour(fromCell, i);
+            if (isValidMove(fromCell, toCell)) {
+                moves.add(BoardCells.positionOf(toCell));
+            }
         }
-
-        return false;
+        return moves;
     }
 
     public boolean movePiece(Position from, Position to) {
-        if (!isValidMove(from, to)) {
+        int fromCell = BoardCells.indexOf(from);
+        int toCell = BoardCells.indexOf(to);
+        if (!isValidMove(fromCell, toCell)) {
             return false;
         }
 
-        Piece attacker = getPieceAt(from);
-        Piece defender = getPieceAt(to);
+        Piece attacker = cells[fromCell];
+        Piece defender = cells[toCell];
+        clear(fromCell);
 
         // If destination is empty, just move
         if (defender == null) {
             attacker.setPosition(to);
+            put(toCell, attacker);
         } else {
             // Battle resolution
-            if (battleRuleService != null) {
-                int result = battleRuleService.resolveBattle(attacker.getType(), defender.getType());
+            if (ruleSet != null) {
+                int result = ruleSet.resolveBattle(attacker.getType(), defender.getType());
 
                 if (result == 1) {
                     // Attacker wins
-                    defender.setCaptured(true);
+                    capture(defender);
                     attacker.setPosition(to);
+                    put(toCell, attacker);
 
                     // 척후병 특수 규칙: 척후병을 제거한 말은 적에게 노출됨
-                    if (battleRuleService.isScout(defender.getType())) {
-                        attacker.setRevealed(true);
+                    if (ruleSet.isScout(defender.getType())) {
+                        reveal(attacker);
                         System.out.println("DEBUG: " + attacker.getType().getKoreanName() +
                             " (" + attacker.getId() + ") defeated scout - NOW REVEALED");
                     }
                 } else if (result == -1) {
                     // Defender wins
-                    attacker.setCaptured(true);
+                    capture(attacker);
 
                     // 척후병 특수 규칙: 척후병을 공격한 말은 적에게 노출됨
-                    if (battleRuleService.isScout(attacker.getType())) {
-                        defender.setRevealed(true);
+                    if (ruleSet.isScout(attacker.getType())) {
+                        reveal(defender);
                         System.out.println("DEBUG: " + defender.getType().getKoreanName() +
                             " (" + defender.getId() + ") defeated scout - NOW REVEALED");
                     }
                 } else {
                     // Draw - both pieces are captured
-                    attacker.setCaptured(true);
-                    defender.setCaptured(true);
+                    capture(attacker);
+                    capture(defender);
+                    clear(toCell);
                 }
             } else {
                 // Fallback: simple capture without battle rules
-                defender.setCaptured(true);
+                capture(defender);
                 attacker.setPosition(to);
+                put(toCell, attacker);
             }
         }
 
@@ -248,30 +389,12 @@ public class Board {
         return true;
     }
 
+    /**
+     * 군기가 잡혔거나 한쪽에 남은 말이 없으면 끝난 게임입니다. 말을 훑지 않고 유지한 수만 봅니다.
+     */
     public boolean isGameOver() {
-        // Game is over if a flag is captured
-        boolean redFlagCaptured = pieces.stream()
-                .anyMatch(p -> p.getColor() == PlayerColor.RED &&
-                              p.getType() == PieceType.FLAG &&
-                              p.isCaptured());
-        boolean blueFlagCaptured = pieces.stream()
-                .anyMatch(p -> p.getColor() == PlayerColor.BLUE &&
-                              p.getType() == PieceType.FLAG &&
-                              p.isCaptured());
-
-        if (redFlagCaptured || blueFlagCaptured) {
-            return true;
-        }
-
-        // Game is also over if one player has no pieces left
-        long redCount = pieces.stream()
-                .filter(p -> !p.isCaptured() && p.getColor() == PlayerColor.RED)
-                .count();
-        long blueCount = pieces.stream()
-                .filter(p -> !p.isCaptured() && p.getColor() == PlayerColor.BLUE)
-                .count();
-
-        return redCount == 0 || blueCount == 0;
+        ensureIndexed();
+        return flagsDown != 0 || alive[PlayerColor.RED.ordinal()] == 0 || alive[PlayerColor.BLUE.ordinal()] == 0;
     }
 
     public PlayerColor getWinner() {
@@ -279,29 +402,142 @@ public class Board {
             return null;
         }
 
-        // Check if a flag was captured
-        boolean redFlagCaptured = pieces.stream()
-                .anyMatch(p -> p.getColor() == PlayerColor.RED &&
-                              p.getType() == PieceType.FLAG &&
-                              p.isCaptured());
-        boolean blueFlagCaptured = pieces.stream()
-                .anyMatch(p -> p.getColor() == PlayerColor.BLUE &&
-                              p.getType() == PieceType.FLAG &&
-                              p.isCaptured());
-
         // If a flag was captured, the opponent wins
-        if (redFlagCaptured) {
-            return PlayerColor.BLUE; // Blue wins
+        if ((flagsDown & flagBit(PlayerColor.RED)) != 0) {
+            return PlayerColor.BLUE;
         }
-        if (blueFlagCaptured) {
-            return PlayerColor.RED; // Red wins
+        if ((flagsDown & flagBit(PlayerColor.BLUE)) != 0) {
+            return PlayerColor.RED;
         }
 
         // Otherwise, winner is determined by piece count
-        long redCount = pieces.stream()
-                .filter(p -> !p.isCaptured() && p.getColor() == PlayerColor.RED)
-                .count();
+        return alive[PlayerColor.RED.ordinal()] > 0 ? PlayerColor.RED : PlayerColor.BLUE;
+    }
+
+    /**
+     * 현재 위치의 64비트 Zobrist 해시. 칸의 말(색상, 타입, 노출 여부)과 둘 차례로 정해지며,
+     * 보드를 다시 훑지 않고 이동과 배치 때마다 갱신된 값을 돌려줍니다.
+     */
+    public long getHash() {
+        ensureIndexed();
+        return cellHash ^ Zobrist.sideKey(currentTurn);
+    }
 
-        return redCount > 0 ? PlayerColor.RED : PlayerColor.BLUE;
+    private boolean isIndexed() {
+        return indexedModCount == pieces.modCount();
+    }
+
+    private void ensureIndexed() {
+        if (isIndexed()) {
+            return;
+        }
+
+        Arrays.fill(cells, null);
+        cellHash = 0L;
+        Arrays.fill(alive, 0);
+        flagsDown = 0;
+        Arrays.fill(byId, null);
+        for (Piece piece : pieces) {
+            occupy(piece);
+            count(piece);
+            register(piece);
+        }
+        indexedModCount = pieces.modCount();
+    }
+
+    private void occupy(Piece piece) {
+        if (piece.isCaptured()) {
+            return;
+        }
+        int cell = BoardCells.indexOf(piece.getPosition());
+        if (cell != BoardCells.NONE && cells[cell] == null) {
+            put(cell, piece);
+        }
+    }
+
+    // 같은 ID 가 여러 번 있으면 목록에서 앞의 말을 쓴다
+    private void register(Piece piece) {
+        int slot = BoardCodec.slotOf(piece.getId());
+        if (slot >= 0 && byId[slot] == null) {
+            byId[slot] = piece;
+        }
+    }
+
+    private void count(Piece piece) {
+        if (!piece.isCaptured()) {
+            alive[piece.getColor().ordinal()]++;
+        } else if (piece.getType() == PieceType.FLAG) {
+            flagsDown |= flagBit(piece.getColor());
+        }
+    }
+
+    private void capture(Piece piece) {
+        piece.setCaptured(true);
+        alive[piece.getColor().ordinal()]--;
+        if (piece.getType() == PieceType.FLAG) {
+            flagsDown |= flagBit(piece.getColor());
+        }
+    }
+
+    private static int flagBit(PlayerColor color) {
+        return 1 << color.ordinal();
+    }
+
+    private void vacate(Piece piece) {
+        int cell = BoardCells.indexOf(piece.getPosition());
+        if (cell != BoardCells.NONE && cells[cell] == piece) {
+            clear(cell);
+        }
+    }
+
+    private void put(int cell, Piece piece) {
+        clear(cell);
+        cells[cell] = piece;
+        cellHash ^= Zobrist.keyOf(piece, cell);
+    }
+
+    private void clear(int cell) {
+        Piece previous = cells[cell];
+        if (previous != null) {
+            cellHash ^= Zobrist.keyOf(previous, cell);
+            cells[cell] = null;
+        }
+    }
+
+    private void reveal(Piece piece) {
+        if (piece.isRevealed()) {
+            return;
+        }
+        int cell = BoardCells.indexOf(piece.getPosition());
+        if (cell != BoardCells.NONE && cells[cell] == piece) {
+            cellHash ^= Zobrist.revealKeyOf(piece, cell);
+        }
+        piece.setRevealed(true);
+    }
+
+    /**
+     * 구조 변경 횟수를 노출하는 말 목록.
+     * Board 를 거치지 않고 목록이 바뀌면 점유 정보를 다시 만들 수 있도록 한다.
+     */
+    static class PieceList extends ArrayList<Piece> {
+
+        PieceList() {
+            super();
+        }
+
+        PieceList(Collection<? extends Piece> pieces) {
+            super(pieces);
+        }
+
+        @Override
+        public Piece set(int index, Piece element) {
+            Piece previous = super.set(index, element);
+            modCount++;
+            return previous;
+        }
+
+        int modCount() {
+            return modCount;
+        }
     }
 }
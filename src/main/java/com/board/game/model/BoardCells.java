@@ -0,0 +1,135 @@
+package com.board.game.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 보드 좌표와 셀 인덱스 사이의 변환을 담당합니다.
+ *
+ * 정수 좌표 셀 12x7 (RED: x 0-5, BLUE: x 8-13) 에 교차점 2개 (6.5,1.5), (6.5,4.5) 를 더해
+ * 총 86개의 셀을 0부터 연속된 인덱스로 매핑합니다.
+ */
+public final class BoardCells {
+
+    public static final int ROWS = 7;
+    public static final int COLUMNS = 12;
+
+    public static final int CROSSING_TOP = COLUMNS * ROWS;        // (6.5, 1.5)
+    public static final int CROSSING_BOTTOM = CROSSING_TOP + 1;   // (6.5, 4.5)
+
+    public static final int CELL_COUNT = CROSSING_BOTTOM + 1;
+
+    public static final int NONE = -1;
+
+    // 셀별 인접 셀 목록 (전후좌우 + 교차점 대각선). 클래스 로딩 시 한 번만 만든다.
+    private static final int[][] NEIGHBOURS = new int[CELL_COUNT][];
+    private static final boolean[] ADJACENT = new boolean[CELL_COUNT * CELL_COUNT];
+
+    static {
+        List<List<Integer>> edges = new ArrayList<>();
+        for (int cell = 0; cell < CELL_COUNT; cell++) {
+            edges.add(new ArrayList<>());
+        }
+
+        // 전후좌우 한 칸 이동
+        for (int cell = 0; cell < CROSSING_TOP; cell++) {
+            double x = xOf(cell);
+            double y = yOf(cell);
+            link(edges, cell, indexOf(x + 1, y));
+            link(edges, cell, indexOf(x, y + 1));
+        }
+
+        // 교차점 대각선 이동: (5,1),(5,2),(8,1),(8,2) <-> (6.5,1.5) / (5,4),(5,5),(8,4),(8,5) <-> (6.5,4.5)
+        for (int x : new int[]{5, 8}) {
+            link(edges, CROSSING_TOP, indexOf(x, 1));
+            link(edges, CROSSING_TOP, indexOf(x, 2));
+            link(edges, CROSSING_BOTTOM, indexOf(x, 4));
+            link(edges, CROSSING_BOTTOM, indexOf(x, 5));
+        }
+
+        for (int cell = 0; cell < CELL_COUNT; cell++) {
+            NEIGHBOURS[cell] = edges.get(cell).stream().mapToInt(Integer::intValue).sorted().toArray();
+            for (int neighbour : NEIGHBOURS[cell]) {
+                ADJACENT[cell * CELL_COUNT + neighbour] = true;
+            }
+        }
+    }
+
+    private BoardCells() {
+    }
+
+    private static void link(List<List<Integer>> edges, int a, int b) {
+        if (b == NONE) {
+            return;
+        }
+        edges.get(a).add(b);
+        edges.get(b).add(a);
+    }
+
+    public static boolean isAdjacent(int from, int to) {
+        return ADJACENT[from * CELL_COUNT + to];
+    }
+
+    public static int neighbourCount(int cell) {
+        return NEIGHBOURS[cell].length;
+    }
+
+    public static int neighbour(int cell, int i) {
+        return NEIGHBOURS[cell][i];
+    }
+
+    public static int indexOf(Position position) {
+        if (position == null) {
+            return NONE;
+        }
+        return indexOf(position.getX(), position.getY());
+    }
+
+    public static int indexOf(double x, double y) {
+        if (x == 6.5) {
+            if (y == 1.5) {
+                return CROSSING_TOP;
+            }
+            if (y == 4.5) {
+                return CROSSING_BOTTOM;
+            }
+            return NONE;
+        }
+
+        int ix = (int) x;
+        int iy = (int) y;
+        if (ix != x || iy != y || iy < 0 || iy >= ROWS) {
+            return NONE;
+        }
+
+        if (ix >= 0 && ix <= 5) {
+            return ix * ROWS + iy;
+        }
+        if (ix >= 8 && ix <= 13) {
+            return (ix - 2) * ROWS + iy;
+        }
+        return NONE;
+    }
+
+    public static double xOf(int cell) {
+        if (cell >= CROSSING_TOP) {
+            return 6.5;
+        }
+        int column = cell / ROWS;
+        return column <= 5 ? column : column + 2;
+    }
+
+    public static double yOf(int cell) {
+        if (cell == CROSSING_TOP) {
+            return 1.5;
+        }
+        if (cell == CROSSING_BOTTOM) {
+            return 4.5;
+        }
+        return cell % ROWS;
+    }
+
+    public static Position positionOf(int cell) {
+        return new Position(xOf(cell), yOf(cell));
+    }
+}
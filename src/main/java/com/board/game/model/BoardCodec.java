@@ -0,0 +1,212 @@
+package com.board.game.model;
+
+import java.util.List;
+
+/**
+ * 방 상태를 100 바이트 안쪽의 바이너리로 표현하는 표준 인코딩.
+ *
+ * 말 ID 는 시작 배치(R1-R35, B1-B35)로 색상과 타입이 정해지므로, 말마다 한 바이트만 씁니다.
+ * 하위 7비트는 셀 인덱스(BoardCells) 또는 상태 값(인벤토리, 잡힘, 없음)이고, 최상위 비트는 노출 여부입니다.
+ *
+ * <pre>
+ * [0]      형식 (FULL 또는 VIEW)
+ * [1]      상태(2비트) | 차례(1비트) | RED 준비 | BLUE 준비
+ * [2..71]  R1..R35, B1..B35 슬롯
+ * [72..82] VIEW 전용: 가려진 상대 말이 있는 셀 비트맵 (86비트)
+ * </pre>
+ *
+ * VIEW 형식은 한 플레이어의 화면입니다. 가려진 상대 말은 슬롯에 HIDDEN 만 쓰고 위치는 비트맵으로만 보내므로,
+ * 어느 말이 어디 있는지(= 타입)는 드러나지 않습니다.
+ */
+public final class BoardCodec {
+
+    public static final int PIECES_PER_SIDE = 35;
+    public static final int SLOTS = PIECES_PER_SIDE * 2;
+
+    public static final byte FULL = 1;
+    public static final byte VIEW = 2;
+
+    public static final int FULL_LENGTH = 2 + SLOTS;
+    public static final int VIEW_LENGTH = FULL_LENGTH + (BoardCells.CELL_COUNT + 7) / 8;
+
+    private static final int REVEALED = 0x80;
+    private static final int HIDDEN = 0x7C;
+    private static final int CAPTURED = 0x7D;
+    private static final int INVENTORY = 0x7E;
+    private static final int ABSENT = 0x7F;
+
+    private static final GameStatus[] STATUSES = GameStatus.values();
+
+    // 슬롯 -> 시작 배치의 말 (ID, 색상, 타입)
+    private static final Piece[] CANONICAL = new Piece[SLOTS];
+
+    static {
+        Board board = new Board(true);
+        List<Piece> red = board.getInitialPieces(PlayerColor.RED);
+        List<Piece> blue = board.getInitialPieces(PlayerColor.BLUE);
+        for (int i = 0; i < PIECES_PER_SIDE; i++) {
+            CANONICAL[i] = red.get(i);
+            CANONICAL[PIECES_PER_SIDE + i] = blue.get(i);
+        }
+    }
+
+    private BoardCodec() {
+    }
+
+    /**
+     * 말 ID 의 슬롯 번호. 시작 배치의 ID 가 아니면 -1 을 반환합니다.
+     */
+    public static int slotOf(String pieceId) {
+        if (pieceId == null || pieceId.length() < 2 || pieceId.length() > 3) {
+            return -1;
+        }
+
+        int base;
+        if (pieceId.charAt(0) == 'R') {
+            base = 0;
+        } else if (pieceId.charAt(0) == 'B') {
+            base = PIECES_PER_SIDE;
+        } else {
+            return -1;
+        }
+
+        int number = 0;
+        for (int i = 1; i < pieceId.length(); i++) {
+            char c = pieceId.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            number = number * 10 + (c - '0');
+        }
+        return number >= 1 && number <= PIECES_PER_SIDE && pieceId.charAt(1) != '0' ? base + number - 1 : -1;
+    }
+
+    /**
+     * 보드의 모든 말이 시작 배치의 ID, 색상, 타입을 따르고 있어 손실 없이 인코딩할 수 있는지 확인합니다.
+     */
+    public static boolean isEncodable(Board board) {
+        boolean[] seen = new boolean[SLOTS];
+        for (Piece piece : board.getPieces()) {
+            int slot = slotOf(piece.getId());
+            if (slot < 0 || seen[slot]
+                    || piece.getColor() != CANONICAL[slot].getColor()
+                    || piece.getType() != CANONICAL[slot].getType()
+                    || (piece.getPosition() != null && BoardCells.indexOf(piece.getPosition()) == BoardCells.NONE)) {
+                return false;
+            }
+            seen[slot] = true;
+        }
+        return true;
+    }
+
+    /**
+     * 방 전체 상태를 FULL 형식으로 인코딩합니다. 잡힌 말의 마지막 위치는 남기지 않습니다.
+     *
+     * @throws IllegalArgumentException 시작 배치를 따르지 않는 말이 있으면
+     */
+    public static byte[] encode(GameRoom room) {
+        byte[] data = new byte[FULL_LENGTH];
+        writeHeader(data, FULL, room.getStatus(), room.getBoard().getCurrentTurn(),
+                room.isRedPlayerReady(), room.isBluePlayerReady());
+        fillAbsent(data);
+
+        for (Piece piece : room.getBoard().getPieces()) {
+            int slot = slotOf(piece.getId());
+            if (slot < 0 || piece.getType() != CANONICAL[slot].getType()) {
+                throw new IllegalArgumentException("Piece is not part of the standard set: " + piece.getId());
+            }
+            data[2 + slot] = (byte) slotValue(piece);
+        }
+        return data;
+    }
+
+    /**
+     * 한 플레이어가 보는 말 목록(RoomProjection)을 VIEW 형식으로 인코딩합니다.
+     * 타입이 가려진 말은 HIDDEN 으로 쓰고 위치만 비트맵에 남깁니다.
+     */
+    public static byte[] encodeView(RoomProjection projection, PlayerColor viewer) {
+        byte[] data = new byte[VIEW_LENGTH];
+        writeHeader(data, VIEW, projection.getStatus(), projection.getCurrentTurn(),
+                projection.isRedPlayerReady(), projection.isBluePlayerReady());
+        fillAbsent(data);
+
+        for (Piece piece : projection.piecesFor(viewer)) {
+            int slot = slotOf(piece.getId());
+            if (piece.getType() == null) {
+                int cell = BoardCells.indexOf(piece.getPosition());
+                if (cell != BoardCells.NONE) {
+                    data[FULL_LENGTH + cell / 8] |= (byte) (1 << (cell % 8));
+                }
+                // 관전자 화면의 가린 말은 ID 가 없으므로 비트맵에만 남는다
+                if (slot >= 0) {
+                    data[2 + slot] = (byte) HIDDEN;
+                }
+            } else if (slot >= 0) {
+                data[2 + slot] = (byte) slotValue(piece);
+            }
+        }
+        return data;
+    }
+
+    /**
+     * FULL 형식을 방에 적용합니다. 상태, 차례, 준비 여부와 보드의 말 목록을 덮어씁니다.
+     */
+    public static void decode(byte[] data, GameRoom room) {
+        if (data.length != FULL_LENGTH || data[0] != FULL) {
+            throw new IllegalArgumentException("Not a full board encoding");
+        }
+
+        int header = data[1];
+        room.setStatus(STATUSES[header & 0x03]);
+        room.setRedPlayerReady((header & 0x08) != 0);
+        room.setBluePlayerReady((header & 0x10) != 0);
+
+        Board board = room.getBoard();
+        board.setCurrentTurn((header & 0x04) != 0 ? PlayerColor.BLUE : PlayerColor.RED);
+        board.getPieces().clear();
+        for (int slot = 0; slot < SLOTS; slot++) {
+            int value = data[2 + slot] & 0xFF;
+            int state = value & ~REVEALED;
+            if (state == ABSENT) {
+                continue;
+            }
+
+            Piece canonical = CANONICAL[slot];
+            Position position = state < BoardCells.CELL_COUNT ? BoardCells.positionOf(state) : null;
+            Piece piece = new Piece(canonical.getId(), canonical.getColor(), canonical.getType(), position);
+            piece.setCaptured(state == CAPTURED);
+            piece.setRevealed((value & REVEALED) != 0);
+            board.getPieces().add(piece);
+        }
+    }
+
+    private static void writeHeader(byte[] data, byte format, GameStatus status, PlayerColor turn,
+                                    boolean redReady, boolean blueReady) {
+        data[0] = format;
+        data[1] = (byte) (status.ordinal()
+                | (turn == PlayerColor.BLUE ? 0x04 : 0)
+                | (redReady ? 0x08 : 0)
+                | (blueReady ? 0x10 : 0));
+    }
+
+    private static void fillAbsent(byte[] data) {
+        for (int slot = 0; slot < SLOTS; slot++) {
+            data[2 + slot] = (byte) ABSENT;
+        }
+    }
+
+    private static int slotValue(Piece piece) {
+        int state;
+        if (piece.isCaptured()) {
+            state = CAPTURED;
+        } else if (piece.getPosition() == null) {
+            state = INVENTORY;
+        } else {
+            state = BoardCells.indexOf(piece.getPosition());
+            if (state == BoardCells.NONE) {
+                throw new IllegalArgumentException("Piece is off the board: " + piece.getId());
+            }
+        }
+        return state | (piece.isRevealed() ? REVEALED : 0);
+    }
+}
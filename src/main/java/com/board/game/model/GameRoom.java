@@ -1,6 +1,10 @@
 package com.board.game.model;
 
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Setter;
+import lombok.ToString;
 import java.util.*;
 
 @Data
@@ -13,6 +17,21 @@ public class GameRoom {
     private boolean redPlayerReady;
     private boolean bluePlayerReady;
     private Date createdAt;
+    private Date lastActivityAt;
+    private long version;           // 상태가 바뀔 때마다 1씩 증가하는 순번
+    private MoveRecord lastMove;
+
+    // 마지막으로 만든 색상별 말 목록. 버전이 바뀌면 다음 조회 때 다시 만든다.
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private RoomProjection projection;
+
+    // 이동 후 나온 위치(Board.getHash)별 등장 횟수. 같은 위치 반복 무승부 판정에 쓴다.
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private final Map<Long, Integer> positionCounts = new HashMap<>();
 
     public GameRoom(String roomId) {
         this.roomId = roomId;
@@ -21,6 +40,38 @@ public class GameRoom {
         this.redPlayerReady = false;
         this.bluePlayerReady = false;
         this.createdAt = new Date();
+        this.lastActivityAt = this.createdAt;
+    }
+
+    /**
+     * 방 상태가 바뀌었음을 기록하고 새 버전을 반환합니다.
+     */
+    public long nextVersion() {
+        return ++version;
+    }
+
+    /**
+     * 현재 보드 위치의 등장 횟수를 하나 늘리고 늘어난 횟수를 반환합니다.
+     */
+    public int countPosition() {
+        return positionCounts.merge(board.getHash(), 1, Integer::sum);
+    }
+
+    /**
+     * 현재 버전의 색상별 말 목록을 반환합니다. 버전이 바뀐 경우에만 다시 만듭니다.
+     */
+    public RoomProjection getProjection() {
+        if (projection == null || !projection.isCurrent(this)) {
+            projection = RoomProjection.of(this);
+        }
+        return projection;
+    }
+
+    /**
+     * 플레이어 명령이 처리될 때마다 호출해 마지막 활동 시각을 갱신합니다.
+     */
+    public void touch() {
+        this.lastActivityAt = new Date();
     }
 
     public boolean addPlayer(String playerId) {
@@ -32,19 +83,24 @@ public class GameRoom {
         if (redPlayer == null) {
             redPlayer = playerId;
             if (bluePlayer != null) {
-                status = GameStatus.SETUP;  // Both players joined, start setup
+                startSetup();  // Both players joined, start setup
             }
             return true;
         } else if (bluePlayer == null) {
             bluePlayer = playerId;
             if (redPlayer != null) {
-                status = GameStatus.SETUP;  // Both players joined, start setup
+                startSetup();  // Both players joined, start setup
             }
             return true;
         }
         return false;
     }
 
+    private void startSetup() {
+        status = GameStatus.SETUP;
+        board.reserveInitialPieces();
+    }
+
     public boolean isPlayerReady(String playerId) {
         if (playerId.equals(redPlayer)) {
             return redPlayerReady;
@@ -96,4 +152,11 @@ public class GameRoom {
         }
         return null;
     }
+
+    /**
+     * 이 방에 고정된 승부 규칙 버전
+     */
+    public String getRuleVersion() {
+        return board.getRuleSet() != null ? board.getRuleSet().getVersion() : null;
+    }
 }
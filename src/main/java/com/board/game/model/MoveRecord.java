@@ -0,0 +1,15 @@
+package com.board.game.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * 마지막으로 적용된 이동. 이동으로 바뀐 말만 골라 델타를 만들 때 사용합니다.
+ */
+@Data
+@AllArgsConstructor
+public class MoveRecord {
+    private long seq;          // 이동이 적용된 뒤의 방 버전
+    private Piece attacker;
+    private Piece defender;    // 빈 칸으로 이동했으면 null
+}
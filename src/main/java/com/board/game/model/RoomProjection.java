@@ -0,0 +1,174 @@
+package com.board.game.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 방 상태 한 버전에 대한 색상별 말 목록과 방 정보.
+ *
+ * 보드의 말을 한 번만 복사해 RED, BLUE, 관전자 목록을 만들고, 방 버전이 바뀔 때까지 모든 호출이 공유합니다.
+ * 관전자 목록은 두 플레이어가 모두 아는 것만 담습니다 (배치 중에는 비어 있고, 진행 중에는 노출되지 않은 타입을 양쪽 다 가림).
+ * 목록과 그 안의 말은 라이브 보드와 분리되어 있으므로 메일박스 밖에서 직렬화해도 안전하지만, 수정해서는 안 됩니다.
+ * 이 버전을 직렬화한 결과도 함께 캐시해 두어, 같은 화면을 여러 번 직렬화하지 않습니다.
+ */
+public final class RoomProjection {
+
+    /** 관전자 화면에서 가린 말에 붙이는 ID 접두사. 시작 배치의 ID(R, B)와 겹치지 않는다 */
+    public static final String HIDDEN_ID_PREFIX = "H";
+
+    private final String roomId;
+    private final long version;
+    private final GameStatus status;
+    private final PlayerColor currentTurn;
+    private final PlayerColor winner;
+    private final String redPlayer;
+    private final String bluePlayer;
+    private final boolean redPlayerReady;
+    private final boolean bluePlayerReady;
+    private final String ruleVersion;
+    private final List<Piece> red;
+    private final List<Piece> blue;
+    private final List<Piece> spectator;
+
+    // 보는 쪽 + 메시지 -> 직렬화된 상태
+    private final Map<String, byte[]> frames = new ConcurrentHashMap<>();
+
+    private RoomProjection(GameRoom room, List<Piece> red, List<Piece> blue, List<Piece> spectator) {
+        this.roomId = room.getRoomId();
+        this.version = room.getVersion();
+        this.status = room.getStatus();
+        this.currentTurn = room.getBoard().getCurrentTurn();
+        this.winner = room.getBoard().getWinner();
+        this.redPlayer = room.getRedPlayer();
+        this.bluePlayer = room.getBluePlayer();
+        this.redPlayerReady = room.isRedPlayerReady();
+        this.bluePlayerReady = room.isBluePlayerReady();
+        this.ruleVersion = room.getRuleVersion();
+        this.red = red;
+        this.blue = blue;
+        this.spectator = spectator;
+    }
+
+    /**
+     * 방의 현재 상태로 투영을 만듭니다. 방의 메일박스 안에서 호출해야 합니다.
+     */
+    public static RoomProjection of(GameRoom room) {
+        List<Piece> pieces = room.getBoard().getPieces();
+        GameStatus status = room.getStatus();
+
+        List<Piece> red = new ArrayList<>(pieces.size());
+        List<Piece> blue = new ArrayList<>(pieces.size());
+        List<Piece> spectator = new ArrayList<>(pieces.size());
+        List<Piece> hidden = new ArrayList<>();
+        for (Piece p : pieces) {
+            Piece copy = copyOf(p, p.getType());
+
+            if (status == GameStatus.SETUP) {
+                // During SETUP: Only show own pieces. 관전자에게는 어느 쪽 배치도 보이지 않는다
+                (p.getColor() == PlayerColor.RED ? red : blue).add(copy);
+            } else if (status == GameStatus.PLAYING && !p.isCaptured() && !p.isRevealed()) {
+                // During PLAYING: Hide opponent piece types (unless revealed by scout)
+                Piece masked = copyOf(p, null);
+                red.add(p.getColor() == PlayerColor.RED ? copy : masked);
+                blue.add(p.getColor() == PlayerColor.BLUE ? copy : masked);
+                // 관전자 화면은 양쪽 모두 가린다. 시작 배치의 ID 는 타입을 정하므로 ID 도 지운다
+                hidden.add(new Piece(null, p.getColor(), null, copy.getPosition(), false, false));
+            } else {
+                red.add(copy);
+                blue.add(copy);
+                spectator.add(copy);
+            }
+        }
+
+        // 가린 말은 칸 순서로 놓고 이 버전에서만 쓰는 ID 를 붙인다. 목록 순서로도 원래 ID 를 알 수 없다
+        hidden.sort(Comparator.comparingInt(p -> p.getPosition() != null
+                ? BoardCells.indexOf(p.getPosition()) : Integer.MAX_VALUE));
+        for (int i = 0; i < hidden.size(); i++) {
+            hidden.get(i).setId(HIDDEN_ID_PREFIX + (i + 1));
+        }
+        spectator.addAll(hidden);
+
+        return new RoomProjection(room,
+                Collections.unmodifiableList(red),
+                Collections.unmodifiableList(blue),
+                Collections.unmodifiableList(spectator));
+    }
+
+    private static Piece copyOf(Piece p, PieceType type) {
+        Position position = p.getPosition() != null
+                ? new Position(p.getPosition().getX(), p.getPosition().getY())
+                : null;
+        return new Piece(p.getId(), p.getColor(), type, position, p.isCaptured(), p.isRevealed());
+    }
+
+    /**
+     * 이 투영이 방의 현재 상태와 같은 버전인지 확인합니다.
+     */
+    public boolean isCurrent(GameRoom room) {
+        return version == room.getVersion() && status == room.getStatus();
+    }
+
+    /**
+     * @param viewer 보는 플레이어의 색상. null 이면 관전자 목록
+     */
+    public List<Piece> piecesFor(PlayerColor viewer) {
+        if (viewer == PlayerColor.RED) {
+            return red;
+        } else if (viewer == PlayerColor.BLUE) {
+            return blue;
+        }
+        return spectator;
+    }
+
+    /**
+     * 이 버전의 직렬화 결과를 반환합니다. 같은 키로 처음 요청될 때만 render 를 호출합니다.
+     */
+    public byte[] frame(String key, Supplier<byte[]> render) {
+        return frames.computeIfAbsent(key, k -> render.get());
+    }
+
+    public String getRoomId() {
+        return roomId;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public GameStatus getStatus() {
+        return status;
+    }
+
+    public PlayerColor getCurrentTurn() {
+        return currentTurn;
+    }
+
+    public PlayerColor getWinner() {
+        return winner;
+    }
+
+    public String getRedPlayer() {
+        return redPlayer;
+    }
+
+    public String getBluePlayer() {
+        return bluePlayer;
+    }
+
+    public boolean isRedPlayerReady() {
+        return redPlayerReady;
+    }
+
+    public boolean isBluePlayerReady() {
+        return bluePlayerReady;
+    }
+
+    public String getRuleVersion() {
+        return ruleVersion;
+    }
+}
@@ -0,0 +1,69 @@
+package com.board.game.model;
+
+import java.util.SplittableRandom;
+
+/**
+ * 보드 위치의 Zobrist 해시 키.
+ *
+ * 칸에 놓인 말(색상, 타입, 셀)마다 하나, 그 말이 노출된 경우 하나, 그리고 BLUE 차례일 때 하나의 64비트 키를 XOR 합니다.
+ * 시드가 고정되어 있으므로 노드나 재시작과 관계없이 같은 위치는 같은 해시를 가집니다.
+ */
+public final class Zobrist {
+
+    private static final PieceType[] TYPES = PieceType.values();
+
+    // 타입이 없는 말(가려진 말)도 해시할 수 있도록 타입 수 + 1
+    private static final int TYPE_SLOTS = TYPES.length + 1;
+    private static final int KEYS = PlayerColor.values().length * TYPE_SLOTS * BoardCells.CELL_COUNT;
+
+    private static final long[] PIECE_KEYS = new long[KEYS];
+    private static final long[] REVEALED_KEYS = new long[KEYS];
+
+    /** BLUE 가 둘 차례일 때 XOR 되는 키 */
+    public static final long BLUE_TO_MOVE;
+
+    static {
+        SplittableRandom random = new SplittableRandom(0x5A0B_1157L);
+        for (int i = 0; i < KEYS; i++) {
+            PIECE_KEYS[i] = random.nextLong();
+            REVEALED_KEYS[i] = random.nextLong();
+        }
+        BLUE_TO_MOVE = random.nextLong();
+    }
+
+    private Zobrist() {
+    }
+
+    private static int index(Piece piece, int cell) {
+        int type = piece.getType() != null ? piece.getType().ordinal() : TYPES.length;
+        return (piece.getColor().ordinal() * TYPE_SLOTS + type) * BoardCells.CELL_COUNT + cell;
+    }
+
+    /**
+     * keyOf 와 같은 값을 ordinal 로 계산합니다. type 이 음수면 가려진 말입니다.
+     * Piece 객체 없이 보드를 다루는 탐색 코드용
+     */
+    public static long key(int color, int type, int cell, boolean revealed) {
+        int index = (color * TYPE_SLOTS + (type < 0 ? TYPES.length : type)) * BoardCells.CELL_COUNT + cell;
+        return revealed ? PIECE_KEYS[index] ^ REVEALED_KEYS[index] : PIECE_KEYS[index];
+    }
+
+    /**
+     * 말이 셀에 놓여 있을 때 해시에 기여하는 값 (노출 여부 포함)
+     */
+    public static long keyOf(Piece piece, int cell) {
+        int index = index(piece, cell);
+        return piece.isRevealed() ? PIECE_KEYS[index] ^ REVEALED_KEYS[index] : PIECE_KEYS[index];
+    }
+
+    /**
+     * 셀에 놓인 말의 노출 여부가 바뀔 때 XOR 할 값
+     */
+    public static long revealKeyOf(Piece piece, int cell) {
+        return REVEALED_KEYS[index(piece, cell)];
+    }
+
+    public static long sideKey(PlayerColor toMove) {
+        return toMove == PlayerColor.BLUE ? BLUE_TO_MOVE : 0L;
+    }
+}
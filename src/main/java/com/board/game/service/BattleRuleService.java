@@ -1,240 +1,183 @@
 package com.board.game.service;
 
 import com.board.game.model.PieceType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
 import org.springframework.stereotype.Service;
 
 import jakarta.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
 
 @Service
 @Slf4j
 public class BattleRuleService {
 
-    private Map<String, Set<String>> winRules;
+    private static final String DEFAULT_LOCATION = "classpath*:rules/*.json";
+    private static final String DEFAULT_VERSION = "v1";
+
+    /** 규칙 파일 위치 (classpath*: 또는 file: 패턴) */
+    @Value("${game.rules.location:" + DEFAULT_LOCATION + "}")
+    private String location = DEFAULT_LOCATION;
+
+    /** 새 방에 기본으로 적용할 규칙 버전 (시작 값. 운영 중에는 select 로 바꾼다) */
+    @Value("${game.rules.active-version:" + DEFAULT_VERSION + "}")
+    private String activeVersion = DEFAULT_VERSION;
+
+    /** A/B 테스트용 후보 규칙 버전 (비어 있으면 사용 안 함) */
+    @Value("${game.rules.candidate-version:}")
+    private String candidateVersion = "";
+
+    /** 새 방 중 후보 규칙을 적용할 비율 (0-100) */
+    @Value("${game.rules.candidate-percent:0}")
+    private int candidatePercent = 0;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    // 버전 -> 규칙과 현재 선택. 다시 읽거나 선택을 바꿀 때 통째로 교체해 새 방이 섞인 설정을 보지 않게 한다.
+    private volatile RuleState state = new RuleState(Map.of(), DEFAULT_VERSION, "", 0);
+
+    public BattleRuleService() {
+    }
+
+    /**
+     * Spring 밖에서(자체 대국 시뮬레이션 등) 다른 위치의 규칙 파일을 읽을 때 사용합니다.
+     */
+    public BattleRuleService(String location) {
+        this.location = location;
+    }
 
     @PostConstruct
     public void init() {
-        loadRules();
+        state = new RuleState(Map.of(), activeVersion, candidateVersion, candidatePercent);
+        reload();
     }
 
     /**
-     * 승부 규칙을 소스 코드 내에서 정의합니다.
-     * 각 말이 이길 수 있는 상대 목록을 Map으로 관리합니다.
+     * 규칙 파일을 모두 다시 읽어 컴파일한 뒤 원자적으로 교체합니다.
+     * 하나라도 잘못된 파일이 있으면 기존 규칙을 그대로 유지합니다.
+     * 이미 진행 중인 방은 시작할 때의 규칙 객체를 계속 사용합니다.
+     *
+     * @return 새로 적용된 규칙 버전 목록
      */
-    private void loadRules() {
-        winRules = new HashMap<>();
-
-        // 군기
-        winRules.put("군기", new HashSet<>(Arrays.asList(
-            "대장", "중장", "중령", "소령", "중위", "소위", "준위",
-            "상사", "중사", "하사", "병장", "상병", "일병", "이병",
-            "공병", "척후병", "고사포", "레이더"
-        )));
-
-        // 지뢰
-        winRules.put("지뢰", new HashSet<>(Arrays.asList(
-            "군기", "대장", "중장", "소장", "준장", "대령", "중령", "소령",
-            "대위", "중위", "소위", "준위", "상사", "중사", "하사",
-            "병장", "상병", "일병", "이병", "척후병", "탱크", "고사포", "레이더"
-        )));
-
-        // 대장
-        winRules.put("대장", new HashSet<>(Arrays.asList(
-            "중장", "소장", "준장", "대령", "중령", "소령", "대위",
-            "중위", "소위", "준위", "상사", "중사", "하사", "병장",
-            "상병", "일병", "이병", "공병", "척후병", "비행기", "탱크",
-            "미사일", "고사포", "레이더"
-        )));
-
-        // 중장
-        winRules.put("중장", new HashSet<>(Arrays.asList(
-            "소장", "준장", "대령", "중령", "소령", "대위", "중위",
-            "소위", "준위", "상사", "중사", "하사", "병장", "상병",
-            "일병", "이병", "공병", "척후병", "미사일", "고사포", "레이더"
-        )));
-
-        // 소장
-        winRules.put("소장", new HashSet<>(Arrays.asList(
-            "군기", "준장", "대령", "중령", "소령", "대위", "중위",
-            "소위", "준위", "상사", "중사", "하사", "병장", "상병",
-            "일병", "이병", "공병", "척후병", "미사일", "고사포", "레이더"
-        )));
-
-        // 준장
-        winRules.put("준장", new HashSet<>(Arrays.asList(
-            "군기", "대령", "중령", "소령", "대위", "중위", "소위",
-            "준위", "상사", "중사", "하사", "병장", "상병", "일병",
-            "이병", "공병", "척후병", "비행기", "탱크", "미사일",
-            "고사포", "레이더"
-        )));
-
-        // 대령
-        winRules.put("대령", new HashSet<>(Arrays.asList(
-            "군기", "중령", "소령", "대위", "중위", "소위", "준위",
-            "상사", "중사", "하사", "병장", "상병", "일병", "이병",
-            "공병", "척후병", "미사일", "고사포", "레이더"
-        )));
-
-        // 중령
-        winRules.put("중령", new HashSet<>(Arrays.asList(
-            "소령", "대위", "중위", "소위", "준위", "상사", "중사",
-            "하사", "병장", "상병", "일병", "이병", "공병", "척후병",
-            "고사포", "레이더"
-        )));
-
-        // 소령
-        winRules.put("소령", new HashSet<>(Arrays.asList(
-            "대위", "중위", "소위", "준위", "상사", "중사", "하사",
-            "병장", "상병", "일병", "이병", "공병", "척후병", "고사포", "레이더"
-        )));
-
-        // 대위
-        winRules.put("대위", new HashSet<>(Arrays.asList(
-            "군기", "중위", "소위", "준위", "상사", "중사", "하사",
-            "병장", "상병", "일병", "이병", "공병", "척후병", "고사포", "레이더"
-        )));
-
-        // 중위
-        winRules.put("중위", new HashSet<>(Arrays.asList(
-            "소위", "준위", "상사", "중사", "하사", "병장", "상병",
-            "일병", "이병", "공병", "척후병", "고사포", "레이더"
-        )));
-
-        // 소위
-        winRules.put("소위", new HashSet<>(Arrays.asList(
-            "준위", "상사", "중사", "하사", "병장", "상병", "일병",
-            "이병", "공병", "척후병", "고사포", "레이더"
-        )));
-
-        // 준위
-        winRules.put("준위", new HashSet<>(Arrays.asList(
-            "상사", "중사", "하사", "병장", "상병", "일병", "이병",
-            "공병", "척후병", "고사포", "레이더"
-        )));
-
-        // 상사
-        winRules.put("상사", new HashSet<>(Arrays.asList(
-            "중사", "하사", "병장", "상병", "일병", "이병", "공병", "척후병"
-        )));
-
-        // 중사
-        winRules.put("중사", new HashSet<>(Arrays.asList(
-            "하사", "병장", "상병", "일병", "이병", "공병", "척후병"
-        )));
-
-        // 하사
-        winRules.put("하사", new HashSet<>(Arrays.asList(
-            "병장", "상병", "일병", "이병", "공병", "척후병"
-        )));
-
-        // 병장
-        winRules.put("병장", new HashSet<>(Arrays.asList(
-            "상병", "일병", "이병", "공병", "척후병"
-        )));
-
-        // 상병
-        winRules.put("상병", new HashSet<>(Arrays.asList(
-            "일병", "이병", "공병", "척후병"
-        )));
-
-        // 일병
-        winRules.put("일병", new HashSet<>(Arrays.asList(
-            "이병", "공병", "척후병"
-        )));
-
-        // 이병
-        winRules.put("이병", new HashSet<>(Arrays.asList(
-            "공병", "척후병"
-        )));
-
-        // 공병
-        winRules.put("공병", new HashSet<>(Arrays.asList(
-            "지뢰", "척후병", "탱크", "미사일", "고사포", "레이더"
-        )));
-
-        // 척후병 - 아무도 이기지 못함
-        winRules.put("척후병", new HashSet<>());
-
-        // 비행기
-        winRules.put("비행기", new HashSet<>(Arrays.asList(
-            "군기", "지뢰", "대장", "중장", "소장", "대령", "중령",
-            "소령", "대위", "중위", "소위", "준위", "상사", "중사",
-            "하사", "병장", "상병", "일병", "이병", "공병", "척후병", "탱크"
-        )));
-
-        // 탱크
-        winRules.put("탱크", new HashSet<>(Arrays.asList(
-            "군기", "대장", "중장", "소장", "대령", "중령", "소령",
-            "대위", "중위", "소위", "준위", "상사", "중사", "하사",
-            "병장", "상병", "일병", "이병", "척후병", "미사일", "레이더"
-        )));
-
-        // 미사일
-        winRules.put("미사일", new HashSet<>(Arrays.asList(
-            "군기", "지뢰", "중령", "소령", "대위", "중위", "소위",
-            "준위", "상사", "중사", "하사", "병장", "상병", "일병",
-            "이병", "척후병", "비행기", "탱크", "레이더"
-        )));
-
-        // 고사포
-        winRules.put("고사포", new HashSet<>(Arrays.asList(
-            "상사", "중사", "하사", "병장", "상병", "일병", "이병",
-            "척후병", "비행기", "레이더"
-        )));
-
-        // 레이더
-        winRules.put("레이더", new HashSet<>(Arrays.asList(
-            "상사", "중사", "하사", "병장", "상병", "일병", "이병",
-            "척후병", "비행기", "탱크", "미사일"
-        )));
-
-        log.info("Loaded {} battle rules from source code", winRules.size());
+    public synchronized Set<String> reload() {
+        Map<String, BattleRuleSet> loaded = new TreeMap<>();
+        for (RuleFile file : readRuleFiles()) {
+            BattleRuleSet ruleSet = BattleRuleSet.compile(file.getVersion(), file.getWinRules(), file.getMutualWins());
+            if (loaded.putIfAbsent(ruleSet.getVersion(), ruleSet) != null) {
+                throw new IllegalStateException("Duplicate battle rule version: " + ruleSet.getVersion());
+            }
+        }
+
+        RuleState current = state;
+        if (!loaded.containsKey(current.activeVersion)) {
+            throw new IllegalStateException("Active battle rule version not found: " + current.activeVersion);
+        }
+        if (!current.candidateVersion.isBlank() && !loaded.containsKey(current.candidateVersion)) {
+            throw new IllegalStateException("Candidate battle rule version not found: " + current.candidateVersion);
+        }
+
+        state = new RuleState(Collections.unmodifiableMap(loaded),
+                current.activeVersion, current.candidateVersion, current.candidatePercent);
+        log.info("Loaded battle rules {} from {} (active: {})", loaded.keySet(), location, current.activeVersion);
+        return loaded.keySet();
     }
 
     /**
-     * 두 말이 충돌했을 때 승부를 판정합니다.
+     * 새 방에 적용할 기본 규칙과 후보 규칙, 후보 비율을 한 번에 바꿉니다.
+     * 읽어 둔 규칙에 없는 버전이거나 비율이 0-100 밖이면 아무것도 바꾸지 않습니다.
+     * 이미 진행 중인 방은 시작할 때의 규칙 객체를 계속 사용합니다.
      *
-     * @param attacker 공격하는 말의 타입
-     * @param defender 방어하는 말의 타입
-     * @return 1: attacker wins, -1: defender wins, 0: draw (both die)
+     * @param candidateVersion 후보 규칙 버전. null 이나 빈 문자열이면 후보를 끈다
+     * @throws IllegalArgumentException 설정이 잘못되었을 때
      */
-    public int resolveBattle(PieceType attacker, PieceType defender) {
-        if (attacker == null || defender == null) {
-            return 0;
+    public synchronized void select(String activeVersion, String candidateVersion, int candidatePercent) {
+        RuleState current = state;
+        String candidate = candidateVersion != null ? candidateVersion : "";
+        if (activeVersion == null || !current.ruleSets.containsKey(activeVersion)) {
+            throw new IllegalArgumentException("Active battle rule version not found: " + activeVersion);
+        }
+        if (!candidate.isBlank() && !current.ruleSets.containsKey(candidate)) {
+            throw new IllegalArgumentException("Candidate battle rule version not found: " + candidate);
+        }
+        if (candidatePercent < 0 || candidatePercent > 100) {
+            throw new IllegalArgumentException("Candidate percent must be 0-100: " + candidatePercent);
         }
 
-        String attackerName = attacker.getKoreanName();
-        String defenderName = defender.getKoreanName();
+        state = new RuleState(current.ruleSets, activeVersion, candidate, candidatePercent);
+        log.info("Selected battle rules (active: {}, candidate: {} at {}%)", activeVersion, candidate, candidatePercent);
+    }
 
-        // 동일한 말끼리는 무승부 (둘 다 패배)
-        if (attackerName.equals(defenderName)) {
-            log.debug("Battle: {} vs {} - Draw (same piece)", attackerName, defenderName);
-            return 0;
+    private List<RuleFile> readRuleFiles() {
+        try {
+            Resource[] resources = new PathMatchingResourcePatternResolver().getResources(location);
+            List<RuleFile> files = new ArrayList<>();
+            for (Resource resource : resources) {
+                try (InputStream in = resource.getInputStream()) {
+                    files.add(objectMapper.readValue(in, RuleFile.class));
+                }
+            }
+            return files;
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read battle rules from " + location, e);
         }
+    }
+
+    public BattleRuleSet getActiveRuleSet() {
+        RuleState current = state;
+        return current.ruleSets.get(current.activeVersion);
+    }
+
+    /**
+     * 지정한 버전의 규칙을 반환합니다. 없으면 null 을 반환합니다.
+     */
+    public BattleRuleSet getRuleSet(String version) {
+        return state.ruleSets.get(version);
+    }
+
+    public Set<String> getVersions() {
+        return state.ruleSets.keySet();
+    }
 
-        boolean attackerWins = canDefeat(attackerName, defenderName);
-        boolean defenderWins = canDefeat(defenderName, attackerName);
-
-        if (attackerWins && !defenderWins) {
-            log.debug("Battle: {} defeats {}", attackerName, defenderName);
-            return 1;  // Attacker wins
-        } else if (!attackerWins && defenderWins) {
-            log.debug("Battle: {} defeats {}", defenderName, attackerName);
-            return -1; // Defender wins
-        } else {
-            // 둘 다 이기지 못하는 경우도 무승부
-            log.debug("Battle: {} and {} both die", attackerName, defenderName);
-            return 0;  // Draw - both die
+    public String getActiveVersion() {
+        return state.activeVersion;
+    }
+
+    public String getCandidateVersion() {
+        return state.candidateVersion;
+    }
+
+    public int getCandidatePercent() {
+        return state.candidatePercent;
+    }
+
+    /**
+     * 새 방에 적용할 규칙을 고릅니다.
+     * 후보 규칙이 설정되어 있으면 candidate-percent 비율만큼 후보 규칙을 배정합니다.
+     */
+    public BattleRuleSet assignRuleSet() {
+        RuleState current = state;
+        if (!current.candidateVersion.isBlank() && ThreadLocalRandom.current().nextInt(100) < current.candidatePercent) {
+            return current.ruleSets.get(current.candidateVersion);
         }
+        return current.ruleSets.get(current.activeVersion);
     }
 
     /**
-     * 특정 말이 다른 말을 이길 수 있는지 확인합니다.
+     * 두 말이 충돌했을 때 현재 기본 규칙으로 승부를 판정합니다.
+     *
+     * @param attacker 공격하는 말의 타입
+     * @param defender 방어하는 말의 타입
+     * @return 1: attacker wins, -1: defender wins, 0: draw (both die)
      */
-    private boolean canDefeat(String attacker, String defender) {
-        Set<String> defeatable = winRules.get(attacker);
-        return defeatable != null && defeatable.contains(defender);
+    public int resolveBattle(PieceType attacker, PieceType defender) {
+        return getActiveRuleSet().resolveBattle(attacker, defender);
     }
 
     /**
@@ -242,18 +185,36 @@ public class BattleRuleService {
      * 지뢰는 이동할 수 없습니다.
      */
     public boolean canMove(PieceType pieceType) {
-        if (pieceType == null) {
-            return false;
-        }
-
-        // 지뢰는 이동 불가
-        return pieceType != PieceType.MINE;
+        return getActiveRuleSet().canMove(pieceType);
     }
 
     /**
      * 척후병인지 확인합니다.
      */
     public boolean isScout(PieceType pieceType) {
-        return pieceType == PieceType.SCOUT;
+        return getActiveRuleSet().isScout(pieceType);
+    }
+
+    private static final class RuleState {
+        private final Map<String, BattleRuleSet> ruleSets;
+        private final String activeVersion;
+        private final String candidateVersion;
+        private final int candidatePercent;
+
+        private RuleState(Map<String, BattleRuleSet> ruleSets, String activeVersion, String candidateVersion, int candidatePercent) {
+            this.ruleSets = ruleSets;
+            this.activeVersion = activeVersion;
+            this.candidateVersion = candidateVersion;
+            this.candidatePercent = candidatePercent;
+        }
+    }
+
+    @Data
+    static class RuleFile {
+        private String version;
+        private String description;
+        private Map<String, List<String>> winRules = new LinkedHashMap<>();
+        // 서로 이긴다고 적혀 있어도 무승부로 처리할 쌍 (의도한 경우만)
+        private List<List<String>> mutualWins = new ArrayList<>();
     }
 }
@@ -0,0 +1,143 @@
+package com.board.game.service;
+
+import com.board.game.model.PieceType;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.*;
+
+/**
+ * 버전이 붙은 불변 승부 규칙.
+ * 이름 기반 규칙을 PieceType ordinal 로 색인한 승부표로 컴파일해 두고,
+ * 방은 게임을 시작할 때의 규칙 객체를 계속 참조합니다.
+ */
+@Slf4j
+public final class BattleRuleSet {
+
+    private static final PieceType[] TYPES = PieceType.values();
+
+    private static final byte ATTACKER_WINS = 1;
+    private static final byte DEFENDER_WINS = -1;
+    private static final byte DRAW = 0;
+
+    private final String version;
+
+    // 공격자 ordinal * TYPES.length + 방어자 ordinal -> 승부 결과
+    private final byte[] outcomes;
+
+    private BattleRuleSet(String version, byte[] outcomes) {
+        this.version = version;
+        this.outcomes = outcomes;
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    /**
+     * @return 1: attacker wins, -1: defender wins, 0: draw (both die)
+     */
+    public int resolveBattle(PieceType attacker, PieceType defender) {
+        if (attacker == null || defender == null) {
+            return 0;
+        }
+
+        return outcomes[attacker.ordinal() * TYPES.length + defender.ordinal()];
+    }
+
+    /**
+     * 지뢰는 이동할 수 없습니다.
+     */
+    public boolean canMove(PieceType pieceType) {
+        return pieceType != null && pieceType != PieceType.MINE;
+    }
+
+    public boolean isScout(PieceType pieceType) {
+        return pieceType == PieceType.SCOUT;
+    }
+
+    /**
+     * 각 말이 이길 수 있는 상대 목록(한글 이름)으로부터 승부표를 만듭니다.
+     * 규칙이 빠진 말이나 알 수 없는 이름이 있으면 예외를 던집니다.
+     */
+    public static BattleRuleSet compile(String version, Map<String, ? extends Collection<String>> winRules) {
+        return compile(version, winRules, List.of());
+    }
+
+    /**
+     * 서로 이긴다고 정의된 쌍은 mutualWins 에 적어 둔 경우에만 무승부로 허용하고,
+     * 그 밖의 쌍은 규칙 파일의 오타로 보고 예외를 던집니다.
+     */
+    public static BattleRuleSet compile(String version, Map<String, ? extends Collection<String>> winRules,
+                                        Collection<? extends List<String>> mutualWins) {
+        if (version == null || version.isBlank()) {
+            throw new IllegalStateException("Battle rule set has no version");
+        }
+
+        int n = TYPES.length;
+        Map<String, PieceType> byName = new HashMap<>();
+        for (PieceType type : TYPES) {
+            byName.put(type.getKoreanName(), type);
+        }
+
+        boolean[] wins = new boolean[n * n];
+        for (Map.Entry<String, ? extends Collection<String>> entry : winRules.entrySet()) {
+            PieceType winner = byName.get(entry.getKey());
+            if (winner == null) {
+                throw new IllegalStateException("Unknown piece in battle rules " + version + ": " + entry.getKey());
+            }
+            for (String name : entry.getValue()) {
+                PieceType loser = byName.get(name);
+                if (loser == null) {
+                    throw new IllegalStateException("Unknown piece in battle rules " + version + " of "
+                            + entry.getKey() + ": " + name);
+                }
+                wins[winner.ordinal() * n + loser.ordinal()] = true;
+            }
+        }
+
+        for (PieceType type : TYPES) {
+            if (!winRules.containsKey(type.getKoreanName())) {
+                throw new IllegalStateException("Missing battle rule in " + version + " for " + type.getKoreanName());
+            }
+        }
+
+        boolean[] allowed = new boolean[n * n];
+        for (List<String> pair : mutualWins) {
+            PieceType first = pair.size() == 2 ? byName.get(pair.get(0)) : null;
+            PieceType second = pair.size() == 2 ? byName.get(pair.get(1)) : null;
+            if (first == null || second == null) {
+                throw new IllegalStateException("Invalid mutual win pair in battle rules " + version + ": " + pair);
+            }
+            allowed[first.ordinal() * n + second.ordinal()] = true;
+            allowed[second.ordinal() * n + first.ordinal()] = true;
+        }
+
+        byte[] table = new byte[n * n];
+        List<String> contradictions = new ArrayList<>();
+        for (int a = 0; a < n; a++) {
+            for (int d = 0; d < n; d++) {
+                boolean attackerWins = a != d && wins[a * n + d];
+                boolean defenderWins = a != d && wins[d * n + a];
+
+                if (attackerWins && !defenderWins) {
+                    table[a * n + d] = ATTACKER_WINS;
+                } else if (!attackerWins && defenderWins) {
+                    table[a * n + d] = DEFENDER_WINS;
+                } else {
+                    // 동일한 말, 둘 다 이기거나 둘 다 이기지 못하는 경우는 무승부
+                    table[a * n + d] = DRAW;
+                    if (attackerWins && a < d && !allowed[a * n + d]) {
+                        contradictions.add(TYPES[a].getKoreanName() + "-" + TYPES[d].getKoreanName());
+                    }
+                }
+            }
+        }
+
+        if (!contradictions.isEmpty()) {
+            throw new IllegalStateException("Both pieces claim the win in battle rules " + version
+                    + " (list them in mutualWins to resolve as draw): " + contradictions);
+        }
+        log.info("Compiled {}x{} battle outcome table for rules {}", n, n, version);
+        return new BattleRuleSet(version, table);
+    }
+}
@@ -0,0 +1,230 @@
+package com.board.game.service;
+
+import com.board.game.ai.Formations;
+import com.board.game.model.Board;
+import com.board.game.model.BoardCells;
+import com.board.game.model.BoardCodec;
+import com.board.game.model.Piece;
+import com.board.game.model.PlayerColor;
+import com.board.game.model.Position;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+/**
+ * 서버에 보관하는 배치 템플릿.
+ *
+ * 미리 정의한 템플릿은 formations/*.json 에서 읽고, 플레이어가 저장한 템플릿은 메모리에 두며
+ * game.formations.saved-dir 가 지정되어 있으면 파일로도 남겨 재시작 후에도 쓸 수 있게 합니다.
+ * "random" 은 부를 때마다 Formations.random 으로 새 배치를 만듭니다.
+ */
+@Service
+@Slf4j
+public class FormationService {
+
+    public static final String RANDOM = "random";
+
+    private static final String DEFAULT_LOCATION = "classpath*:formations/*.json";
+    private static final Pattern NAME = Pattern.compile("[A-Za-z0-9_-]{1,32}");
+    private static final int COLUMNS = BoardCodec.PIECES_PER_SIDE / BoardCells.ROWS;
+
+    /** 미리 정의한 템플릿 위치 (classpath*: 또는 file: 패턴) */
+    @Value("${game.formations.location:" + DEFAULT_LOCATION + "}")
+    private String location = DEFAULT_LOCATION;
+
+    /** 저장한 템플릿을 남길 디렉터리. 비어 있으면 메모리에만 둔다 */
+    @Value("${game.formations.saved-dir:}")
+    private String savedDir = "";
+
+    /** 저장할 수 있는 템플릿 수 */
+    @Value("${game.formations.max-saved:1000}")
+    private int maxSaved = 1000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, FormationTemplate> predefined = new TreeMap<>();
+    private final Map<String, FormationTemplate> saved = new ConcurrentHashMap<>();
+
+    // random 배치가 군기 자리를 고를 때 쓰는 시작 말 (색상별, 읽기 전용)
+    private final Map<PlayerColor, List<Piece>> initialPieces = new EnumMap<>(PlayerColor.class);
+
+    public FormationService() {
+        Board board = new Board(true);
+        for (PlayerColor color : PlayerColor.values()) {
+            initialPieces.put(color, board.getInitialPieces(color));
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        try {
+            for (Resource resource : new PathMatchingResourcePatternResolver().getResources(location)) {
+                try (InputStream in = resource.getInputStream()) {
+                    FormationTemplate template = objectMapper.readValue(in, FormationTemplate.class);
+                    validate(template);
+                    if (RANDOM.equals(template.getName()) || predefined.putIfAbsent(template.getName(), template) != null) {
+                        throw new IllegalStateException("Duplicate formation template: " + template.getName());
+                    }
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            throw new IllegalStateException("Failed to read formation templates from " + location, e);
+        }
+
+        if (!savedDir.isBlank()) {
+            loadSaved(Paths.get(savedDir));
+        }
+        log.info("Loaded formation templates {} ({} saved)", predefined.keySet(), saved.size());
+    }
+
+    private void loadSaved(Path dir) {
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*.json")) {
+            for (Path file : files) {
+                try {
+                    FormationTemplate template = objectMapper.readValue(file.toFile(), FormationTemplate.class);
+                    validate(template);
+                    if (!predefined.containsKey(template.getName())) {
+                        saved.put(template.getName(), template);
+                    }
+                } catch (IOException | IllegalArgumentException e) {
+                    log.warn("Skipping saved formation {}: {}", file, e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read saved formations from " + dir, e);
+        }
+    }
+
+    /**
+     * 미리 정의한 템플릿, random, 저장한 템플릿 순으로 돌려줍니다.
+     */
+    public List<FormationTemplate> getTemplates() {
+        List<FormationTemplate> templates = new ArrayList<>(predefined.values());
+        FormationTemplate random = new FormationTemplate();
+        random.setName(RANDOM);
+        random.setDescription("요청할 때마다 새로 섞는 배치. 군기는 맨 뒷줄에 둔다");
+        templates.add(random);
+        List<FormationTemplate> savedTemplates = new ArrayList<>(saved.values());
+        savedTemplates.sort(Comparator.comparing(FormationTemplate::getName));
+        templates.addAll(savedTemplates);
+        return templates;
+    }
+
+    public FormationTemplate getTemplate(String name) {
+        FormationTemplate template = predefined.get(name);
+        return template != null ? template : saved.get(name);
+    }
+
+    /**
+     * 템플릿을 저장합니다. 같은 이름으로 저장한 템플릿은 덮어쓰지만 미리 정의한 템플릿과 random 은 덮어쓸 수 없습니다.
+     *
+     * @throws IllegalArgumentException 템플릿이 잘못되었거나 더 저장할 수 없을 때
+     */
+    public synchronized FormationTemplate save(FormationTemplate template) {
+        validate(template);
+        String name = template.getName();
+        if (RANDOM.equals(name) || predefined.containsKey(name)) {
+            throw new IllegalArgumentException("Formation template name is reserved: " + name);
+        }
+        if (!saved.containsKey(name) && saved.size() >= maxSaved) {
+            throw new IllegalArgumentException("Too many saved formation templates");
+        }
+
+        if (!savedDir.isBlank()) {
+            try {
+                Path dir = Files.createDirectories(Paths.get(savedDir));
+                objectMapper.writeValue(dir.resolve(name + ".json").toFile(), template);
+            } catch (IOException e) {
+                throw new IllegalStateException("Failed to save formation " + name, e);
+            }
+        }
+        saved.put(name, template);
+        log.info("Saved formation template {}", name);
+        return template;
+    }
+
+    /**
+     * 이름으로 템플릿을 찾아 color 플레이어의 말 ID -> 칸 배치로 바꿉니다. 없는 이름이면 null 을 반환합니다.
+     */
+    public Map<String, Position> placements(String name, PlayerColor color) {
+        if (RANDOM.equals(name)) {
+            List<Piece> pieces = initialPieces.get(color);
+            List<Position> cells = Formations.random(pieces, color, ThreadLocalRandom.current());
+            Map<String, Position> placements = new LinkedHashMap<>();
+            for (int i = 0; i < pieces.size(); i++) {
+                placements.put(pieces.get(i).getId(), cells.get(i));
+            }
+            return placements;
+        }
+
+        FormationTemplate template = getTemplate(name);
+        return template == null ? null : placements(template, color);
+    }
+
+    /**
+     * 검증된 템플릿을 color 쪽 진영 좌표로 옮깁니다. BLUE 는 x 축을 뒤집습니다.
+     */
+    static Map<String, Position> placements(FormationTemplate template, PlayerColor color) {
+        String prefix = color == PlayerColor.RED ? "R" : "B";
+        Map<String, Position> placements = new LinkedHashMap<>();
+        for (int column = 0; column < COLUMNS; column++) {
+            List<Integer> row = template.getRows().get(column);
+            int x = color == PlayerColor.RED ? column : 13 - column;
+            for (int y = 0; y < BoardCells.ROWS; y++) {
+                int number = row.get(y);
+                if (number != 0) {
+                    placements.put(prefix + number, new Position(x, y));
+                }
+            }
+        }
+        return placements;
+    }
+
+    /**
+     * 이름, 줄 수(5), 줄 길이(7), 말 번호(1-35, 중복 없음)를 검사합니다.
+     */
+    static void validate(FormationTemplate template) {
+        if (template == null || template.getName() == null || !NAME.matcher(template.getName()).matches()) {
+            throw new IllegalArgumentException("Formation name must be 1-32 letters, digits, '-' or '_'");
+        }
+        List<List<Integer>> rows = template.getRows();
+        if (rows == null || rows.size() != COLUMNS) {
+            throw new IllegalArgumentException("Formation must have " + COLUMNS + " rows");
+        }
+
+        boolean[] used = new boolean[BoardCodec.PIECES_PER_SIDE + 1];
+        for (List<Integer> row : rows) {
+            if (row == null || row.size() != BoardCells.ROWS) {
+                throw new IllegalArgumentException("Each formation row must have " + BoardCells.ROWS + " cells");
+            }
+            for (Integer number : row) {
+                if (number == null || number < 0 || number > BoardCodec.PIECES_PER_SIDE) {
+                    throw new IllegalArgumentException("Piece number must be 0-" + BoardCodec.PIECES_PER_SIDE + ": " + number);
+                }
+                if (number != 0) {
+                    if (used[number]) {
+                        throw new IllegalArgumentException("Piece " + number + " appears twice");
+                    }
+                    used[number] = true;
+                }
+            }
+        }
+    }
+}
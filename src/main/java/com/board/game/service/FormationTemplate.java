@@ -0,0 +1,19 @@
+package com.board.game.service;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 색상과 무관하게 저장하는 배치 템플릿.
+ *
+ * rows[0] 이 자기 진영 맨 뒷줄(RED x=0, BLUE x=13)이고 rows[4] 가 맨 앞줄입니다. 각 줄의 i 번째 값이 y=i 칸에 놓을 말 번호
+ * (R7, B7 의 7)이며, 0 이면 그 칸은 비워 둡니다.
+ */
+@Data
+public class FormationTemplate {
+    private String name;
+    private String description;
+    private List<List<Integer>> rows = new ArrayList<>();
+}
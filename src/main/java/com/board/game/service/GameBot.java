@@ -0,0 +1,252 @@
+package com.board.game.service;
+
+import com.board.game.ai.BotMove;
+import com.board.game.ai.BotSearch;
+import com.board.game.model.GameRoom;
+import com.board.game.model.GameStatus;
+import com.board.game.model.PlayerColor;
+import com.board.game.model.Position;
+import com.board.game.model.RoomProjection;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 상대를 오래 기다린 방의 빈 좌석에 봇을 앉히고, 봇 차례마다 BotSearch 로 수를 둡니다.
+ *
+ * - WAITING: 한 명만 있는 방이 join-timeout 동안 그대로면 봇이 참가
+ * - SETUP: 봇이 random 템플릿으로 배치와 준비를 한 명령에 마침
+ * - PLAYING: 봇 차례면 탐색을 봇 전용 풀에 맡기고, 끝나면 일반 플레이어와 같은 경로로 이동
+ *
+ * 탐색은 크기가 정해진 풀(threads)과 대기열에서만 돌고 수마다 move-budget 안에 끝나므로,
+ * 봇 방이 늘어도 방 메일박스 스레드나 사람 방의 CPU 를 빼앗지 않는다. 풀이 가득 차면 다음 주기에 다시 시도한다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class GameBot {
+
+    public static final String BOT_PREFIX = "bot-";
+
+    private final GameService gameService;
+    private final GameBroadcaster broadcaster;
+    private final FormationService formationService;
+    private final GameMetrics metrics;
+
+    @Value("${game.bot.enabled:true}")
+    private boolean enabled = true;
+
+    /** 한 명만 있는 방이 이 시간 동안 그대로면 봇이 참가한다 */
+    @Value("${game.bot.join-timeout:PT30S}")
+    private Duration joinTimeout = Duration.ofSeconds(30);
+
+    /** 한 수의 탐색 시간 */
+    @Value("${game.bot.move-budget:PT0.5S}")
+    private Duration moveBudget = Duration.ofMillis(500);
+
+    /** 탐색 스레드 수. 0 이면 코어 수의 1/4 (최소 1) */
+    @Value("${game.bot.threads:0}")
+    private int threads;
+
+    /** 가려진 상대 말을 채워 보는 표본 수 */
+    @Value("${game.bot.samples:" + BotSearch.DEFAULT_SAMPLES + "}")
+    private int samples = BotSearch.DEFAULT_SAMPLES;
+
+    private ThreadPoolExecutor searchPool;
+
+    // 탐색이 진행 중인 방. 같은 차례에 두 번 탐색하지 않도록 한다
+    private final Set<String> thinking = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong botsSeated = new AtomicLong();
+    private final AtomicLong botMoves = new AtomicLong();
+    private final AtomicLong searchesDeferred = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        int size = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 4);
+        AtomicInteger count = new AtomicInteger();
+        searchPool = new ThreadPoolExecutor(size, size, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(size * 4),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "bot-search-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.MIN_PRIORITY);
+                    return thread;
+                });
+        log.info("Bot search pool: {} threads, {} per move", size, moveBudget);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        searchPool.shutdownNow();
+    }
+
+    /**
+     * 봇 ID 인지 확인합니다. 사람 참가 경로(GameService.joinRoom 등)는 이 접두사를 거절하므로 접두사만으로 구분할 수 있습니다.
+     */
+    public static boolean isBot(String playerId) {
+        return playerId != null && playerId.startsWith(BOT_PREFIX);
+    }
+
+    @Scheduled(fixedDelayString = "${game.bot.poll-interval:PT0.25S}")
+    public void tick() {
+        if (enabled) {
+            tick(System.currentTimeMillis());
+        }
+    }
+
+    void tick(long now) {
+        for (GameRoom room : List.copyOf(gameService.getRooms())) {
+            switch (room.getStatus()) {
+                case WAITING -> seatIfAbandoned(room, now);
+                case SETUP -> setUpIfNeeded(room);
+                case PLAYING -> thinkIfTurn(room);
+                default -> {
+                }
+            }
+        }
+    }
+
+    private void seatIfAbandoned(GameRoom room, long now) {
+        boolean onePlayer = (room.getRedPlayer() == null) != (room.getBluePlayer() == null);
+        if (!onePlayer || isBot(room.getRedPlayer()) || isBot(room.getBluePlayer())
+                || now - room.getLastActivityAt().getTime() < joinTimeout.toMillis()) {
+            return;
+        }
+
+        String botId = BOT_PREFIX + UUID.randomUUID().toString().substring(0, 8);
+        if (gameService.seatBot(room.getRoomId(), botId) != null) {
+            botsSeated.incrementAndGet();
+            log.info("Bot {} took the open seat in room {}", botId, room.getRoomId());
+            broadcaster.scheduleBroadcast(room.getRoomId(), "Player joined: " + botId);
+        }
+    }
+
+    private void setUpIfNeeded(GameRoom room) {
+        String botId = botOf(room);
+        if (botId == null || room.isPlayerReady(botId)) {
+            return;
+        }
+
+        // 배치와 준비를 한 명령으로 묶어 봇 풀에서 처리한다. 스케줄러 스레드는 메일박스를 기다리지 않는다
+        PlayerColor color = room.getPlayerColor(botId);
+        submit(room.getRoomId(), () -> {
+            Map<String, Position> formation = formationService.placements(FormationService.RANDOM, color);
+            if (gameService.placeFormation(room.getRoomId(), botId, formation, true)) {
+                broadcaster.scheduleBroadcast(room.getRoomId(), "Player ready");
+            }
+        });
+    }
+
+    private void thinkIfTurn(GameRoom room) {
+        String botId = botOf(room);
+        if (botId == null || room.getBoard().getCurrentTurn() != room.getPlayerColor(botId)) {
+            return;
+        }
+
+        submit(room.getRoomId(), () -> playTurn(room.getRoomId(), botId));
+    }
+
+    /**
+     * 방 하나의 봇 작업을 봇 풀에 맡깁니다. 같은 방의 작업이 이미 진행 중이거나 풀이 가득 차면 다음 주기에 다시 시도합니다.
+     */
+    private void submit(String roomId, Runnable task) {
+        if (!thinking.add(roomId)) {
+            return;
+        }
+
+        try {
+            searchPool.execute(() -> {
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    log.error("Bot task failed in room {}", roomId, e);
+                } finally {
+                    thinking.remove(roomId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            thinking.remove(roomId);
+            searchesDeferred.incrementAndGet();
+        }
+    }
+
+    /**
+     * 봇이 보는 화면으로 한 수를 탐색해 둡니다. 봇 차례가 아니면 아무것도 하지 않습니다.
+     */
+    boolean playTurn(String roomId, String botId) {
+        GameRoom room = gameService.getRoom(roomId);
+        RoomProjection projection = gameService.getProjection(roomId);
+        if (room == null || projection == null || projection.getStatus() != GameStatus.PLAYING) {
+            return false;
+        }
+
+        PlayerColor color = room.getPlayerColor(botId);
+        if (color == null || projection.getCurrentTurn() != color) {
+            return false;
+        }
+
+        BotMove move = new BotSearch(room.getBoard().getRuleSet())
+                .choose(projection.piecesFor(color), color, moveBudget.toNanos(), samples, System.nanoTime());
+        if (move == null) {
+            log.warn("Bot {} has no move in room {}", botId, roomId);
+            return false;
+        }
+
+        log.debug("Bot {} in room {}: {} -> {} (depth {}, {} nodes)",
+                botId, roomId, move.getFrom(), move.getTo(), move.getDepth(), move.getNodes());
+        // 사람의 이동과 같이 적용부터 브로드캐스트까지만 잰다
+        Timer.Sample sample = metrics.startMove();
+        boolean moved = false;
+        try {
+            moved = gameService.movePiece(roomId, botId, move.getFrom(), move.getTo());
+            if (moved) {
+                botMoves.incrementAndGet();
+                broadcaster.broadcastMove(roomId, "Move successful");
+            }
+        } finally {
+            metrics.stopBotMove(sample, moved);
+        }
+        return moved;
+    }
+
+    public Map<String, Long> getStats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("botsSeated", botsSeated.get());
+        stats.put("botMoves", botMoves.get());
+        stats.put("botSearchesDeferred", searchesDeferred.get());
+        return stats;
+    }
+
+    // 사람 상대가 앉아 있는 방의 봇 좌석
+    private static String botOf(GameRoom room) {
+        String red = room.getRedPlayer();
+        String blue = room.getBluePlayer();
+        if (isBot(red) && blue != null && !isBot(blue)) {
+            return red;
+        }
+        if (isBot(blue) && red != null && !isBot(red)) {
+            return blue;
+        }
+        return null;
+    }
+}
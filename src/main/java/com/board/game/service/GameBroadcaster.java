@@ -0,0 +1,327 @@
+package com.board.game.service;
+
+import com.board.game.dto.GameDeltaResponse;
+import com.board.game.dto.GameStateResponse;
+import com.board.game.model.BoardCodec;
+import com.board.game.model.PlayerColor;
+import com.board.game.model.RoomProjection;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Service;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 게임 상태를 색상별 토픽과 REST 응답으로 보냅니다.
+ *
+ * 색상별 화면은 방 버전마다 한 번만 JSON 으로 직렬화하고, 그 바이트를 HTTP 본문과
+ * /topic/game.{roomId}.{COLOR} 프레임에 그대로 재사용합니다.
+ * binary-enabled 이면 BoardCodec VIEW 형식의 프레임을 /topic/game.{roomId}.{COLOR}.bin 으로도 보냅니다.
+ *
+ * 참가, 배치, 준비처럼 몰려서 오는 변경은 scheduleBroadcast 로 모아 coalesce-window 안에 색상별 프레임 하나로 보냅니다.
+ * 이동과 나가기는 바로 보내며, 대기 중인 묶음이 있으면 그 프레임이 대신합니다.
+ * 한 방의 전송은 같은 잠금 안에서 최신 상태를 렌더링하므로 seq 가 거꾸로 가지 않습니다.
+ *
+ * 관전자가 있는 방은 양쪽을 모두 가린 화면을 /topic/game.{roomId}.SPECTATE 로 보냅니다.
+ * 이 프레임은 버전마다 한 번만 만들어 모든 관전자가 같은 바이트를 받습니다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class GameBroadcaster {
+
+    private static final PlayerColor[] COLORS = PlayerColor.values();
+
+    // game.broadcast.payload 의 kind 태그
+    private static final String STATE = "state";
+    private static final String DELTA = "delta";
+    private static final String BINARY = "binary";
+    private static final String USER = "user";
+    private static final String SPECTATE = "spectate";
+
+    // 방별 전송 순서를 지키는 잠금. 방마다 객체를 두지 않도록 roomId 해시로 나눈다
+    private static final int LOCK_STRIPES = 256;
+
+    private final GameService gameService;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ObjectMapper objectMapper;
+    private final GameMetrics metrics;
+    private final SpectatorRegistry spectators;
+
+    /** true 이면 이동 후 전체 상태 대신 바뀐 말만 담은 델타를 보낸다 */
+    @Value("${game.broadcast.delta-enabled:false}")
+    private boolean deltaEnabled;
+
+    /** true 이면 JSON 과 함께 BoardCodec 바이너리 프레임도 보낸다 (SockJS 가 아닌 /ws-native 연결용) */
+    @Value("${game.broadcast.binary-enabled:false}")
+    private boolean binaryEnabled;
+
+    /** scheduleBroadcast 가 변경을 모으는 시간. 0 이면 바로 보낸다 */
+    @Value("${game.broadcast.coalesce-window:0s}")
+    private Duration coalesceWindow = Duration.ZERO;
+
+    private final Object[] locks = createLocks();
+
+    // 보내기를 기다리는 방 -> 그동안 들어온 마지막 메시지
+    private final Map<String, Pending> pending = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "game-broadcast-flush");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static final class Pending {
+        private String message;
+    }
+
+    private static Object[] createLocks() {
+        Object[] locks = new Object[LOCK_STRIPES];
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new Object();
+        }
+        return locks;
+    }
+
+    private Object lockOf(String roomId) {
+        return locks[(roomId.hashCode() & 0x7fffffff) % LOCK_STRIPES];
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdownNow();
+    }
+
+    /**
+     * 보는 쪽의 게임 상태를 직렬화한 바이트를 반환합니다. 방이 없으면 null 을 반환합니다.
+     *
+     * @param viewer 보는 플레이어의 색상. null 이면 관전자 화면
+     */
+    public byte[] render(String roomId, PlayerColor viewer, String message) {
+        RoomProjection projection = gameService.getProjection(roomId);
+        if (projection == null) {
+            return null;
+        }
+
+        return render(projection, viewer, message);
+    }
+
+    private byte[] render(RoomProjection projection, PlayerColor viewer, String message) {
+        return projection.frame(viewer + "|" + message, () -> {
+            GameStateResponse response = gameService.toGameState(projection, viewer);
+            response.setMessage(message);
+            return toJson(response);
+        });
+    }
+
+    /**
+     * 각 플레이어에게 맞춤형 게임 상태를 전송합니다.
+     * RED 플레이어는 /topic/game.{roomId}.RED 를 구독
+     * BLUE 플레이어는 /topic/game.{roomId}.BLUE 를 구독
+     */
+    public void broadcast(String roomId, String message) {
+        synchronized (lockOf(roomId)) {
+            String merged = takePending(roomId, message);
+            RoomProjection projection = gameService.getProjection(roomId);
+            if (projection != null) {
+                broadcastState(projection, merged);
+            }
+        }
+    }
+
+    /**
+     * coalesce-window 뒤에 방 상태를 보냅니다. 그 사이 같은 방에 다시 부르면 한 번만 보내고,
+     * 메시지는 마지막으로 받은 null 이 아닌 것을 씁니다.
+     */
+    public void scheduleBroadcast(String roomId, String message) {
+        if (coalesceWindow.isZero()) {
+            broadcast(roomId, message);
+            return;
+        }
+
+        synchronized (lockOf(roomId)) {
+            Pending entry = pending.get(roomId);
+            if (entry == null) {
+                entry = new Pending();
+                pending.put(roomId, entry);
+                flusher.schedule(() -> flush(roomId), coalesceWindow.toNanos(), TimeUnit.NANOSECONDS);
+            }
+            if (message != null) {
+                entry.message = message;
+            }
+        }
+    }
+
+    private void flush(String roomId) {
+        try {
+            synchronized (lockOf(roomId)) {
+                Pending entry = pending.remove(roomId);
+                // 그 사이 바로 보낸 프레임이 이미 최신 상태를 실었으면 보낼 것이 없다
+                if (entry != null) {
+                    RoomProjection projection = gameService.getProjection(roomId);
+                    if (projection != null) {
+                        broadcastState(projection, entry.message);
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to flush broadcast for room {}", roomId, e);
+        }
+    }
+
+    /**
+     * 대기 중인 묶음을 꺼내고 보낼 메시지를 정합니다. 이번 메시지가 없으면 묶음의 메시지를 씁니다.
+     */
+    private String takePending(String roomId, String message) {
+        Pending entry = pending.remove(roomId);
+        return message != null || entry == null ? message : entry.message;
+    }
+
+    private void broadcastState(RoomProjection projection, String message) {
+        for (PlayerColor color : COLORS) {
+            String playerId = color == PlayerColor.RED ? projection.getRedPlayer() : projection.getBluePlayer();
+            if (playerId != null) {
+                log.debug("Broadcasting to {} player via /topic/game.{}.{}", color, projection.getRoomId(), color);
+                send(topic(projection.getRoomId(), color), render(projection, color, message), STATE);
+                sendBinary(projection, color);
+            }
+        }
+        sendSpectators(projection, message);
+    }
+
+    /**
+     * 관전자 화면을 보냅니다. 델타 모드에서도 관전자는 전체 상태를 받습니다 (버전당 한 번 직렬화).
+     */
+    private void sendSpectators(RoomProjection projection, String message) {
+        String roomId = projection.getRoomId();
+        if (!spectators.isWatched(roomId)) {
+            return;
+        }
+        send(SpectatorRegistry.topic(roomId), render(projection, null, message), SPECTATE);
+        if (binaryEnabled) {
+            byte[] frame = projection.frame("bin|SPECTATE", () -> BoardCodec.encodeView(projection, null));
+            send(SpectatorRegistry.topic(roomId) + ".bin", frame, MimeTypeUtils.APPLICATION_OCTET_STREAM, BINARY);
+        }
+    }
+
+    /**
+     * 이동 결과를 전송합니다.
+     * 델타 모드에서는 색상별 델타를 보내고, 델타를 만들 수 없는 쪽(게임 종료 등)에는 전체 상태를 보냅니다.
+     */
+    public void broadcastMove(String roomId, String message) {
+        if (!deltaEnabled) {
+            broadcast(roomId, message);
+            return;
+        }
+
+        synchronized (lockOf(roomId)) {
+            // 아직 보내지 않은 변경이 있으면 델타만으로는 따라올 수 없으므로 전체 상태를 보낸다
+            if (pending.containsKey(roomId)) {
+                broadcast(roomId, message);
+                return;
+            }
+
+            // 투영과 양쪽 델타를 한 시점에서 만들어, 그 사이 다음 수가 들어와도 한 번의 전송에 두 버전이 섞이지 않게 한다
+            GameService.MoveSnapshot snapshot = gameService.getMoveSnapshot(roomId);
+            if (snapshot == null) {
+                return;
+            }
+
+            RoomProjection projection = snapshot.getProjection();
+            for (PlayerColor color : COLORS) {
+                String playerId = color == PlayerColor.RED ? projection.getRedPlayer() : projection.getBluePlayer();
+                if (playerId == null) {
+                    continue;
+                }
+                // 바이너리 프레임은 전체 상태도 100 바이트 이하이므로 델타를 따로 만들지 않는다
+                sendBinary(projection, color);
+                GameDeltaResponse delta = snapshot.getDeltas().get(color);
+                if (delta == null) {
+                    send(topic(roomId, color), render(projection, color, message), STATE);
+                    continue;
+                }
+                delta.setMessage(message);
+                send(topic(roomId, color), toJson(delta), DELTA);
+            }
+            sendSpectators(projection, message);
+        }
+    }
+
+    /**
+     * 한 플레이어의 색상 토픽으로만 전체 상태를 보냅니다.
+     */
+    public void sendState(String roomId, PlayerColor color, String message) {
+        if (color == null) {
+            return;
+        }
+
+        synchronized (lockOf(roomId)) {
+            RoomProjection projection = gameService.getProjection(roomId);
+            if (projection != null) {
+                send(topic(roomId, color), render(projection, color, message), STATE);
+                sendBinary(projection, color);
+            }
+        }
+    }
+
+    /**
+     * 사용자 전용 대상(/user/{playerId}/...)으로 전체 상태를 보냅니다.
+     */
+    public void sendToUser(String playerId, String destination, byte[] frame) {
+        String user = playerId.replace("/", "%2F");
+        send(messagingTemplate.getUserDestinationPrefix() + user + destination, frame, USER);
+    }
+
+    /**
+     * 사용자 전용 대상으로 임의의 객체를 JSON 으로 보냅니다.
+     */
+    public void sendToUser(String playerId, String destination, Object payload) {
+        sendToUser(playerId, destination, toJson(payload));
+    }
+
+    private void sendBinary(RoomProjection projection, PlayerColor color) {
+        if (binaryEnabled) {
+            byte[] frame = projection.frame("bin|" + color, () -> BoardCodec.encodeView(projection, color));
+            send(topic(projection.getRoomId(), color) + ".bin", frame, MimeTypeUtils.APPLICATION_OCTET_STREAM, BINARY);
+        }
+    }
+
+    private void send(String destination, byte[] frame, String kind) {
+        send(destination, frame, MimeTypeUtils.APPLICATION_JSON, kind);
+    }
+
+    private void send(String destination, byte[] frame, MimeType contentType, String kind) {
+        metrics.recordBroadcast(kind, frame.length);
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create();
+        accessor.setHeader(MessageHeaders.CONTENT_TYPE, contentType);
+        accessor.setLeaveMutable(true);
+        messagingTemplate.send(destination, MessageBuilder.createMessage(frame, accessor.getMessageHeaders()));
+    }
+
+    private static String topic(String roomId, PlayerColor color) {
+        return "/topic/game." + roomId + "." + color;
+    }
+
+    private byte[] toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize " + value.getClass().getSimpleName(), e);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.board.game.service;
+
+import com.board.game.model.GameRoom;
+import com.board.game.model.GameStatus;
+import com.board.game.model.PieceType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 게임 서버 지표. /actuator/prometheus 로 수집합니다.
+ *
+ * - game.rooms{status}: 상태별 방 수
+ * - game.move{outcome, source}: 이동 적용부터 브로드캐스트까지 걸린 시간 (applied, rejected / player, bot). 봇의 탐색 시간은 넣지 않는다
+ * - game.battles{rules, attacker, defender, result}: 말 타입 쌍별 전투 수 (win, lose, draw 는 공격자 기준)
+ * - game.broadcast.payload{kind}: 보낸 프레임 크기와 수 (state, delta, binary, user, spectate)
+ * - game.matchmaking.wait: 방이 생긴 뒤 두 번째 플레이어가 앉을 때까지 걸린 시간
+ */
+@Component
+public class GameMetrics {
+
+    private static final PieceType[] TYPES = PieceType.values();
+
+    private final MeterRegistry registry;
+    private final Timer movesApplied;
+    private final Timer movesRejected;
+    private final Timer botMovesApplied;
+    private final Timer botMovesRejected;
+    private final Timer matchmakingWait;
+    private final Map<String, DistributionSummary> payloads = new ConcurrentHashMap<>();
+
+    // 규칙 버전 -> 공격자 x 방어자 카운터. 태그 조회 없이 배열로 찾는다
+    private final Map<String, Counter[]> battles = new ConcurrentHashMap<>();
+
+    public GameMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.movesApplied = moveTimer("applied", "player");
+        this.movesRejected = moveTimer("rejected", "player");
+        this.botMovesApplied = moveTimer("applied", "bot");
+        this.botMovesRejected = moveTimer("rejected", "bot");
+        this.matchmakingWait = Timer.builder("game.matchmaking.wait")
+                .description("Time from room creation until the second seat is taken")
+                .publishPercentileHistogram()
+                .maximumExpectedValue(Duration.ofMinutes(5))
+                .register(registry);
+    }
+
+    /**
+     * 아무 곳에도 내보내지 않는 지표. Spring 밖에서 서비스를 만들 때 씁니다.
+     */
+    public static GameMetrics disabled() {
+        return new GameMetrics(new CompositeMeterRegistry());
+    }
+
+    private Timer moveTimer(String outcome, String source) {
+        return Timer.builder("game.move")
+                .description("Move apply-and-broadcast latency")
+                .tag("outcome", outcome)
+                .tag("source", source)
+                .publishPercentileHistogram()
+                .maximumExpectedValue(Duration.ofSeconds(5))
+                .register(registry);
+    }
+
+    /**
+     * 상태별 방 수 게이지를 등록합니다. 수집할 때마다 rooms 를 한 번씩 훑습니다.
+     */
+    public void bindRooms(Collection<GameRoom> rooms) {
+        for (GameStatus status : GameStatus.values()) {
+            Gauge.builder("game.rooms", rooms, all -> count(all, status))
+                    .description("Live rooms by status")
+                    .tag("status", status.name())
+                    .register(registry);
+        }
+    }
+
+    private static double count(Collection<GameRoom> rooms, GameStatus status) {
+        int count = 0;
+        for (GameRoom room : rooms) {
+            if (room.getStatus() == status) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public Timer.Sample startMove() {
+        return Timer.start(registry);
+    }
+
+    public void stopMove(Timer.Sample sample, boolean applied) {
+        sample.stop(applied ? movesApplied : movesRejected);
+    }
+
+    public void stopBotMove(Timer.Sample sample, boolean applied) {
+        sample.stop(applied ? botMovesApplied : botMovesRejected);
+    }
+
+    /**
+     * 전투 한 번. result 는 BattleRuleSet.resolveBattle 과 같은 부호입니다 (양수면 공격자 승).
+     */
+    public void recordBattle(String rules, PieceType attacker, PieceType defender, int result) {
+        Counter[] counters = battles.computeIfAbsent(rules, version -> new Counter[TYPES.length * TYPES.length]);
+        int index = attacker.ordinal() * TYPES.length + defender.ordinal();
+        Counter counter = counters[index];
+        if (counter == null) {
+            counter = Counter.builder("game.battles")
+                    .description("Battles by piece type pair")
+                    .tag("rules", rules)
+                    .tag("attacker", attacker.name())
+                    .tag("defender", defender.name())
+                    .tag("result", result > 0 ? "win" : result < 0 ? "lose" : "draw")
+                    .register(registry);
+            counters[index] = counter;
+        }
+        counter.increment();
+    }
+
+    public void recordBroadcast(String kind, int bytes) {
+        payloads.computeIfAbsent(kind, k -> DistributionSummary.builder("game.broadcast.payload")
+                        .description("Broadcast frame sizes")
+                        .baseUnit("bytes")
+                        .tag("kind", k)
+                        .publishPercentileHistogram()
+                        .minimumExpectedValue(64.0)
+                        .maximumExpectedValue(65536.0)
+                        .register(registry))
+                .record(bytes);
+    }
+
+    public void recordMatchmakingWait(Duration wait) {
+        matchmakingWait.record(wait);
+    }
+}
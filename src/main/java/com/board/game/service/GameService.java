@@ -1,12 +1,29 @@
 package com.board.game.service;
 
+import com.board.game.config.RoomRouter;
+import com.board.game.dto.GameDeltaResponse;
 import com.board.game.dto.GameStateResponse;
 import com.board.game.model.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 @Service
 @Slf4j
@@ -14,34 +31,368 @@ public class GameService {
 
     private final Map<String, GameRoom> rooms = new ConcurrentHashMap<>();
     private final BattleRuleService battleRuleService;
+    private final RoomJournal journal;
+    private final GameMetrics metrics;
+
+    // 재시작 복구 중에는 다시 적용하는 명령을 로그에 또 기록하지 않는다
+    private volatile boolean recovering;
+
+    // 방별 단일 작성자 메일박스. GameRoom/Board 변경과 조회는 모두 해당 방의 메일박스에서 실행한다.
+    private final Map<String, RoomMailbox> mailboxes = new ConcurrentHashMap<>();
+    private final ExecutorService roomWorkers;
+
+    // 대기 방의 빈 좌석마다 한 번씩 들어가는 매칭 큐 (빈 방은 두 번)
+    private final Queue<GameRoom> waitingSeats = new ConcurrentLinkedQueue<>();
+
+    private enum JoinResult { JOINED, ALREADY_JOINED, CLOSED }
+
+    private static final int DEFAULT_MAX_LIVE_ROOMS = 5000;
+    private static final int DEFAULT_REPETITION_LIMIT = 3;
+
+    /** 동시에 유지할 수 있는 최대 방 수 */
+    @Value("${game.rooms.max-live:" + DEFAULT_MAX_LIVE_ROOMS + "}")
+    private int maxLiveRooms = DEFAULT_MAX_LIVE_ROOMS;
+
+    /** 여러 노드로 운영할 때 방 ID 앞에 붙는 이 노드의 ID (RoomRouter 참고) */
+    @Value("${game.cluster.node-id:}")
+    private String nodeId = "";
+
+    /** 같은 위치가 이 횟수만큼 나오면 무승부로 끝낸다. 0 이면 끄기. 횟수는 저널 스냅샷에 남아 재시작 후에도 이어진다 */
+    @Value("${game.rules.repetition-limit:" + DEFAULT_REPETITION_LIMIT + "}")
+    private int repetitionLimit = DEFAULT_REPETITION_LIMIT;
+
+    private final AtomicInteger liveRooms = new AtomicInteger();
+    private final AtomicLong rejectedRooms = new AtomicLong();
 
     public GameService(BattleRuleService battleRuleService) {
+        this(battleRuleService, new RoomJournal());
+    }
+
+    public GameService(BattleRuleService battleRuleService, RoomJournal journal) {
+        this(battleRuleService, journal, GameMetrics.disabled());
+    }
+
+    @Autowired
+    public GameService(BattleRuleService battleRuleService, RoomJournal journal, GameMetrics metrics) {
         this.battleRuleService = battleRuleService;
+        this.journal = journal;
+        this.metrics = metrics;
+        metrics.bindRooms(rooms.values());
+        this.roomWorkers = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), roomThreadFactory());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        roomWorkers.shutdown();
+    }
+
+    private static ThreadFactory roomThreadFactory() {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "room-worker-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * 방의 메일박스에서 명령을 실행하고 결과를 기다립니다.
+     * 이미 제거된 방이면 명령을 실행하지 않고 null 을 반환합니다.
+     */
+    private <T> T inRoom(GameRoom room, Supplier<T> command) {
+        RoomMailbox mailbox = mailboxes.get(room.getRoomId());
+        if (mailbox == null) {
+            // 남아 있는 참조로 들어온 명령. 메일박스 밖에서 방을 건드리지 않도록 거절한다
+            log.debug("Rejected command for removed room {}", room.getRoomId());
+            return null;
+        }
+        return mailbox.call(command);
+    }
+
+    private void record(GameRoom room, RoomEvent event) {
+        if (!recovering) {
+            journal.append(room, event);
+        }
+    }
+
+    private boolean addPlayer(GameRoom room, String playerId) {
+        if (!room.addPlayer(playerId)) {
+            return false;
+        }
+        room.nextVersion();
+        record(room, RoomEvent.joined(playerId));
+        if (room.isFull() && !recovering) {
+            metrics.recordMatchmakingWait(Duration.ofMillis(System.currentTimeMillis() - room.getCreatedAt().getTime()));
+        }
+        return true;
+    }
+
+    private boolean removePlayer(GameRoom room, String playerId) {
+        PlayerColor color = room.getPlayerColor(playerId);
+        if (!room.removePlayer(playerId)) {
+            return false;
+        }
+        room.nextVersion();
+        record(room, RoomEvent.left(color));
+        return true;
+    }
+
+    /**
+     * 플레이어 명령을 메일박스에서 실행하고 방의 마지막 활동 시각을 갱신합니다.
+     */
+    private <T> T updateRoom(GameRoom room, Supplier<T> command) {
+        return inRoom(room, () -> {
+            room.touch();
+            return command.get();
+        });
+    }
+
+    /**
+     * 성공 여부를 돌려주는 플레이어 명령을 실행합니다. 방이 이미 제거되었으면 false 입니다.
+     */
+    private boolean updateRoomIf(GameRoom room, Supplier<Boolean> command) {
+        return Boolean.TRUE.equals(updateRoom(room, command));
     }
 
     public String createRoom() {
+        GameRoom room = registerRoom(battleRuleService.assignRuleSet());
+        if (room == null) {
+            return null;
+        }
+        offerOpenSeats(room);
+        return room.getRoomId();
+    }
+
+    public String createRoom(String playerId) {
+        return createRoom(playerId, null);
+    }
+
+    /**
+     * 지정한 규칙 버전으로 방을 만듭니다. 버전이 null 이면 기본 배정 규칙을 사용하고,
+     * 존재하지 않는 버전이면 null 을 반환합니다.
+     */
+    public String createRoom(String playerId, String ruleVersion) {
+        if (isReserved(playerId)) {
+            return null;
+        }
+
+        BattleRuleSet ruleSet = ruleVersion != null
+                ? battleRuleService.getRuleSet(ruleVersion)
+                : battleRuleService.assignRuleSet();
+        if (ruleSet == null) {
+            log.warn("Unknown rule version: {}", ruleVersion);
+            return null;
+        }
+
+        GameRoom room = registerRoom(ruleSet);
+        if (room == null) {
+            return null;
+        }
+        joinRoom(room.getRoomId(), playerId);
+        offerOpenSeats(room);
+        return room.getRoomId();
+    }
+
+    private GameRoom registerRoom(BattleRuleSet ruleSet) {
+        if (liveRooms.incrementAndGet() > maxLiveRooms) {
+            liveRooms.decrementAndGet();
+            rejectedRooms.incrementAndGet();
+            log.warn("Room limit {} reached, rejecting new room", maxLiveRooms);
+            return null;
+        }
+
         String roomId = UUID.randomUUID().toString().substring(0, 8);
+        if (!nodeId.isBlank()) {
+            roomId = nodeId + RoomRouter.NODE_SEPARATOR + roomId;
+        }
         GameRoom room = new GameRoom(roomId);
+        room.getBoard().setRuleSet(ruleSet);
         room.getBoard().setBattleRuleService(battleRuleService);
+        record(room, RoomEvent.created(ruleSet.getVersion()));
+        mailboxes.put(roomId, new RoomMailbox(roomWorkers));
         rooms.put(roomId, room);
-        log.info("Created room: {}", roomId);
-        return roomId;
+        log.info("Created room: {} (rules {})", roomId, ruleSet.getVersion());
+        return room;
     }
 
-    public String createRoom(String playerId) {
-        String roomId = createRoom();
-        joinRoom(roomId, playerId);
-        return roomId;
+    private void discardRoom(GameRoom room) {
+        if (rooms.remove(room.getRoomId(), room)) {
+            mailboxes.remove(room.getRoomId());
+            liveRooms.decrementAndGet();
+            journal.discard(room);
+        }
+    }
+
+    /**
+     * 이벤트 로그가 켜져 있으면 디스크에 남은 방을 스냅샷과 이후 이벤트로 다시 만듭니다.
+     */
+    @PostConstruct
+    public void recoverRooms() {
+        if (!journal.isEnabled()) {
+            return;
+        }
+
+        recovering = true;
+        int recovered = 0;
+        try {
+            for (RoomJournal.RecoveredRoom saved : journal.recover()) {
+                GameRoom room = recover(saved);
+                if (room == null) {
+                    continue;
+                }
+                liveRooms.incrementAndGet();
+                mailboxes.put(room.getRoomId(), new RoomMailbox(roomWorkers));
+                rooms.put(room.getRoomId(), room);
+                if (room.getStatus() == GameStatus.WAITING) {
+                    offerOpenSeats(room);
+                }
+                recovered++;
+            }
+        } finally {
+            recovering = false;
+        }
+        log.info("Recovered {} rooms from the journal", recovered);
+    }
+
+    private GameRoom recover(RoomJournal.RecoveredRoom saved) {
+        List<RoomEvent> events = saved.getEvents();
+        GameRoom room = saved.getRoom();
+        String ruleVersion = saved.getRuleVersion();
+        int next = 0;
+        if (room == null) {
+            room = new GameRoom(saved.getRoomId());
+            ruleVersion = events.get(next++).getText();
+        }
+
+        BattleRuleSet ruleSet = battleRuleService.getRuleSet(ruleVersion);
+        if (ruleSet == null) {
+            log.warn("Cannot recover room {}: rule version {} is no longer loaded", saved.getRoomId(), ruleVersion);
+            return null;
+        }
+        room.getBoard().setRuleSet(ruleSet);
+        room.getBoard().setBattleRuleService(battleRuleService);
+
+        for (; next < events.size(); next++) {
+            replay(room, events.get(next));
+        }
+        room.touch();
+        return room;
+    }
+
+    private void replay(GameRoom room, RoomEvent event) {
+        String playerId = event.getColor() == PlayerColor.RED ? room.getRedPlayer()
+                : event.getColor() == PlayerColor.BLUE ? room.getBluePlayer() : null;
+
+        switch (event.getType()) {
+            case JOIN -> addPlayer(room, event.getText());
+            case PLACE -> {
+                if (playerId != null) {
+                    Position position = event.getCell() != BoardCells.NONE ? BoardCells.positionOf(event.getCell()) : null;
+                    placePiece(room, playerId, event.getText(), position);
+                }
+            }
+            case READY -> {
+                if (playerId != null) {
+                    setPlayerReady(room, playerId);
+                }
+            }
+            case MOVE -> applyMove(room, BoardCells.positionOf(event.getCell()), BoardCells.positionOf(event.getToCell()));
+            case LEAVE -> {
+                if (playerId != null) {
+                    removePlayer(room, playerId);
+                }
+            }
+            case CREATE -> log.warn("Unexpected create event in the journal of room {}", room.getRoomId());
+        }
+    }
+
+    /**
+     * 조건을 만족하면 방을 종료하고 레지스트리에서 제거합니다.
+     * 조건은 방의 메일박스 안에서 평가하므로 그 사이 들어온 명령과 겹치지 않는다.
+     */
+    public boolean evictRoom(GameRoom room, Predicate<GameRoom> condition) {
+        boolean evict = Boolean.TRUE.equals(inRoom(room, () -> {
+            if (rooms.get(room.getRoomId()) != room || !condition.test(room)) {
+                return false;
+            }
+            room.setStatus(GameStatus.FINISHED);
+            room.nextVersion();
+            return true;
+        }));
+
+        if (evict) {
+            discardRoom(room);
+            waitingSeats.removeIf(waiting -> waiting == room);
+            log.info("Evicted room {}", room.getRoomId());
+        }
+        return evict;
+    }
+
+    public Collection<GameRoom> getRooms() {
+        return Collections.unmodifiableCollection(rooms.values());
+    }
+
+    public int getLiveRoomCount() {
+        return liveRooms.get();
+    }
+
+    public int getMaxLiveRooms() {
+        return maxLiveRooms;
+    }
+
+    public long getRejectedRoomCount() {
+        return rejectedRooms.get();
+    }
+
+    /**
+     * 빈 좌석 수만큼 대기 큐에 방을 넣습니다.
+     */
+    private void offerOpenSeats(GameRoom room) {
+        Integer openSeats = inRoom(room, () -> (room.getRedPlayer() == null ? 1 : 0) + (room.getBluePlayer() == null ? 1 : 0));
+        for (int i = 0; openSeats != null && i < openSeats; i++) {
+            waitingSeats.offer(room);
+        }
+    }
+
+    /**
+     * 대기 큐에서 꺼낸 방이 아직 참가 가능한지 확인합니다.
+     * 큐는 좌석이 찬 방이나 종료된 방을 즉시 지우지 않으므로 꺼낼 때 걸러낸다.
+     */
+    private boolean isOpen(GameRoom room) {
+        return rooms.get(room.getRoomId()) == room && room.getStatus() == GameStatus.WAITING && !room.isFull();
     }
 
     public GameRoom joinRoom(String roomId, String playerId) {
+        if (isReserved(playerId)) {
+            return null;
+        }
+        return seat(roomId, playerId);
+    }
+
+    /**
+     * 봇을 빈 좌석에 앉힙니다. 봇 ID 접두사는 사람 참가 경로에서 거절하므로 봇은 이 경로로만 앉습니다.
+     */
+    GameRoom seatBot(String roomId, String botId) {
+        return seat(roomId, botId);
+    }
+
+    // 사람이 봇 ID 로 들어오면 봇 상대를 받지 못하고, 사람끼리 만나면 서버가 대신 두게 된다
+    private static boolean isReserved(String playerId) {
+        if (GameBot.isBot(playerId)) {
+            log.warn("Player id {} is reserved for bots", playerId);
+            return true;
+        }
+        return false;
+    }
+
+    private GameRoom seat(String roomId, String playerId) {
         GameRoom room = rooms.get(roomId);
         if (room == null) {
             log.warn("Room not found: {}", roomId);
             return null;
         }
 
-        if (room.addPlayer(playerId)) {
+        if (updateRoomIf(room, () -> addPlayer(room, playerId))) {
             log.info("Player {} joined room {}", playerId, roomId);
             return room;
         }
@@ -50,27 +401,84 @@ public class GameService {
         return null;
     }
 
+    /**
+     * 대기 중인 방에 참가하거나, 없으면 새 방을 만들어 대기합니다.
+     *
+     * 좌석은 방의 메일박스 안에서만 채워지므로 마지막 좌석을 두 명이 동시에 얻을 수 없다.
+     * 대기 방이 없어 두 명이 동시에 새 방을 만든 경우, 큐의 맨 앞이 아닌 쪽이 자기 방을 거두고
+     * 앞의 방에 참가하므로 반쯤 빈 방 두 개로 갈라지지 않는다.
+     */
     public GameRoom findOrCreateRoom(String playerId) {
-        // Find waiting room
-        Optional<GameRoom> waitingRoom = rooms.values().stream()
-                .filter(room -> room.getStatus() == GameStatus.WAITING && !room.isFull())
-                .findFirst();
-
-        if (waitingRoom.isPresent()) {
-            GameRoom room = waitingRoom.get();
-            room.addPlayer(playerId);
-            log.info("Player {} joined existing room {}", playerId, room.getRoomId());
-            return room;
+        if (isReserved(playerId)) {
+            return null;
         }
 
-        // Create new room
-        String roomId = createRoom();
-        return joinRoom(roomId, playerId);
+        while (true) {
+            GameRoom waitingRoom;
+            while ((waitingRoom = waitingSeats.poll()) != null) {
+                GameRoom room = waitingRoom;
+                JoinResult result = updateRoom(room, () -> {
+                    if (playerId.equals(room.getRedPlayer()) || playerId.equals(room.getBluePlayer())) {
+                        return JoinResult.ALREADY_JOINED;
+                    }
+                    return isOpen(room) && addPlayer(room, playerId) ? JoinResult.JOINED : JoinResult.CLOSED;
+                });
+
+                if (result == JoinResult.ALREADY_JOINED) {
+                    // 자기 방의 좌석을 꺼낸 경우 다시 돌려놓는다
+                    if (isOpen(room)) {
+                        waitingSeats.offer(room);
+                    }
+                    return room;
+                }
+                if (result == JoinResult.JOINED) {
+                    log.info("Player {} joined existing room {}", playerId, room.getRoomId());
+                    return room;
+                }
+            }
+
+            // Create new room
+            GameRoom room = registerRoom(battleRuleService.assignRuleSet());
+            if (room == null) {
+                return null;
+            }
+            updateRoom(room, () -> addPlayer(room, playerId));
+            waitingSeats.offer(room);
+
+            GameRoom head = waitingSeats.peek();
+            if (head == null || head == room || !waitingSeats.remove(room)) {
+                log.info("Player {} is waiting in new room {}", playerId, room.getRoomId());
+                return room;
+            }
+
+            // 다른 대기 방이 동시에 생겼다. 아무도 들어오지 않았다면 이 방을 거두고 다시 매칭한다.
+            Boolean withdrawn = inRoom(room, () -> {
+                if (room.isFull()) {
+                    return false;
+                }
+                room.setStatus(GameStatus.FINISHED);
+                return true;
+            });
+            if (Boolean.FALSE.equals(withdrawn)) {
+                return room;
+            }
+            // null 이면 그 사이 제거된 방이므로 다시 매칭한다
+            discardRoom(room);
+        }
     }
 
     public boolean movePiece(String roomId, String playerId, Position from, Position to) {
         GameRoom room = rooms.get(roomId);
-        if (room == null || room.getStatus() != GameStatus.PLAYING) {
+        if (room == null) {
+            return false;
+        }
+
+        return updateRoomIf(room, () -> movePiece(room, playerId, from, to));
+    }
+
+    private boolean movePiece(GameRoom room, String playerId, Position from, Position to) {
+        String roomId = room.getRoomId();
+        if (room.getStatus() != GameStatus.PLAYING) {
             return false;
         }
 
@@ -80,20 +488,74 @@ public class GameService {
             return false;
         }
 
+        return applyMove(room, from, to);
+    }
+
+    /**
+     * 차례 검사를 마친 이동을 보드에 적용합니다.
+     */
+    private boolean applyMove(GameRoom room, Position from, Position to) {
+        String roomId = room.getRoomId();
+        Piece attacker = room.getBoard().getPieceAt(from);
+        Piece defender = room.getBoard().getPieceAt(to);
         boolean moved = room.getBoard().movePiece(from, to);
         if (moved) {
             log.info("Piece moved in room {}: {} -> {}", roomId, from, to);
+            room.setLastMove(new MoveRecord(room.nextVersion(), attacker, defender));
+            BattleRuleSet ruleSet = room.getBoard().getRuleSet();
+            if (defender != null && ruleSet != null && !recovering) {
+                // 공격자 기준: 방어자만 잡히면 승, 공격자만 잡히면 패, 둘 다 잡히면 무승부
+                int result = Boolean.compare(defender.isCaptured(), attacker.isCaptured());
+                metrics.recordBattle(ruleSet.getVersion(), attacker.getType(), defender.getType(), result);
+            }
 
             // Check game over
             if (room.getBoard().isGameOver()) {
                 room.setStatus(GameStatus.FINISHED);
                 log.info("Game over in room {}. Winner: {}", roomId, room.getBoard().getWinner());
+            } else if (repetitionLimit > 0 && room.countPosition() >= repetitionLimit) {
+                // 같은 위치 반복: 승자 없이 종료
+                room.setStatus(GameStatus.FINISHED);
+                log.info("Game drawn by repetition in room {}", roomId);
             }
+            // 스냅샷이 반복 횟수와 종료 상태까지 담도록 판정을 끝낸 뒤 기록한다
+            record(room, RoomEvent.moved(BoardCells.indexOf(from), BoardCells.indexOf(to)));
         }
 
         return moved;
     }
 
+    /**
+     * 플레이어 자신의 말이 현재 이동할 수 있는 칸 목록을 반환합니다.
+     * 방이나 말을 찾을 수 없으면 null 을 반환합니다.
+     */
+    public List<Position> getLegalMoves(String roomId, String playerId, String pieceId) {
+        GameRoom room = rooms.get(roomId);
+        if (room == null) {
+            return null;
+        }
+
+        return inRoom(room, () -> getLegalMoves(room, playerId, pieceId));
+    }
+
+    private List<Position> getLegalMoves(GameRoom room, String playerId, String pieceId) {
+        PlayerColor playerColor = room.getPlayerColor(playerId);
+        if (playerColor == null) {
+            return null;
+        }
+
+        Piece piece = room.getBoard().findPiece(pieceId);
+        if (piece == null || piece.getColor() != playerColor) {
+            return null;
+        }
+
+        if (room.getStatus() != GameStatus.PLAYING || piece.isCaptured()) {
+            return List.of();
+        }
+
+        return room.getBoard().getLegalMoves(piece.getPosition());
+    }
+
     public GameStateResponse getGameState(String roomId) {
         return getGameState(roomId, null);
     }
@@ -104,68 +566,121 @@ public class GameService {
             return null;
         }
 
+        return inRoom(room, () -> getGameState(room, playerId));
+    }
+
+    private GameStateResponse getGameState(GameRoom room, String playerId) {
         PlayerColor playerColor = playerId != null ? room.getPlayerColor(playerId) : null;
+        return toGameState(room.getProjection(), playerColor);
+    }
 
-        GameStateResponse response = new GameStateResponse();
-        response.setRoomId(roomId);
-        response.setCurrentTurn(room.getBoard().getCurrentTurn());
-        response.setStatus(room.getStatus());
-        response.setWinner(room.getBoard().getWinner());
-        response.setRedPlayerReady(room.isRedPlayerReady());
-        response.setBluePlayerReady(room.isBluePlayerReady());
-        response.setRedPlayer(room.getRedPlayer());
-        response.setBluePlayer(room.getBluePlayer());
-
-        if (playerId != null) {
-            response.setPlayerColor(playerColor);
-        }
-
-        // Filter pieces based on game status
-        List<Piece> pieces = room.getBoard().getPieces();
-        if (room.getStatus() == GameStatus.SETUP && playerColor != null) {
-            // During SETUP: Only show own pieces
-            List<Piece> filteredPieces = pieces.stream()
-                    .filter(p -> p.getColor() == playerColor)
-                    .toList();
-            response.setPieces(filteredPieces);
-        } else if (room.getStatus() == GameStatus.PLAYING && playerColor != null) {
-            // During PLAYING: Hide opponent piece types (unless revealed by scout)
-            List<Piece> maskedPieces = pieces.stream()
-                    .map(p -> {
-                        if (p.getColor() != playerColor && !p.isCaptured()) {
-                            // Show revealed pieces, hide others
-                            if (p.isRevealed()) {
-                                // Show revealed piece with full info - create explicit copy
-                                log.debug("Player {} sees revealed opponent piece: {} ({})",
-                                    playerId, p.getId(), p.getType().getKoreanName());
-                                Piece revealed = new Piece(p.getId(), p.getColor(), p.getType(), p.getPosition());
-                                revealed.setCaptured(false);
-                                revealed.setRevealed(true);
-                                return revealed;
-                            } else {
-                                // Create a copy with hidden type for opponent pieces
-                                Piece masked = new Piece(p.getId(), p.getColor(), null, p.getPosition());
-                                masked.setCaptured(false);
-                                masked.setRevealed(false);
-                                return masked;
-                            }
-                        }
-                        // Player's own pieces - return as is
-                        return p;
-                    })
-                    .toList();
-            response.setPieces(maskedPieces);
-        } else {
-            response.setPieces(pieces);
+    /**
+     * 방의 현재 버전 투영을 반환합니다. 방이 없으면 null 을 반환합니다.
+     */
+    public RoomProjection getProjection(String roomId) {
+        GameRoom room = rooms.get(roomId);
+        if (room == null) {
+            return null;
         }
 
+        return inRoom(room, room::getProjection);
+    }
+
+    /**
+     * 투영으로부터 보는 쪽의 게임 상태를 만듭니다.
+     * 말 목록은 같은 버전의 모든 응답이 공유하고, 응답 객체만 새로 만듭니다.
+     *
+     * @param viewer 보는 플레이어의 색상. null 이면 관전자 화면
+     */
+    public GameStateResponse toGameState(RoomProjection projection, PlayerColor viewer) {
+        GameStateResponse response = new GameStateResponse();
+        response.setRoomId(projection.getRoomId());
+        response.setCurrentTurn(projection.getCurrentTurn());
+        response.setStatus(projection.getStatus());
+        response.setWinner(projection.getWinner());
+        response.setRedPlayerReady(projection.isRedPlayerReady());
+        response.setBluePlayerReady(projection.isBluePlayerReady());
+        response.setRedPlayer(projection.getRedPlayer());
+        response.setBluePlayer(projection.getBluePlayer());
+        response.setRuleVersion(projection.getRuleVersion());
+        response.setSeq(projection.getVersion());
+        response.setPlayerColor(viewer);
+        response.setPieces(projection.piecesFor(viewer));
         return response;
     }
 
+    /**
+     * 마지막 이동으로 바뀐 말만 담은 플레이어별 델타를 반환합니다.
+     * 마지막 변경이 이동이 아니었거나 게임이 끝나 전체 공개가 필요하면 null 을 반환하므로,
+     * 호출하는 쪽은 전체 상태를 보내야 합니다.
+     */
+    public GameDeltaResponse getGameDelta(String roomId, String playerId) {
+        GameRoom room = rooms.get(roomId);
+        if (room == null) {
+            return null;
+        }
+
+        return inRoom(room, () -> {
+            PlayerColor playerColor = room.getPlayerColor(playerId);
+            return playerColor == null ? null : toGameDelta(room, room.getProjection(), playerColor);
+        });
+    }
+
+    /**
+     * 이동을 보낼 때 쓰는 방의 한 시점을 반환합니다. 방이 없으면 null 을 반환합니다.
+     * 투영과 앉아 있는 색상별 델타를 한 메일박스 명령에서 만들므로, 그 사이 다음 수가 들어와도 서로 다른 버전이 섞이지 않습니다.
+     */
+    MoveSnapshot getMoveSnapshot(String roomId) {
+        GameRoom room = rooms.get(roomId);
+        if (room == null) {
+            return null;
+        }
+
+        return inRoom(room, () -> {
+            RoomProjection projection = room.getProjection();
+            Map<PlayerColor, GameDeltaResponse> deltas = new EnumMap<>(PlayerColor.class);
+            for (PlayerColor color : PlayerColor.values()) {
+                String playerId = color == PlayerColor.RED ? projection.getRedPlayer() : projection.getBluePlayer();
+                GameDeltaResponse delta = playerId != null ? toGameDelta(room, projection, color) : null;
+                if (delta != null) {
+                    deltas.put(color, delta);
+                }
+            }
+            return new MoveSnapshot(projection, deltas);
+        });
+    }
+
+    // 메일박스 안에서만 부른다. projection 은 room 의 현재 버전 투영이어야 한다
+    private GameDeltaResponse toGameDelta(GameRoom room, RoomProjection projection, PlayerColor viewer) {
+        MoveRecord lastMove = room.getLastMove();
+        if (lastMove == null || lastMove.getSeq() != projection.getVersion()
+                || projection.getStatus() != GameStatus.PLAYING) {
+            return null;
+        }
+
+        List<Piece> changed = new ArrayList<>(2);
+        for (Piece p : projection.piecesFor(viewer)) {
+            if (p.getId().equals(lastMove.getAttacker().getId())
+                    || (lastMove.getDefender() != null && p.getId().equals(lastMove.getDefender().getId()))) {
+                changed.add(p);
+            }
+        }
+
+        GameDeltaResponse delta = new GameDeltaResponse();
+        delta.setRoomId(projection.getRoomId());
+        delta.setSeq(lastMove.getSeq());
+        delta.setBaseSeq(lastMove.getSeq() - 1);
+        delta.setPieces(changed);
+        delta.setCurrentTurn(projection.getCurrentTurn());
+        delta.setStatus(projection.getStatus());
+        delta.setWinner(projection.getWinner());
+        return delta;
+    }
+
     public void leaveRoom(String roomId, String playerId) {
         GameRoom room = rooms.get(roomId);
         if (room != null) {
-            room.removePlayer(playerId);
+            updateRoom(room, () -> removePlayer(room, playerId));
             log.info("Player {} left room {}", playerId, roomId);
         }
     }
@@ -174,10 +689,23 @@ public class GameService {
         return rooms.get(roomId);
     }
 
+    /**
+     * 방 메일박스 안에서 플레이어의 색상을 읽습니다. 방이 없거나(이미 회수됨) 플레이어가 앉아 있지 않으면 null 입니다.
+     */
+    public PlayerColor getPlayerColor(String roomId, String playerId) {
+        GameRoom room = rooms.get(roomId);
+        if (room == null || playerId == null) {
+            return null;
+        }
+
+        return inRoom(room, () -> room.getPlayerColor(playerId));
+    }
+
     public List<String> getAvailableRooms() {
-        return rooms.values().stream()
-                .filter(room -> room.getStatus() == GameStatus.WAITING && !room.isFull())
+        return waitingSeats.stream()
+                .filter(this::isOpen)
                 .map(GameRoom::getRoomId)
+                .distinct()
                 .toList();
     }
 
@@ -197,7 +725,16 @@ public class GameService {
 
     public boolean placePiece(String roomId, String playerId, String pieceId, Position position) {
         GameRoom room = rooms.get(roomId);
-        if (room == null || room.getStatus() != GameStatus.SETUP) {
+        if (room == null) {
+            return false;
+        }
+
+        return updateRoomIf(room, () -> placePiece(room, playerId, pieceId, position));
+    }
+
+    private boolean placePiece(GameRoom room, String playerId, String pieceId, Position position) {
+        String roomId = room.getRoomId();
+        if (room.getStatus() != GameStatus.SETUP) {
             return false;
         }
 
@@ -208,31 +745,15 @@ public class GameService {
 
         // If position is null, return piece to inventory
         if (position == null) {
-            Piece piece = room.getBoard().getPieces().stream()
-                    .filter(p -> p.getId().equals(pieceId))
-                    .findFirst()
-                    .orElse(null);
-
-            if (piece == null) {
-                // Get from initial pieces
-                List<Piece> initialPieces = room.getBoard().getInitialPieces(playerColor);
-                piece = initialPieces.stream()
-                        .filter(p -> p.getId().equals(pieceId))
-                        .findFirst()
-                        .orElse(null);
-
-                if (piece != null) {
-                    room.getBoard().getPieces().add(piece);
-                }
+            if (room.getBoard().claimInitialPiece(pieceId, playerColor) == null) {
+                return false;
             }
 
-            if (piece != null) {
-                piece.setPosition(null);
-                log.info("Piece {} returned to inventory in room {}", pieceId, roomId);
-                return true;
-            }
-
-            return false;
+            room.getBoard().placePiece(pieceId, null);
+            room.nextVersion();
+            record(room, RoomEvent.placed(playerColor, pieceId, BoardCells.NONE));
+            log.info("Piece {} returned to inventory in room {}", pieceId, roomId);
+            return true;
         }
 
         // Validate position is in player's own camp during SETUP
@@ -241,32 +762,88 @@ public class GameService {
             return false;
         }
 
-        // Add piece to board if not exists
-        Piece piece = room.getBoard().getPieces().stream()
-                .filter(p -> p.getId().equals(pieceId))
-                .findFirst()
-                .orElse(null);
+        // 처음 놓는 말이면 방이 미리 만든 시작 말을 목록에 추가한다
+        if (room.getBoard().claimInitialPiece(pieceId, playerColor) == null) {
+            return false;
+        }
 
-        if (piece == null) {
-            // Get initial piece
-            List<Piece> initialPieces = room.getBoard().getInitialPieces(playerColor);
-            piece = initialPieces.stream()
-                    .filter(p -> p.getId().equals(pieceId))
-                    .findFirst()
-                    .orElse(null);
+        if (!room.getBoard().placePiece(pieceId, position)) {
+            log.warn("Position {} is already occupied in room {}", position, roomId);
+            return false;
+        }
+        room.nextVersion();
+        record(room, RoomEvent.placed(playerColor, pieceId, BoardCells.indexOf(position)));
+        log.info("Piece {} placed at {} in room {}", pieceId, position, roomId);
+        return true;
+    }
+
+    /**
+     * 플레이어의 배치 전체를 한 번에 바꿉니다. placements 에 없는 자기 말은 인벤토리로 돌아갑니다.
+     * 모든 칸을 먼저 검사하고, 하나라도 놓을 수 없으면 아무것도 바꾸지 않습니다.
+     * ready 이면 같은 명령 안에서 준비 완료까지 처리합니다.
+     */
+    public boolean placeFormation(String roomId, String playerId, Map<String, Position> placements, boolean ready) {
+        GameRoom room = rooms.get(roomId);
+        if (room == null || placements == null || placements.isEmpty()) {
+            return false;
+        }
+
+        return updateRoomIf(room, () -> placeFormation(room, playerId, placements)
+                && (!ready || setPlayerReady(room, playerId)));
+    }
+
+    private boolean placeFormation(GameRoom room, String playerId, Map<String, Position> placements) {
+        String roomId = room.getRoomId();
+        PlayerColor playerColor = room.getPlayerColor(playerId);
+        if (room.getStatus() != GameStatus.SETUP || playerColor == null) {
+            return false;
+        }
 
-            if (piece != null) {
-                room.getBoard().getPieces().add(piece);
+        boolean red = playerColor == PlayerColor.RED;
+        boolean[] taken = new boolean[BoardCells.CELL_COUNT];
+        for (Map.Entry<String, Position> placement : placements.entrySet()) {
+            int slot = BoardCodec.slotOf(placement.getKey());
+            Position position = placement.getValue();
+            if (slot < 0 || (slot < BoardCodec.PIECES_PER_SIDE) != red
+                    || position == null || !isValidPlacementPosition(position, playerColor)) {
+                log.warn("Invalid formation entry {} -> {} for {} in room {}", placement.getKey(), position, playerColor, roomId);
+                return false;
+            }
+            int cell = BoardCells.indexOf(position);
+            if (taken[cell]) {
+                log.warn("Formation places two pieces at {} in room {}", position, roomId);
+                return false;
             }
+            taken[cell] = true;
         }
 
-        if (piece != null) {
-            piece.setPosition(position);
-            log.info("Piece {} placed at {} in room {}", pieceId, position, roomId);
-            return true;
+        // 자기 진영에는 자기 말만 있으므로, 자리가 바뀌는 말을 먼저 모두 들어내면 새 칸은 비어 있다.
+        // 저널도 같은 순서(들어내기 -> 놓기)로 남겨 재생할 때 칸이 겹치지 않게 한다
+        Board board = room.getBoard();
+        List<Piece> lifted = new ArrayList<>();
+        for (Piece piece : board.getPieces()) {
+            if (piece.getColor() == playerColor && piece.getPosition() != null
+                    && !piece.getPosition().equals(placements.get(piece.getId()))) {
+                lifted.add(piece);
+            }
+        }
+        for (Piece piece : lifted) {
+            board.placePiece(piece.getId(), null);
+            record(room, RoomEvent.placed(playerColor, piece.getId(), BoardCells.NONE));
         }
 
-        return false;
+        for (Map.Entry<String, Position> placement : placements.entrySet()) {
+            Piece piece = board.claimInitialPiece(placement.getKey(), playerColor);
+            if (placement.getValue().equals(piece.getPosition())) {
+                continue;
+            }
+            board.placePiece(piece.getId(), placement.getValue());
+            record(room, RoomEvent.placed(playerColor, piece.getId(), BoardCells.indexOf(placement.getValue())));
+        }
+
+        room.nextVersion();
+        log.info("Formation of {} pieces placed for {} in room {}", placements.size(), playerColor, roomId);
+        return true;
     }
 
     private boolean isValidPlacementPosition(Position position, PlayerColor playerColor) {
@@ -299,12 +876,33 @@ public class GameService {
 
     public boolean setPlayerReady(String roomId, String playerId) {
         GameRoom room = rooms.get(roomId);
-        if (room == null || room.getStatus() != GameStatus.SETUP) {
+        if (room == null) {
+            return false;
+        }
+
+        return updateRoomIf(room, () -> setPlayerReady(room, playerId));
+    }
+
+    private boolean setPlayerReady(GameRoom room, String playerId) {
+        PlayerColor playerColor = room.getPlayerColor(playerId);
+        if (room.getStatus() != GameStatus.SETUP || playerColor == null) {
             return false;
         }
 
         room.setPlayerReady(playerId, true);
-        log.info("Player {} ready in room {}. Both ready: {}", playerId, roomId, room.areBothPlayersReady());
+        room.nextVersion();
+        record(room, RoomEvent.ready(playerColor));
+        log.info("Player {} ready in room {}. Both ready: {}", playerId, room.getRoomId(), room.areBothPlayersReady());
         return true;
     }
+
+    /**
+     * 같은 버전의 투영과 색상별 델타. 델타를 만들 수 없는 색상(마지막 변경이 이동이 아니거나 게임 종료)은 deltas 에 없습니다.
+     */
+    @Data
+    @AllArgsConstructor
+    static class MoveSnapshot {
+        private RoomProjection projection;
+        private Map<PlayerColor, GameDeltaResponse> deltas;
+    }
 }
@@ -0,0 +1,46 @@
+package com.board.game.service;
+
+import com.board.game.model.PlayerColor;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * 방에 적용된 명령 하나. RoomJournal 이 로그에 기록하고, 재시작 시 같은 순서로 다시 적용합니다.
+ * 위치는 BoardCells 셀 인덱스로 기록합니다.
+ */
+@Data
+@AllArgsConstructor
+class RoomEvent {
+
+    enum Type { CREATE, JOIN, PLACE, READY, MOVE, LEAVE }
+
+    private Type type;
+    private String text;          // CREATE: 규칙 버전, JOIN: 플레이어 ID, PLACE: 말 ID
+    private PlayerColor color;    // PLACE, READY, LEAVE: 명령한 플레이어 색상
+    private int cell;             // PLACE: 놓은 칸 (NONE 이면 인벤토리), MOVE: 출발 칸
+    private int toCell;           // MOVE: 도착 칸
+
+    static RoomEvent created(String ruleVersion) {
+        return new RoomEvent(Type.CREATE, ruleVersion, null, 0, 0);
+    }
+
+    static RoomEvent joined(String playerId) {
+        return new RoomEvent(Type.JOIN, playerId, null, 0, 0);
+    }
+
+    static RoomEvent placed(PlayerColor color, String pieceId, int cell) {
+        return new RoomEvent(Type.PLACE, pieceId, color, cell, 0);
+    }
+
+    static RoomEvent ready(PlayerColor color) {
+        return new RoomEvent(Type.READY, null, color, 0, 0);
+    }
+
+    static RoomEvent moved(int from, int to) {
+        return new RoomEvent(Type.MOVE, null, null, from, to);
+    }
+
+    static RoomEvent left(PlayerColor color) {
+        return new RoomEvent(Type.LEAVE, null, color, 0, 0);
+    }
+}
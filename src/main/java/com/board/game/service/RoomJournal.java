@@ -0,0 +1,571 @@
+package com.board.game.service;
+
+import com.board.game.model.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * 방별 이벤트 로그와 스냅샷을 로컬 디스크에 기록하고, 재시작 시 방을 복구합니다.
+ *
+ * 이벤트는 방의 메일박스 안에서 메모리 버퍼에 쌓이고, flush-interval 마다 flusher 스레드가 한 번에 파일 끝에 붙인 뒤 fsync 합니다.
+ * 따라서 장애 시 잃을 수 있는 것은 마지막 flush 이후의 명령뿐입니다.
+ * snapshot-every 개의 이벤트마다 메일박스 안에서 방 전체를 스냅샷 바이트로 만들어 두고, 파일 쓰기와 로그 비우기는 flusher 가 합니다.
+ * 메일박스는 디스크를 기다리지 않습니다.
+ *
+ * 로그 레코드: [int 길이][long 순번][byte 타입][내용][int CRC32]. 잘린 꼬리나 CRC 가 맞지 않는 레코드에서 읽기를 멈춘다.
+ * 스냅샷의 보드는 BoardCodec 으로 저장하고, 시작 배치를 따르지 않는 보드만 말 목록을 그대로 저장한다.
+ */
+@Component
+@Slf4j
+public class RoomJournal {
+
+    private static final String LOG_SUFFIX = ".log";
+    private static final String SNAPSHOT_SUFFIX = ".snap";
+
+    private static final int SNAPSHOT_MAGIC = 0x524D5331;  // "RMS1"
+    private static final int SNAPSHOT_FORMAT = 3;           // 3: 위치 반복 횟수 추가
+    private static final int SNAPSHOT_FORMAT_NO_COUNTS = 2;
+
+    private static final int DEFAULT_SNAPSHOT_EVERY = 64;
+
+    /** 이 횟수의 flush 동안 기록이 없으면 로그 파일을 닫는다 */
+    private static final int IDLE_FLUSHES_BEFORE_CLOSE = 25;
+
+    private static final PlayerColor[] COLORS = PlayerColor.values();
+    private static final PieceType[] TYPES = PieceType.values();
+    private static final GameStatus[] STATUSES = GameStatus.values();
+    private static final RoomEvent.Type[] EVENT_TYPES = RoomEvent.Type.values();
+
+    /** false 이면 아무것도 기록하지 않는다 */
+    @Value("${game.persistence.enabled:false}")
+    private boolean enabled = false;
+
+    @Value("${game.persistence.dir:data/rooms}")
+    private String dir = "data/rooms";
+
+    /** 이 개수의 이벤트마다 스냅샷을 남기고 로그를 비운다 */
+    @Value("${game.persistence.snapshot-every:" + DEFAULT_SNAPSHOT_EVERY + "}")
+    private int snapshotEvery = DEFAULT_SNAPSHOT_EVERY;
+
+    private final Map<String, RoomLog> logs = new ConcurrentHashMap<>();
+
+    // 파일을 지울 방. flusher 가 쓰기를 마친 뒤 지운다
+    private final Queue<RoomLog> discardedLogs = new ConcurrentLinkedQueue<>();
+
+    private volatile boolean closed;
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            Files.createDirectories(Path.of(dir));
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to create journal directory " + dir, e);
+        }
+        log.info("Journaling rooms to {} (snapshot every {} events)", dir, snapshotEvery);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 방에 적용된 명령을 기록합니다. 방의 메일박스 안에서 명령을 적용한 직후에 호출해야 합니다.
+     */
+    void append(GameRoom room, RoomEvent event) {
+        if (!enabled) {
+            return;
+        }
+
+        RoomLog roomLog = logs.computeIfAbsent(room.getRoomId(), this::newLog);
+        synchronized (roomLog.pending) {
+            long seq = ++roomLog.seq;
+            writeRecord(new DataOutputStream(roomLog.pending), seq, event);
+            if (++roomLog.sinceSnapshot >= snapshotEvery) {
+                // 스냅샷에 담긴 이벤트는 파일에 붙일 필요가 없다. 이전 스냅샷이 아직 쓰이지 않았으면 덮어쓴다
+                roomLog.snapshot = encodeSnapshotUnchecked(seq, room);
+                roomLog.pending.reset();
+                roomLog.sinceSnapshot = 0;
+            }
+        }
+    }
+
+    /**
+     * 방이 제거되면 로그와 스냅샷을 지웁니다. 파일 삭제는 flusher 가 합니다.
+     */
+    void discard(GameRoom room) {
+        if (!enabled) {
+            return;
+        }
+
+        RoomLog roomLog = logs.remove(room.getRoomId());
+        if (roomLog == null) {
+            return;
+        }
+
+        roomLog.discarded = true;
+        discardedLogs.add(roomLog);
+        if (closed) {
+            // 종료한 뒤에는 flusher 가 돌지 않는다
+            flush();
+        }
+    }
+
+    /**
+     * 쌓인 스냅샷과 이벤트를 파일에 씁니다. 모든 방의 쓰기를 먼저 마친 뒤 fsync 를 몰아서 하고, 열어 둔 로그 파일은 다음 flush 에서 다시 씁니다.
+     */
+    @Scheduled(fixedDelayString = "${game.persistence.flush-interval:PT0.2S}")
+    public synchronized void flush() {
+        List<FileChannel> written = new ArrayList<>();
+        for (RoomLog roomLog : logs.values()) {
+            byte[] snapshot;
+            byte[] bytes;
+            synchronized (roomLog.pending) {
+                snapshot = roomLog.snapshot;
+                roomLog.snapshot = null;
+                bytes = roomLog.pending.size() > 0 ? roomLog.pending.toByteArray() : null;
+                roomLog.pending.reset();
+            }
+
+            if (snapshot == null && bytes == null) {
+                closeIfIdle(roomLog);
+                continue;
+            }
+            if (roomLog.discarded) {
+                continue;
+            }
+
+            roomLog.idleFlushes = 0;
+            try {
+                if (snapshot != null) {
+                    writeSnapshot(roomLog, snapshot);
+                }
+                FileChannel channel = channel(roomLog);
+                if (bytes != null) {
+                    write(channel, bytes);
+                }
+                written.add(channel);
+            } catch (IOException e) {
+                log.error("Failed to flush journal of room {}", roomLog.roomId, e);
+            }
+        }
+
+        for (FileChannel channel : written) {
+            try {
+                channel.force(false);
+            } catch (IOException e) {
+                log.error("Failed to sync journal", e);
+            }
+        }
+
+        RoomLog roomLog;
+        while ((roomLog = discardedLogs.poll()) != null) {
+            closeChannel(roomLog);
+            try {
+                Files.deleteIfExists(roomLog.logFile);
+                Files.deleteIfExists(roomLog.snapshotFile);
+            } catch (IOException e) {
+                log.warn("Failed to delete journal of room {}: {}", roomLog.roomId, e.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        flush();
+        logs.values().forEach(this::closeChannel);
+        closed = true;
+    }
+
+    /**
+     * 스냅샷을 임시 파일에 쓰고 fsync 한 뒤 교체하고, 스냅샷에 포함된 이벤트가 담긴 로그를 비웁니다.
+     * 비운 로그는 뒤이어 붙이는 레코드와 함께 fsync 됩니다. 비우기 전에 죽어도 복구 시 순번으로 걸러낸다.
+     */
+    private void writeSnapshot(RoomLog roomLog, byte[] snapshot) throws IOException {
+        Path tmp = roomLog.snapshotFile.resolveSibling(roomLog.snapshotFile.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            write(channel, snapshot);
+            channel.force(true);
+        }
+        Files.move(tmp, roomLog.snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        channel(roomLog).truncate(0);
+    }
+
+    private FileChannel channel(RoomLog roomLog) throws IOException {
+        if (roomLog.channel == null) {
+            roomLog.channel = FileChannel.open(roomLog.logFile,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        }
+        return roomLog.channel;
+    }
+
+    // 한동안 기록이 없는 방은 파일을 닫아 열린 파일 수를 진행 중인 방 수 정도로 유지한다
+    private void closeIfIdle(RoomLog roomLog) {
+        if (roomLog.channel != null && ++roomLog.idleFlushes >= IDLE_FLUSHES_BEFORE_CLOSE) {
+            closeChannel(roomLog);
+        }
+    }
+
+    private void closeChannel(RoomLog roomLog) {
+        if (roomLog.channel == null) {
+            return;
+        }
+        try {
+            roomLog.channel.close();
+        } catch (IOException e) {
+            log.warn("Failed to close journal of room {}: {}", roomLog.roomId, e.getMessage());
+        }
+        roomLog.channel = null;
+    }
+
+    private static void write(FileChannel channel, byte[] bytes) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * 디스크에 남아 있는 방을 모두 읽습니다. 스냅샷 이후의 이벤트만 돌려주며, 호출한 쪽이 순서대로 다시 적용합니다.
+     */
+    List<RecoveredRoom> recover() {
+        if (!enabled) {
+            return List.of();
+        }
+
+        Set<String> roomIds = new TreeSet<>();
+        try (Stream<Path> files = Files.list(Path.of(dir))) {
+            files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.endsWith(LOG_SUFFIX) || name.endsWith(SNAPSHOT_SUFFIX))
+                    .map(name -> name.substring(0, name.lastIndexOf('.')))
+                    .forEach(roomIds::add);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to list journal directory " + dir, e);
+        }
+
+        List<RecoveredRoom> recovered = new ArrayList<>();
+        for (String roomId : roomIds) {
+            RoomLog roomLog = newLog(roomId);
+            Snapshot snapshot = readSnapshot(roomLog.snapshotFile);
+            long lastSeq = snapshot != null ? snapshot.getSeq() : 0;
+
+            List<RoomEvent> events = new ArrayList<>();
+            for (Map.Entry<Long, RoomEvent> entry : readLog(roomLog.logFile).entrySet()) {
+                if (entry.getKey() > lastSeq) {
+                    events.add(entry.getValue());
+                    lastSeq = entry.getKey();
+                }
+            }
+
+            if (snapshot == null && (events.isEmpty() || events.get(0).getType() != RoomEvent.Type.CREATE)) {
+                log.warn("Journal of room {} has no snapshot or create event, dropping it", roomId);
+                roomLog.discarded = true;
+                try {
+                    Files.deleteIfExists(roomLog.logFile);
+                    Files.deleteIfExists(roomLog.snapshotFile);
+                } catch (IOException e) {
+                    log.warn("Failed to delete journal of room {}: {}", roomId, e.getMessage());
+                }
+                continue;
+            }
+
+            roomLog.seq = lastSeq;
+            logs.put(roomId, roomLog);
+            recovered.add(new RecoveredRoom(roomId,
+                    snapshot != null ? snapshot.getRoom() : null,
+                    snapshot != null ? snapshot.getRuleVersion() : null,
+                    events));
+        }
+        return recovered;
+    }
+
+    private RoomLog newLog(String roomId) {
+        return new RoomLog(roomId, Path.of(dir, roomId + LOG_SUFFIX), Path.of(dir, roomId + SNAPSHOT_SUFFIX));
+    }
+
+    private static void writeRecord(DataOutputStream out, long seq, RoomEvent event) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(32);
+            DataOutputStream body = new DataOutputStream(bytes);
+            body.writeLong(seq);
+            body.writeByte(event.getType().ordinal());
+            switch (event.getType()) {
+                case CREATE, JOIN -> body.writeUTF(event.getText());
+                case PLACE -> {
+                    body.writeByte(event.getColor().ordinal());
+                    body.writeUTF(event.getText());
+                    body.writeByte(event.getCell());
+                }
+                case READY, LEAVE -> body.writeByte(event.getColor().ordinal());
+                case MOVE -> {
+                    body.writeByte(event.getCell());
+                    body.writeByte(event.getToCell());
+                }
+            }
+
+            CRC32 crc = new CRC32();
+            crc.update(bytes.toByteArray());
+            out.writeInt(bytes.size());
+            bytes.writeTo(out);
+            out.writeInt((int) crc.getValue());
+        } catch (IOException e) {
+            // ByteArrayOutputStream 에 쓰므로 발생하지 않는다
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 로그를 순번 -> 이벤트로 읽습니다. 잘리거나 손상된 레코드를 만나면 거기서 멈춥니다.
+     */
+    private static SortedMap<Long, RoomEvent> readLog(Path file) {
+        SortedMap<Long, RoomEvent> events = new TreeMap<>();
+        if (!Files.exists(file)) {
+            return events;
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            while (true) {
+                int length;
+                try {
+                    length = in.readInt();
+                } catch (EOFException e) {
+                    break;
+                }
+                if (length <= 0 || length > 1024) {
+                    log.warn("Corrupt record length {} in {}, ignoring the rest", length, file);
+                    break;
+                }
+
+                byte[] body = new byte[length];
+                in.readFully(body);
+                CRC32 crc = new CRC32();
+                crc.update(body);
+                if ((int) crc.getValue() != in.readInt()) {
+                    log.warn("Checksum mismatch in {}, ignoring the rest", file);
+                    break;
+                }
+
+                DataInputStream record = new DataInputStream(new ByteArrayInputStream(body));
+                long seq = record.readLong();
+                events.put(seq, readEvent(record));
+            }
+        } catch (EOFException e) {
+            log.warn("Truncated record at the end of {}", file);
+        } catch (IOException e) {
+            log.error("Failed to read journal {}", file, e);
+        }
+        return events;
+    }
+
+    private static RoomEvent readEvent(DataInputStream in) throws IOException {
+        RoomEvent.Type type = EVENT_TYPES[in.readByte()];
+        return switch (type) {
+            case CREATE -> RoomEvent.created(in.readUTF());
+            case JOIN -> RoomEvent.joined(in.readUTF());
+            case PLACE -> {
+                PlayerColor color = COLORS[in.readByte()];
+                String pieceId = in.readUTF();
+                yield RoomEvent.placed(color, pieceId, in.readByte());
+            }
+            case READY -> RoomEvent.ready(COLORS[in.readByte()]);
+            case MOVE -> {
+                int from = in.readByte();
+                yield RoomEvent.moved(from, in.readByte());
+            }
+            case LEAVE -> RoomEvent.left(COLORS[in.readByte()]);
+        };
+    }
+
+    private static byte[] encodeSnapshotUnchecked(long seq, GameRoom room) {
+        try {
+            return encodeSnapshot(seq, room);
+        } catch (IOException e) {
+            // ByteArrayOutputStream 에 쓰므로 발생하지 않는다
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static byte[] encodeSnapshot(long seq, GameRoom room) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(1024);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(SNAPSHOT_MAGIC);
+        out.writeByte(SNAPSHOT_FORMAT);
+        out.writeLong(seq);
+
+        out.writeUTF(room.getRoomId());
+        out.writeUTF(room.getRuleVersion() != null ? room.getRuleVersion() : "");
+        writeNullableUTF(out, room.getRedPlayer());
+        writeNullableUTF(out, room.getBluePlayer());
+        out.writeLong(room.getVersion());
+        out.writeLong(room.getCreatedAt().getTime());
+
+        // 반복 무승부 판정이 재시작 후에도 이어지도록 위치별 등장 횟수를 함께 남긴다
+        Map<Long, Integer> positionCounts = room.getPositionCounts();
+        out.writeInt(positionCounts.size());
+        for (Map.Entry<Long, Integer> entry : positionCounts.entrySet()) {
+            out.writeLong(entry.getKey());
+            out.writeInt(entry.getValue());
+        }
+
+        Board board = room.getBoard();
+        boolean compact = BoardCodec.isEncodable(board);
+        out.writeBoolean(compact);
+        if (compact) {
+            out.write(BoardCodec.encode(room));
+            return bytes.toByteArray();
+        }
+
+        out.writeByte(room.getStatus().ordinal());
+        out.writeBoolean(room.isRedPlayerReady());
+        out.writeBoolean(room.isBluePlayerReady());
+        out.writeByte(board.getCurrentTurn().ordinal());
+        List<Piece> pieces = board.getPieces();
+        out.writeShort(pieces.size());
+        for (Piece piece : pieces) {
+            out.writeUTF(piece.getId());
+            out.writeByte(piece.getColor().ordinal());
+            out.writeByte(piece.getType() != null ? piece.getType().ordinal() : -1);
+            out.writeByte(BoardCells.indexOf(piece.getPosition()));
+            out.writeBoolean(piece.isCaptured());
+            out.writeBoolean(piece.isRevealed());
+        }
+        return bytes.toByteArray();
+    }
+
+    static Snapshot decodeSnapshot(byte[] data) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+        if (in.readInt() != SNAPSHOT_MAGIC) {
+            throw new IOException("Unknown snapshot format");
+        }
+        int format = in.readByte();
+        if (format != SNAPSHOT_FORMAT && format != SNAPSHOT_FORMAT_NO_COUNTS) {
+            throw new IOException("Unknown snapshot format");
+        }
+        long seq = in.readLong();
+
+        GameRoom room = new GameRoom(in.readUTF());
+        String ruleVersion = in.readUTF();
+        room.setRedPlayer(readNullableUTF(in));
+        room.setBluePlayer(readNullableUTF(in));
+        room.setVersion(in.readLong());
+        room.setCreatedAt(new Date(in.readLong()));
+        // 형식 2 스냅샷에는 횟수가 없으므로 그 뒤의 이동부터 다시 센다
+        if (format == SNAPSHOT_FORMAT) {
+            int counts = in.readInt();
+            for (int i = 0; i < counts; i++) {
+                room.getPositionCounts().put(in.readLong(), in.readInt());
+            }
+        }
+
+        if (in.readBoolean()) {
+            byte[] board = new byte[BoardCodec.FULL_LENGTH];
+            in.readFully(board);
+            BoardCodec.decode(board, room);
+            return new Snapshot(seq, ruleVersion, room);
+        }
+
+        room.setStatus(STATUSES[in.readByte()]);
+        room.setRedPlayerReady(in.readBoolean());
+        room.setBluePlayerReady(in.readBoolean());
+        Board board = room.getBoard();
+        board.setCurrentTurn(COLORS[in.readByte()]);
+        int count = in.readShort();
+        for (int i = 0; i < count; i++) {
+            String id = in.readUTF();
+            PlayerColor color = COLORS[in.readByte()];
+            int type = in.readByte();
+            int cell = in.readByte();
+            Piece piece = new Piece(id, color, type >= 0 ? TYPES[type] : null,
+                    cell != BoardCells.NONE ? BoardCells.positionOf(cell) : null);
+            piece.setCaptured(in.readBoolean());
+            piece.setRevealed(in.readBoolean());
+            board.getPieces().add(piece);
+        }
+        return new Snapshot(seq, ruleVersion, room);
+    }
+
+    private static Snapshot readSnapshot(Path file) {
+        if (!Files.exists(file)) {
+            return null;
+        }
+
+        try {
+            return decodeSnapshot(Files.readAllBytes(file));
+        } catch (IOException | RuntimeException e) {
+            log.warn("Ignoring unreadable snapshot {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    private static void writeNullableUTF(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullableUTF(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static final class RoomLog {
+        private final String roomId;
+        private final Path logFile;
+        private final Path snapshotFile;
+
+        // 아직 파일에 쓰지 않은 레코드. snapshot, seq, sinceSnapshot 도 이 객체로 보호한다.
+        private final ByteArrayOutputStream pending = new ByteArrayOutputStream();
+        private byte[] snapshot;
+        private long seq;
+        private int sinceSnapshot;
+
+        private volatile boolean discarded;
+
+        // flusher 만 쓴다
+        private FileChannel channel;
+        private int idleFlushes;
+
+        private RoomLog(String roomId, Path logFile, Path snapshotFile) {
+            this.roomId = roomId;
+            this.logFile = logFile;
+            this.snapshotFile = snapshotFile;
+        }
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class Snapshot {
+        private long seq;
+        private String ruleVersion;
+        private GameRoom room;
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class RecoveredRoom {
+        private String roomId;
+        private GameRoom room;         // 스냅샷에서 복원한 방. 스냅샷이 없으면 null
+        private String ruleVersion;    // 스냅샷의 규칙 버전. 스냅샷이 없으면 첫 CREATE 이벤트에 있다
+        private List<RoomEvent> events;
+    }
+}
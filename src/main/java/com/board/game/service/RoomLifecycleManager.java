@@ -0,0 +1,108 @@
+package com.board.game.service;
+
+import com.board.game.model.GameRoom;
+import com.board.game.model.GameStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 끝났거나 방치된 방을 주기적으로 정리합니다.
+ *
+ * - FINISHED: 마지막 활동 후 finished-ttl 이 지나면 제거
+ * - WAITING: 상대를 기다리다 waiting-ttl 이 지나면 제거
+ * - SETUP/PLAYING: idle-ttl 동안 아무 명령이 없으면 버려진 게임으로 보고 제거
+ *
+ * 방 수가 상한(game.rooms.max-live)의 90% 를 넘으면 TTL 과 관계없이 오래된 FINISHED 방부터 제거합니다.
+ */
+@Component
+@Slf4j
+public class RoomLifecycleManager {
+
+    private static final double PRESSURE_THRESHOLD = 0.9;
+
+    private final GameService gameService;
+
+    @Value("${game.rooms.finished-ttl:PT2M}")
+    private Duration finishedTtl = Duration.ofMinutes(2);
+
+    @Value("${game.rooms.waiting-ttl:PT10M}")
+    private Duration waitingTtl = Duration.ofMinutes(10);
+
+    @Value("${game.rooms.idle-ttl:PT30M}")
+    private Duration idleTtl = Duration.ofMinutes(30);
+
+    private final AtomicLong evictedFinished = new AtomicLong();
+    private final AtomicLong evictedWaiting = new AtomicLong();
+    private final AtomicLong evictedIdle = new AtomicLong();
+    private final AtomicLong evictedForCapacity = new AtomicLong();
+
+    public RoomLifecycleManager(GameService gameService) {
+        this.gameService = gameService;
+    }
+
+    @Scheduled(fixedDelayString = "${game.rooms.reap-interval:PT30S}")
+    public void reap() {
+        reap(System.currentTimeMillis());
+    }
+
+    void reap(long now) {
+        for (GameRoom room : List.copyOf(gameService.getRooms())) {
+            switch (room.getStatus()) {
+                case FINISHED -> evictIfIdle(room, now, finishedTtl, evictedFinished);
+                case WAITING -> evictIfIdle(room, now, waitingTtl, evictedWaiting);
+                default -> evictIfIdle(room, now, idleTtl, evictedIdle);
+            }
+        }
+
+        int excess = gameService.getLiveRoomCount() - (int) (gameService.getMaxLiveRooms() * PRESSURE_THRESHOLD);
+        if (excess > 0) {
+            List<GameRoom> finished = gameService.getRooms().stream()
+                    .filter(room -> room.getStatus() == GameStatus.FINISHED)
+                    .sorted(Comparator.comparing(GameRoom::getLastActivityAt))
+                    .limit(excess)
+                    .toList();
+            for (GameRoom room : finished) {
+                if (gameService.evictRoom(room, r -> r.getStatus() == GameStatus.FINISHED)) {
+                    evictedForCapacity.incrementAndGet();
+                }
+            }
+            log.warn("Room registry near capacity ({} / {}), evicted {} finished rooms early",
+                    gameService.getLiveRoomCount(), gameService.getMaxLiveRooms(), finished.size());
+        }
+    }
+
+    private void evictIfIdle(GameRoom room, long now, Duration ttl, AtomicLong counter) {
+        if (now - room.getLastActivityAt().getTime() < ttl.toMillis()) {
+            return;
+        }
+
+        // 메일박스 안에서 다시 확인한다. 그 사이 명령이 들어왔으면 제거하지 않는다.
+        GameStatus status = room.getStatus();
+        boolean evicted = gameService.evictRoom(room, r -> r.getStatus() == status
+                && now - r.getLastActivityAt().getTime() >= ttl.toMillis());
+        if (evicted) {
+            counter.incrementAndGet();
+        }
+    }
+
+    public Map<String, Long> getStats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("liveRooms", (long) gameService.getLiveRoomCount());
+        stats.put("maxLiveRooms", (long) gameService.getMaxLiveRooms());
+        stats.put("rejectedRooms", gameService.getRejectedRoomCount());
+        stats.put("evictedFinished", evictedFinished.get());
+        stats.put("evictedWaiting", evictedWaiting.get());
+        stats.put("evictedIdle", evictedIdle.get());
+        stats.put("evictedForCapacity", evictedForCapacity.get());
+        return stats;
+    }
+}
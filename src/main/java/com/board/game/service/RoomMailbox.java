@@ -0,0 +1,87 @@
+package com.board.game.service;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * 방 하나의 명령을 도착 순서대로 하나씩 실행하는 메일박스.
+ *
+ * 모든 방이 같은 작업 스레드 풀을 공유하지만, 한 방의 명령은 동시에 두 개가 실행되지 않는다.
+ * 따라서 GameRoom / Board 를 잠금 없이 단일 작성자로 다룰 수 있고, 서로 다른 방은 병렬로 처리된다.
+ */
+class RoomMailbox implements Executor {
+
+    // 한 번 스케줄될 때 처리할 최대 명령 수. 바쁜 방이 작업 스레드를 독점하지 않도록 한다.
+    private static final int BATCH_SIZE = 64;
+
+    private static final ThreadLocal<RoomMailbox> CURRENT = new ThreadLocal<>();
+
+    private final Executor workers;
+    private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    RoomMailbox(Executor workers) {
+        this.workers = workers;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        queue.add(command);
+        schedule();
+    }
+
+    /**
+     * 명령을 메일박스에서 실행하고 결과를 기다립니다.
+     * 이미 이 메일박스에서 실행 중인 명령 안에서 호출되면 바로 실행합니다.
+     */
+    <T> T call(Supplier<T> command) {
+        if (CURRENT.get() == this) {
+            return command.get();
+        }
+
+        try {
+            return CompletableFuture.supplyAsync(command, this).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            try {
+                workers.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                scheduled.set(false);
+                throw e;
+            }
+        }
+    }
+
+    private void drain() {
+        CURRENT.set(this);
+        try {
+            Runnable command;
+            for (int i = 0; i < BATCH_SIZE && (command = queue.poll()) != null; i++) {
+                command.run();
+            }
+        } finally {
+            CURRENT.remove();
+            scheduled.set(false);
+            if (!queue.isEmpty()) {
+                schedule();
+            }
+        }
+    }
+}
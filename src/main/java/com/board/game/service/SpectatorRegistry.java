@@ -0,0 +1,99 @@
+package com.board.game.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 방별 관전자 구독 수. 지켜보는 사람이 없는 방은 관전 프레임을 만들지 않습니다.
+ *
+ * 구독은 이 노드에 연결된 세션만 셀 수 있으므로, 외부 브로커(relay)를 쓰면 다른 노드의 관전자를 위해 항상 보냅니다.
+ */
+@Component
+@Slf4j
+public class SpectatorRegistry {
+
+    public static final String SUFFIX = ".SPECTATE";
+    private static final String PREFIX = "/topic/game.";
+
+    @Value("${game.broker.mode:simple}")
+    private String brokerMode = "simple";
+
+    // 방 -> 관전 구독 수
+    private final Map<String, Integer> watchers = new ConcurrentHashMap<>();
+
+    // 세션 -> (구독 ID -> 방). 구독 해제와 연결 끊김에서 어느 방을 줄일지 찾는다
+    private final Map<String, Map<String, String>> subscriptions = new ConcurrentHashMap<>();
+
+    public static String topic(String roomId) {
+        return PREFIX + roomId + SUFFIX;
+    }
+
+    /**
+     * 관전 프레임을 보내야 하는 방인지 확인합니다.
+     */
+    public boolean isWatched(String roomId) {
+        return "relay".equals(brokerMode) || watchers.containsKey(roomId);
+    }
+
+    public int getWatcherCount(String roomId) {
+        return watchers.getOrDefault(roomId, 0);
+    }
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(event.getMessage());
+        String roomId = roomOf(accessor.getDestination());
+        String sessionId = accessor.getSessionId();
+        if (roomId == null || sessionId == null || accessor.getSubscriptionId() == null) {
+            return;
+        }
+
+        String previous = subscriptions.computeIfAbsent(sessionId, id -> new ConcurrentHashMap<>())
+                .put(accessor.getSubscriptionId(), roomId);
+        if (previous == null) {
+            watchers.merge(roomId, 1, Integer::sum);
+            log.debug("Spectator joined room {} ({} watching)", roomId, getWatcherCount(roomId));
+        }
+    }
+
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(event.getMessage());
+        Map<String, String> session = accessor.getSessionId() != null ? subscriptions.get(accessor.getSessionId()) : null;
+        if (session != null && accessor.getSubscriptionId() != null) {
+            release(session.remove(accessor.getSubscriptionId()));
+        }
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        Map<String, String> session = subscriptions.remove(event.getSessionId());
+        if (session != null) {
+            session.values().forEach(this::release);
+        }
+    }
+
+    private void release(String roomId) {
+        if (roomId != null) {
+            // 0 이 되면 항목을 지워 끝난 방이 남지 않게 한다
+            watchers.computeIfPresent(roomId, (id, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+
+    private static String roomOf(String destination) {
+        if (destination == null || !destination.startsWith(PREFIX) || !destination.endsWith(SUFFIX)) {
+            return null;
+        }
+        String roomId = destination.substring(PREFIX.length(), destination.length() - SUFFIX.length());
+        return roomId.isEmpty() ? null : roomId;
+    }
+}
@@ -0,0 +1,65 @@
+package com.board.game.sim;
+
+import com.board.game.ai.SimBoard;
+import com.board.game.model.BoardCells;
+
+import java.util.SplittableRandom;
+import java.util.function.IntPredicate;
+
+/**
+ * 자체 대국에서 수를 고르는 규칙. 상대 말의 타입은 보지 않습니다.
+ */
+public enum Agent {
+
+    /** 가능한 수 중 하나를 고르게 */
+    RANDOM {
+        @Override
+        public int choose(SimBoard board, int[] moves, int count, SplittableRandom random) {
+            return moves[random.nextInt(count)];
+        }
+    },
+
+    /** 공격할 수 있으면 공격하고, 아니면 앞으로 나아가는 수를, 그것도 없으면 아무 수나 */
+    AGGRESSIVE {
+        @Override
+        public int choose(SimBoard board, int[] moves, int count, SplittableRandom random) {
+            int captures = 0;
+            int forward = 0;
+            for (int i = 0; i < count; i++) {
+                if (board.isCapture(moves[i])) {
+                    captures++;
+                } else if (isForward(board.turn(), moves[i])) {
+                    forward++;
+                }
+            }
+
+            if (captures > 0) {
+                return pick(moves, count, random.nextInt(captures), board::isCapture);
+            }
+            if (forward > 0) {
+                return pick(moves, count, random.nextInt(forward), m -> isForward(board.turn(), m));
+            }
+            return moves[random.nextInt(count)];
+        }
+    };
+
+    /**
+     * moves[0..count) 중 하나를 반환합니다.
+     */
+    public abstract int choose(SimBoard board, int[] moves, int count, SplittableRandom random);
+
+    private static boolean isForward(int colour, int move) {
+        double dx = BoardCells.xOf(SimBoard.to(move)) - BoardCells.xOf(SimBoard.from(move));
+        return colour == SimBoard.RED ? dx > 0 : dx < 0;
+    }
+
+    // 조건에 맞는 수 중 n 번째
+    private static int pick(int[] moves, int count, int n, IntPredicate match) {
+        for (int i = 0; i < count; i++) {
+            if (match.test(moves[i]) && n-- == 0) {
+                return moves[i];
+            }
+        }
+        throw new IllegalStateException("No matching move");
+    }
+}
@@ -0,0 +1,253 @@
+package com.board.game.sim;
+
+import com.board.game.ai.Formations;
+import com.board.game.ai.SimBoard;
+import com.board.game.model.Board;
+import com.board.game.model.BoardCells;
+import com.board.game.model.Piece;
+import com.board.game.model.PieceType;
+import com.board.game.model.PlayerColor;
+import com.board.game.model.Position;
+import com.board.game.service.BattleRuleService;
+import com.board.game.service.BattleRuleSet;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.Data;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 웹 서버 없이 메모리 안에서 게임을 N 판 두고 승률, 게임 길이, 말 타입별 전투 결과를 집계합니다.
+ * 규칙 변경을 배포하기 전에 밸런스를 확인하는 용도입니다.
+ *
+ * 게임은 Board 와 같은 규칙의 SimBoard 위에서 모든 코어로 나눠 둡니다. --verify 를 주면 같은 게임을 Board 에도
+ * placePiece / movePiece 로 두면서 매 수 해시와 종료 판정이 같은지 확인합니다 (느리므로 적은 판 수에만).
+ *
+ * <pre>
+ * gradle selfPlay -Pargs="--games=1000000 --red=aggressive --blue=random --rules=v1 --json=build/self-play.json"
+ * </pre>
+ */
+public final class SelfPlay {
+
+    private static final PieceType[] TYPES = PieceType.values();
+    private static final int CHUNK = 1000;
+    private static final long GAME_SEED_STEP = 0x9E3779B97F4A7C15L;
+
+    private final BattleRuleSet ruleSet;
+    private final Options options;
+    private final List<Piece> redSet;
+    private final List<Piece> blueSet;
+
+    /**
+     * 실행 옵션. 명령행에서는 --games=100 처럼 필드 이름을 그대로 씁니다 (maxPlies 는 --max-plies).
+     */
+    @Data
+    public static class Options {
+        private long games = 10_000;
+        private Agent red = Agent.RANDOM;
+        private Agent blue = Agent.RANDOM;
+        private int maxPlies = 500;
+        private int threads = Runtime.getRuntime().availableProcessors();
+        private long seed = 1L;
+        private String rules;
+        private String rulesLocation;
+        private String json;
+        private boolean verify;
+    }
+
+    public SelfPlay(BattleRuleSet ruleSet, Options options) {
+        this.ruleSet = ruleSet;
+        this.options = options;
+        Board standard = new Board(true);
+        this.redSet = standard.getInitialPieces(PlayerColor.RED);
+        this.blueSet = standard.getInitialPieces(PlayerColor.BLUE);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = parse(args);
+        BattleRuleService ruleService = options.getRulesLocation() != null
+                ? new BattleRuleService(options.getRulesLocation())
+                : new BattleRuleService();
+        ruleService.init();
+        BattleRuleSet ruleSet = options.getRules() != null
+                ? ruleService.getRuleSet(options.getRules())
+                : ruleService.getActiveRuleSet();
+        if (ruleSet == null) {
+            System.err.println("Unknown rule version " + options.getRules() + ", available: " + ruleService.getVersions());
+            System.exit(2);
+        }
+
+        long start = System.nanoTime();
+        SelfPlayStats stats = new SelfPlay(ruleSet, options).run();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf(Locale.ROOT, "Self-play: %d games (%s vs %s, rules %s) in %.1fs on %d threads (%.0f games/s)%n",
+                stats.getGames(), options.getRed(), options.getBlue(), ruleSet.getVersion(),
+                seconds, options.getThreads(), stats.getGames() / seconds);
+        System.out.print(stats.report());
+
+        if (options.getJson() != null) {
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("rules", ruleSet.getVersion());
+            report.put("red", options.getRed());
+            report.put("blue", options.getBlue());
+            report.put("maxPlies", options.getMaxPlies());
+            report.put("seed", options.getSeed());
+            report.put("seconds", seconds);
+            report.putAll(stats.toMap());
+            writeJson(new File(options.getJson()), report);
+        }
+    }
+
+    private static void writeJson(File file, Map<String, Object> report) throws IOException {
+        if (file.getParentFile() != null) {
+            file.getParentFile().mkdirs();
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, report);
+    }
+
+    static Options parse(String[] args) {
+        Options options = new Options();
+        for (String arg : args) {
+            if (arg.isBlank()) {
+                continue;
+            }
+            String[] pair = arg.replaceFirst("^--", "").split("=", 2);
+            String value = pair.length > 1 ? pair[1] : "true";
+            switch (pair[0]) {
+                case "games" -> options.setGames(Long.parseLong(value));
+                case "red" -> options.setRed(Agent.valueOf(value.toUpperCase(Locale.ROOT)));
+                case "blue" -> options.setBlue(Agent.valueOf(value.toUpperCase(Locale.ROOT)));
+                case "max-plies" -> options.setMaxPlies(Integer.parseInt(value));
+                case "threads" -> options.setThreads(Integer.parseInt(value));
+                case "seed" -> options.setSeed(Long.parseLong(value));
+                case "rules" -> options.setRules(value);
+                case "rules-location" -> options.setRulesLocation(value);
+                case "json" -> options.setJson(value);
+                case "verify" -> options.setVerify(Boolean.parseBoolean(value));
+                default -> throw new IllegalArgumentException("Unknown option: " + arg);
+            }
+        }
+        return options;
+    }
+
+    /**
+     * 모든 게임을 두고 스레드별 집계를 합쳐 반환합니다. 같은 옵션이면 스레드 수와 관계없이 결과가 같습니다.
+     */
+    public SelfPlayStats run() throws InterruptedException {
+        int threads = Math.max(1, options.getThreads());
+        AtomicLong next = new AtomicLong();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<SelfPlayStats>> workers = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                workers.add(executor.submit(() -> {
+                    SelfPlayStats stats = new SelfPlayStats(options.getMaxPlies());
+                    long first;
+                    while ((first = next.getAndAdd(CHUNK)) < options.getGames()) {
+                        long last = Math.min(first + CHUNK, options.getGames());
+                        for (long game = first; game < last; game++) {
+                            play(game, stats);
+                        }
+                    }
+                    return stats;
+                }));
+            }
+
+            SelfPlayStats total = new SelfPlayStats(options.getMaxPlies());
+            for (Future<SelfPlayStats> worker : workers) {
+                try {
+                    total.merge(worker.get());
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Self-play worker failed", e.getCause());
+                }
+            }
+            return total;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void play(long game, SelfPlayStats stats) {
+        SplittableRandom random = new SplittableRandom(options.getSeed() + game * GAME_SEED_STEP);
+
+        List<Piece> pieces = new ArrayList<>(redSet.size() + blueSet.size());
+        place(redSet, PlayerColor.RED, random, pieces);
+        place(blueSet, PlayerColor.BLUE, random, pieces);
+        SimBoard board = new SimBoard(ruleSet, pieces, PlayerColor.RED);
+        Board verified = options.isVerify() ? setUpBoard(pieces) : null;
+
+        int[] moves = new int[SimBoard.MAX_MOVES];
+        int plies = 0;
+        while (plies < options.getMaxPlies() && !board.isOver()) {
+            int count = board.generateMoves(moves);
+            if (count == 0) {
+                break;
+            }
+            Agent agent = board.turn() == SimBoard.RED ? options.getRed() : options.getBlue();
+            int move = agent.choose(board, moves, count, random);
+
+            int defender = board.slotAt(SimBoard.to(move));
+            if (defender >= 0) {
+                int attacker = board.slotAt(SimBoard.from(move));
+                PieceType attackerType = TYPES[board.typeOf(attacker)];
+                PieceType defenderType = TYPES[board.typeOf(defender)];
+                stats.recordBattle(attackerType.ordinal(), defenderType.ordinal(),
+                        ruleSet.resolveBattle(attackerType, defenderType));
+            }
+
+            board.apply(move);
+            plies++;
+            if (verified != null) {
+                verify(verified, board, move, game, plies);
+            }
+        }
+
+        stats.recordGame(board.winner(), plies);
+    }
+
+    private void place(List<Piece> set, PlayerColor color, SplittableRandom random, List<Piece> out) {
+        List<Position> cells = Formations.random(set, color, random);
+        for (int i = 0; i < set.size(); i++) {
+            Piece piece = set.get(i);
+            out.add(new Piece(piece.getId(), piece.getColor(), piece.getType(), cells.get(i)));
+        }
+    }
+
+    // 같은 배치를 Board 에도 placePiece 로 놓는다
+    private Board setUpBoard(List<Piece> pieces) {
+        Board board = new Board(true);
+        board.setRuleSet(ruleSet);
+        for (Piece piece : pieces) {
+            board.addPiece(new Piece(piece.getId(), piece.getColor(), piece.getType(), null));
+            if (!board.placePiece(piece.getId(), piece.getPosition())) {
+                throw new IllegalStateException("Board rejected placement of " + piece.getId());
+            }
+        }
+        return board;
+    }
+
+    private static void verify(Board board, SimBoard sim, int move, long game, int ply) {
+        Position from = BoardCells.positionOf(SimBoard.from(move));
+        Position to = BoardCells.positionOf(SimBoard.to(move));
+        if (!board.movePiece(from, to) || board.getHash() != sim.hash() || board.isGameOver() != sim.isOver()) {
+            throw new IllegalStateException("Board and SimBoard diverged in game " + game + " at ply " + ply
+                    + " (" + from + " -> " + to + ")");
+        }
+        if (sim.isOver() && (board.getWinner() == PlayerColor.RED ? SimBoard.RED : SimBoard.BLUE) != sim.winner()) {
+            throw new IllegalStateException("Board and SimBoard disagree on the winner of game " + game);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.board.game.sim;
+
+import com.board.game.ai.SimBoard;
+import com.board.game.model.PieceType;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 자체 대국 집계. 스레드마다 하나씩 쌓은 뒤 merge 로 합칩니다.
+ */
+public class SelfPlayStats {
+
+    private static final PieceType[] TYPES = PieceType.values();
+
+    private long games;
+    private final long[] wins = new long[2];
+    private long unfinished;
+
+    // 수 -> 그 길이로 끝난 게임 수
+    private final long[] lengths;
+
+    // 타입별 전투 수, 상대를 잡은 수, 잡힌 수
+    private final long[] battles = new long[TYPES.length];
+    private final long[] captures = new long[TYPES.length];
+    private final long[] captured = new long[TYPES.length];
+
+    public SelfPlayStats(int maxPlies) {
+        this.lengths = new long[maxPlies + 1];
+    }
+
+    void recordBattle(int attacker, int defender, int result) {
+        battles[attacker]++;
+        battles[defender]++;
+        if (result > 0) {
+            captures[attacker]++;
+            captured[defender]++;
+        } else if (result < 0) {
+            captures[defender]++;
+            captured[attacker]++;
+        } else {
+            captured[attacker]++;
+            captured[defender]++;
+        }
+    }
+
+    void recordGame(int winner, int plies) {
+        games++;
+        lengths[plies]++;
+        if (winner < 0) {
+            unfinished++;
+        } else {
+            wins[winner]++;
+        }
+    }
+
+    public void merge(SelfPlayStats other) {
+        games += other.games;
+        wins[SimBoard.RED] += other.wins[SimBoard.RED];
+        wins[SimBoard.BLUE] += other.wins[SimBoard.BLUE];
+        unfinished += other.unfinished;
+        for (int i = 0; i < lengths.length; i++) {
+            lengths[i] += other.lengths[i];
+        }
+        for (int t = 0; t < TYPES.length; t++) {
+            battles[t] += other.battles[t];
+            captures[t] += other.captures[t];
+            captured[t] += other.captured[t];
+        }
+    }
+
+    public long getGames() {
+        return games;
+    }
+
+    public long getRedWins() {
+        return wins[SimBoard.RED];
+    }
+
+    public long getBlueWins() {
+        return wins[SimBoard.BLUE];
+    }
+
+    public long getUnfinished() {
+        return unfinished;
+    }
+
+    public long getBattles(PieceType type) {
+        return battles[type.ordinal()];
+    }
+
+    public long getCaptures(PieceType type) {
+        return captures[type.ordinal()];
+    }
+
+    public long getCaptured(PieceType type) {
+        return captured[type.ordinal()];
+    }
+
+    public double getMeanLength() {
+        long total = 0;
+        for (int plies = 0; plies < lengths.length; plies++) {
+            total += plies * lengths[plies];
+        }
+        return games == 0 ? 0 : (double) total / games;
+    }
+
+    /**
+     * 게임 길이(수)의 백분위. fraction 은 0-1
+     */
+    public int getLengthPercentile(double fraction) {
+        long target = (long) Math.ceil(games * fraction);
+        long seen = 0;
+        for (int plies = 0; plies < lengths.length; plies++) {
+            seen += lengths[plies];
+            if (seen >= Math.max(1, target)) {
+                return plies;
+            }
+        }
+        return lengths.length - 1;
+    }
+
+    private static double rate(long part, long whole) {
+        return whole == 0 ? 0 : (double) part / whole;
+    }
+
+    /**
+     * JSON 으로 내보낼 집계 (Jackson 으로 그대로 직렬화)
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> lengthStats = new LinkedHashMap<>();
+        lengthStats.put("mean", getMeanLength());
+        lengthStats.put("p50", getLengthPercentile(0.5));
+        lengthStats.put("p90", getLengthPercentile(0.9));
+        lengthStats.put("p99", getLengthPercentile(0.99));
+        lengthStats.put("max", getLengthPercentile(1.0));
+
+        Map<String, Object> types = new LinkedHashMap<>();
+        for (PieceType type : TYPES) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("battles", battles[type.ordinal()]);
+            row.put("captures", captures[type.ordinal()]);
+            row.put("captured", captured[type.ordinal()]);
+            types.put(type.name(), row);
+        }
+
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("games", games);
+        map.put("redWins", getRedWins());
+        map.put("blueWins", getBlueWins());
+        map.put("unfinished", unfinished);
+        map.put("redWinRate", rate(getRedWins(), games));
+        map.put("blueWinRate", rate(getBlueWins(), games));
+        map.put("length", lengthStats);
+        map.put("pieceTypes", types);
+        return map;
+    }
+
+    /**
+     * 사람이 읽는 보고서
+     */
+    public String report() {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format(Locale.ROOT, "RED wins %.2f%%  BLUE wins %.2f%%  unfinished %.2f%%%n",
+                100 * rate(getRedWins(), games), 100 * rate(getBlueWins(), games), 100 * rate(unfinished, games)));
+        out.append(String.format(Locale.ROOT, "Game length (plies): mean %.1f  p50 %d  p90 %d  p99 %d  max %d%n",
+                getMeanLength(), getLengthPercentile(0.5), getLengthPercentile(0.9),
+                getLengthPercentile(0.99), getLengthPercentile(1.0)));
+        out.append(String.format(Locale.ROOT, "%-20s %12s %12s %12s %9s%n",
+                "Piece", "battles", "captures", "captured", "survive"));
+        for (PieceType type : TYPES) {
+            int t = type.ordinal();
+            out.append(String.format(Locale.ROOT, "%-20s %12d %12d %12d %8.1f%%%n",
+                    type.name(), battles[t], captures[t], captured[t],
+                    100 * (1 - rate(captured[t], battles[t]))));
+        }
+        return out.toString();
+    }
+}
@@ -0,0 +1,72 @@
+package com.board.game.ai;
+
+import com.board.game.model.Board;
+import com.board.game.model.Piece;
+import com.board.game.model.PieceType;
+import com.board.game.model.PlayerColor;
+import com.board.game.model.Position;
+import com.board.game.service.BattleRuleService;
+import com.board.game.service.BattleRuleSet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BotSearchTest {
+
+    private BattleRuleSet ruleSet;
+
+    @BeforeEach
+    void setUp() {
+        BattleRuleService battleRuleService = new BattleRuleService();
+        battleRuleService.init();
+        ruleSet = battleRuleService.getActiveRuleSet();
+    }
+
+    @Test
+    void testTakesExposedFlag() {
+        List<Piece> view = new ArrayList<>();
+        // 이 규칙에서 군기는 대장을 이기므로 군기를 이기는 소장으로 공격한다
+        view.add(new Piece("R1", PlayerColor.RED, PieceType.MAJOR_GENERAL, new Position(8, 3)));
+        view.add(new Piece("R2", PlayerColor.RED, PieceType.PRIVATE, new Position(2, 2)));
+        Piece flag = new Piece("B1", PlayerColor.BLUE, PieceType.FLAG, new Position(9, 3));
+        flag.setRevealed(true);
+        view.add(flag);
+        view.add(new Piece("B2", PlayerColor.BLUE, null, new Position(12, 0)));
+        view.add(new Piece("B3", PlayerColor.BLUE, null, new Position(12, 6)));
+
+        BotMove move = new BotSearch(ruleSet).choose(view, PlayerColor.RED, TimeUnit.MILLISECONDS.toNanos(200),
+                BotSearch.DEFAULT_SAMPLES, 1L);
+
+        assertEquals(new Position(8, 3), move.getFrom());
+        assertEquals(new Position(9, 3), move.getTo());
+    }
+
+    @Test
+    void testStaysWithinBudgetOnFullBoard() {
+        Board board = new Board();
+        List<Piece> view = new ArrayList<>();
+        for (Piece piece : board.getPieces()) {
+            Piece copy = new Piece(piece.getId(), piece.getColor(), piece.getType(), piece.getPosition());
+            if (copy.getColor() == PlayerColor.RED) {
+                copy.setType(null);
+            }
+            view.add(copy);
+        }
+        board.setCurrentTurn(PlayerColor.BLUE);
+        board.setRuleSet(ruleSet);
+
+        long start = System.nanoTime();
+        BotMove move = new BotSearch(ruleSet).choose(view, PlayerColor.BLUE, TimeUnit.MILLISECONDS.toNanos(100),
+                BotSearch.DEFAULT_SAMPLES, 2L);
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertNotNull(move);
+        assertTrue(elapsed < 1000, "Search took " + elapsed + "ms");
+        assertTrue(board.movePiece(move.getFrom(), move.getTo()), "Bot move must be legal");
+    }
+}
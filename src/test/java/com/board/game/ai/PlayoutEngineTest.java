@@ -0,0 +1,79 @@
+package com.board.game.ai;
+
+import com.board.game.model.Board;
+import com.board.game.model.Piece;
+import com.board.game.model.PieceType;
+import com.board.game.model.PlayerColor;
+import com.board.game.model.Position;
+import com.board.game.service.BattleRuleService;
+import com.board.game.service.BattleRuleSet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlayoutEngineTest {
+
+    private BattleRuleSet ruleSet;
+
+    @BeforeEach
+    void setUp() {
+        BattleRuleService battleRuleService = new BattleRuleService();
+        battleRuleService.init();
+        ruleSet = battleRuleService.getActiveRuleSet();
+    }
+
+    private List<Piece> hiddenBlueView() {
+        List<Piece> view = new ArrayList<>();
+        for (Piece piece : new Board().getPieces()) {
+            Piece copy = new Piece(piece.getId(), piece.getColor(), piece.getType(), piece.getPosition());
+            if (copy.getColor() == PlayerColor.BLUE) {
+                copy.setType(null);
+            }
+            view.add(copy);
+        }
+        return view;
+    }
+
+    @Test
+    void testWinningCaptureHasBestWinRate() {
+        List<Piece> view = new ArrayList<>();
+        view.add(new Piece("R1", PlayerColor.RED, PieceType.MAJOR_GENERAL, new Position(8, 3)));
+        view.add(new Piece("R2", PlayerColor.RED, PieceType.PRIVATE, new Position(2, 2)));
+        Piece flag = new Piece("B1", PlayerColor.BLUE, PieceType.FLAG, new Position(9, 3));
+        flag.setRevealed(true);
+        view.add(flag);
+        view.add(new Piece("B2", PlayerColor.BLUE, null, new Position(12, 0)));
+
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            PlayoutResult result = new PlayoutEngine(pool).analyse(ruleSet, view, PlayerColor.RED, 4000, 100, 3L);
+
+            assertEquals(4000, result.getMoves().stream().mapToLong(PlayoutResult.MoveStats::getPlayouts).sum());
+            assertEquals(new Position(9, 3), result.getBest().getTo());
+            assertEquals(1.0, result.getBest().getWinRate());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testResultDoesNotDependOnPoolSize() {
+        List<Piece> view = hiddenBlueView();
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool wide = new ForkJoinPool(4);
+        try {
+            PlayoutResult a = new PlayoutEngine(single).analyse(ruleSet, view, PlayerColor.RED, 2000, 60, 11L);
+            PlayoutResult b = new PlayoutEngine(wide).analyse(ruleSet, view, PlayerColor.RED, 2000, 60, 11L);
+            assertEquals(a.getMoves(), b.getMoves());
+            assertFalse(a.getMoves().isEmpty());
+        } finally {
+            single.shutdown();
+            wide.shutdown();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.board.game.ai;
+
+import com.board.game.model.Board;
+import com.board.game.model.BoardCells;
+import com.board.game.model.Piece;
+import com.board.game.model.PieceType;
+import com.board.game.model.PlayerColor;
+import com.board.game.service.BattleRuleService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 탐색용 보드가 Board 와 같은 규칙으로 움직이는지 확인
+ */
+class SimBoardTest {
+
+    private BattleRuleService battleRuleService;
+
+    @BeforeEach
+    void setUp() {
+        battleRuleService = new BattleRuleService();
+        battleRuleService.init();
+    }
+
+    @Test
+    void testRandomGameMatchesBoard() {
+        SplittableRandom random = new SplittableRandom(7);
+        for (int game = 0; game < 20; game++) {
+            Board board = new Board();
+            board.setBattleRuleService(battleRuleService);
+            SimBoard sim = new SimBoard(board.getRuleSet(), board.getPieces(), PlayerColor.RED);
+            assertEquals(board.getHash(), sim.hash());
+
+            int[] moves = new int[SimBoard.MAX_MOVES];
+            for (int ply = 0; ply < 400 && !sim.isOver(); ply++) {
+                int count = sim.generateMoves(moves);
+                if (count == 0) {
+                    break;
+                }
+                int move = moves[random.nextInt(count)];
+                assertTrue(board.movePiece(BoardCells.positionOf(SimBoard.from(move)),
+                        BoardCells.positionOf(SimBoard.to(move))));
+                sim.apply(move);
+
+                assertEquals(board.getHash(), sim.hash(), "Hash diverged at ply " + ply);
+                assertEquals(board.isGameOver(), sim.isOver());
+            }
+            if (sim.isOver()) {
+                assertEquals(board.getWinner() == PlayerColor.RED ? SimBoard.RED : SimBoard.BLUE, sim.winner());
+            }
+        }
+    }
+
+    @Test
+    void testCopyIsIndependent() {
+        Board board = new Board();
+        board.setBattleRuleService(battleRuleService);
+        SimBoard sim = new SimBoard(board.getRuleSet(), board.getPieces(), PlayerColor.RED);
+        SimBoard copy = sim.copy();
+
+        int[] moves = new int[SimBoard.MAX_MOVES];
+        sim.generateMoves(moves);
+        copy.apply(moves[0]);
+        assertNotEquals(sim.hash(), copy.hash());
+        assertEquals(SimBoard.RED, sim.turn());
+
+        copy.copyFrom(sim);
+        assertEquals(sim.hash(), copy.hash());
+        assertThrows(IllegalArgumentException.class,
+                () -> copy.copyFrom(new SimBoard(board.getRuleSet(), board.getPieces(), PlayerColor.RED)));
+    }
+
+    @Test
+    void testDeterminizerFillsHiddenPiecesFromRemainingSet() {
+        Board board = new Board();
+        board.setBattleRuleService(battleRuleService);
+        for (Piece piece : board.getPieces()) {
+            if (piece.getColor() == PlayerColor.BLUE && !piece.getId().equals("B3")) {
+                piece.setType(null);
+            }
+        }
+        SimBoard template = new SimBoard(board.getRuleSet(), board.getPieces(), PlayerColor.RED);
+        Determinizer determinizer = new Determinizer(template, PlayerColor.RED);
+        assertTrue(determinizer.hasHiddenPieces());
+
+        SimBoard sample = template.copy();
+        determinizer.sample(sample, new SplittableRandom(1));
+
+        // B3 은 군기로 드러나 있으므로 나머지 말에는 군기가 나오지 않는다
+        int flags = 0;
+        for (int slot = 0; slot < sample.size(); slot++) {
+            assertTrue(sample.typeOf(slot) >= 0);
+            if (sample.colorOf(slot) == SimBoard.BLUE && sample.typeOf(slot) == PieceType.FLAG.ordinal()) {
+                flags++;
+            }
+        }
+        assertEquals(1, flags);
+    }
+}
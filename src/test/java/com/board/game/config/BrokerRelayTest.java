@@ -0,0 +1,129 @@
+package com.board.game.config;
+
+import org.apache.activemq.artemis.core.config.impl.ConfigurationImpl;
+import org.apache.activemq.artemis.core.server.embedded.EmbeddedActiveMQ;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.messaging.converter.SimpleMessageConverter;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.*;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.lang.reflect.Type;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * game.broker.mode=relay 에서 토픽과 /user/queue/reply 가 외부 STOMP 브로커(내장 Artemis)를 거쳐 도착하는지 확인
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class BrokerRelayTest {
+
+    private static EmbeddedActiveMQ broker;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private StompBrokerRelayMessageHandler relay;
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @DynamicPropertySource
+    static void relayProperties(DynamicPropertyRegistry registry) throws Exception {
+        int stompPort;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            stompPort = socket.getLocalPort();
+        }
+        broker = new EmbeddedActiveMQ().setConfiguration(new ConfigurationImpl()
+                .setPersistenceEnabled(false)
+                .setSecurityEnabled(false)
+                .addAcceptorConfiguration("stomp", "tcp://127.0.0.1:" + stompPort + "?protocols=STOMP"));
+        broker.start();
+
+        registry.add("game.broker.mode", () -> "relay");
+        registry.add("game.broker.relay.host", () -> "127.0.0.1");
+        registry.add("game.broker.relay.port", () -> stompPort);
+    }
+
+    @AfterAll
+    static void stopBroker() throws Exception {
+        if (broker != null) {
+            broker.stop();
+        }
+    }
+
+    @Test
+    void testTopicsAndUserRepliesGoThroughRelay() throws Exception {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!relay.isBrokerAvailable() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertTrue(relay.isBrokerAvailable(), "relay did not connect to the broker");
+
+        WebSocketStompClient client = new WebSocketStompClient(new StandardWebSocketClient());
+        client.setMessageConverter(new SimpleMessageConverter());
+        ThreadPoolTaskScheduler receipts = new ThreadPoolTaskScheduler();
+        receipts.initialize();
+        client.setTaskScheduler(receipts);
+        StompHeaders connectHeaders = new StompHeaders();
+        connectHeaders.add(PlayerPrincipalInterceptor.PLAYER_ID_HEADER, "relayPlayer");
+        StompSession session = client.connectAsync("ws://localhost:" + port + "/ws-native",
+                new WebSocketHttpHeaders(), connectHeaders, new StompSessionHandlerAdapter() { })
+                .get(10, TimeUnit.SECONDS);
+        session.setAutoReceipt(true);
+
+        BlockingQueue<String> topic = new LinkedBlockingQueue<>();
+        BlockingQueue<String> replies = new LinkedBlockingQueue<>();
+        CountDownLatch subscribed = new CountDownLatch(2);
+        session.subscribe("/topic/relay-check", collect(topic)).addReceiptTask(subscribed::countDown);
+        session.subscribe("/user/queue/reply", collect(replies)).addReceiptTask(subscribed::countDown);
+        // 수신 확인은 브로커가 구독을 처리한 뒤에 온다
+        assertTrue(subscribed.await(10, TimeUnit.SECONDS));
+
+        messagingTemplate.convertAndSend("/topic/relay-check", "hello");
+        assertEquals("hello", topic.poll(10, TimeUnit.SECONDS));
+
+        StompHeaders join = new StompHeaders();
+        join.setDestination("/app/game.join");
+        join.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        session.send(join, "{\"playerId\":\"relayPlayer\"}".getBytes(StandardCharsets.UTF_8));
+        String reply = replies.poll(10, TimeUnit.SECONDS);
+        assertNotNull(reply, "join reply did not come back through the relay");
+        assertTrue(reply.contains("\"roomId\""), reply);
+
+        session.disconnect();
+        client.stop();
+        receipts.shutdown();
+    }
+
+    private static StompFrameHandler collect(BlockingQueue<String> queue) {
+        return new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return byte[].class;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                queue.add(new String((byte[]) payload, StandardCharsets.UTF_8));
+            }
+        };
+    }
+}
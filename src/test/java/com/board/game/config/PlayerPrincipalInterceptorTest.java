@@ -0,0 +1,42 @@
+package com.board.game.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * CONNECT 프레임의 playerId 헤더가 세션 사용자로 등록되는지 확인
+ */
+class PlayerPrincipalInterceptorTest {
+
+    private final PlayerPrincipalInterceptor interceptor = new PlayerPrincipalInterceptor();
+
+    @Test
+    void testConnectWithPlayerIdSetsUser() {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.CONNECT);
+        accessor.setNativeHeader(PlayerPrincipalInterceptor.PLAYER_ID_HEADER, "player1");
+
+        Message<?> result = interceptor.preSend(message(accessor), null);
+
+        assertEquals("player1", StompHeaderAccessor.wrap(result).getUser().getName());
+    }
+
+    @Test
+    void testOtherFramesAreLeftAnonymous() {
+        StompHeaderAccessor connect = StompHeaderAccessor.create(StompCommand.CONNECT);
+        assertNull(StompHeaderAccessor.wrap(interceptor.preSend(message(connect), null)).getUser());
+
+        StompHeaderAccessor send = StompHeaderAccessor.create(StompCommand.SEND);
+        send.setNativeHeader(PlayerPrincipalInterceptor.PLAYER_ID_HEADER, "player1");
+        assertNull(StompHeaderAccessor.wrap(interceptor.preSend(message(send), null)).getUser());
+    }
+
+    private static Message<byte[]> message(StompHeaderAccessor accessor) {
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
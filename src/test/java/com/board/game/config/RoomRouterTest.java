@@ -0,0 +1,81 @@
+package com.board.game.config;
+
+import com.board.game.service.BattleRuleService;
+import com.board.game.service.GameService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 방 ID 의 노드 접두사로 소유 노드를 찾는지 확인
+ */
+class RoomRouterTest {
+
+    private RoomRouter roomRouter;
+
+    @BeforeEach
+    void setUp() {
+        roomRouter = new RoomRouter();
+        roomRouter.setNodeId("a");
+        roomRouter.setNodes(Map.of(
+                "a", "http://node-a:8080",
+                "b", "http://node-b:8080"));
+    }
+
+    @Test
+    void testRoomsAreRoutedByNodePrefix() {
+        assertNull(roomRouter.ownerUrl("a-1234abcd"));
+        assertEquals("http://node-b:8080", roomRouter.ownerUrl("b-1234abcd"));
+
+        // 접두사가 없거나 모르는 노드의 방은 이 노드에서 처리
+        assertTrue(roomRouter.isLocal("1234abcd"));
+        assertTrue(roomRouter.isLocal("c-1234abcd"));
+        assertTrue(roomRouter.isLocal(null));
+    }
+
+    @Test
+    void testNodeIdsWithSeparatorFailAtStartup() {
+        roomRouter.validate();
+
+        roomRouter.setNodeId("node-a");
+        assertThrows(IllegalStateException.class, roomRouter::validate);
+
+        roomRouter.setNodeId("a");
+        roomRouter.setNodes(Map.of("node-b", "http://node-b:8080"));
+        assertThrows(IllegalStateException.class, roomRouter::validate);
+    }
+
+    @Test
+    void testQuickMatchIsRoutedToMatchmaker() {
+        assertNull(roomRouter.matchmakerUrl());
+
+        roomRouter.setMatchmaker("b");
+        roomRouter.validate();
+        assertEquals("http://node-b:8080", roomRouter.matchmakerUrl());
+
+        // 매칭 노드 자신은 직접 처리한다
+        roomRouter.setMatchmaker("a");
+        assertNull(roomRouter.matchmakerUrl());
+
+        roomRouter.setMatchmaker("c");
+        assertThrows(IllegalStateException.class, roomRouter::validate);
+    }
+
+    @Test
+    void testGameServicePrefixesRoomIdsWithNodeId() {
+        BattleRuleService battleRuleService = new BattleRuleService();
+        battleRuleService.init();
+        GameService gameService = new GameService(battleRuleService);
+        ReflectionTestUtils.setField(gameService, "nodeId", "b");
+
+        String roomId = gameService.createRoom("redPlayer");
+
+        assertEquals("b", RoomRouter.ownerOf(roomId));
+        assertEquals("http://node-b:8080", roomRouter.ownerUrl(roomId));
+        assertNotNull(gameService.getRoom(roomId));
+    }
+}
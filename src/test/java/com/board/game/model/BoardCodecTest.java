@@ -0,0 +1,94 @@
+package com.board.game.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoardCodecTest {
+
+    private GameRoom playingRoom() {
+        GameRoom room = new GameRoom("room1");
+        room.setBoard(new Board());
+        room.setStatus(GameStatus.PLAYING);
+        room.setRedPlayer("redPlayer");
+        room.setBluePlayer("bluePlayer");
+        room.setRedPlayerReady(true);
+        room.setBluePlayerReady(true);
+        room.getBoard().setCurrentTurn(PlayerColor.BLUE);
+        return room;
+    }
+
+    @Test
+    void testFullEncodingRoundTrip() {
+        GameRoom room = playingRoom();
+        Board board = room.getBoard();
+        board.getPieces().get(0).setCaptured(true);
+        board.getPieces().get(1).setRevealed(true);
+        board.getPieces().get(40).setPosition(new Position(6.5, 1.5));
+        board.getPieces().remove(69);
+
+        assertTrue(BoardCodec.isEncodable(board));
+        byte[] data = BoardCodec.encode(room);
+        assertTrue(data.length < 100, "Encoded state should fit in under 100 bytes");
+
+        GameRoom restored = new GameRoom("room1");
+        BoardCodec.decode(data, restored);
+
+        assertEquals(GameStatus.PLAYING, restored.getStatus());
+        assertEquals(PlayerColor.BLUE, restored.getBoard().getCurrentTurn());
+        assertTrue(restored.isRedPlayerReady() && restored.isBluePlayerReady());
+        assertEquals(69, restored.getBoard().getPieces().size());
+
+        // 잡힌 말의 위치는 남기지 않는다
+        board.getPieces().get(0).setPosition(null);
+        Comparator<Piece> byId = Comparator.comparing(Piece::getId);
+        assertEquals(board.getPieces().stream().sorted(byId).toList(),
+                restored.getBoard().getPieces().stream().sorted(byId).toList());
+        assertArrayEquals(data, BoardCodec.encode(restored));
+    }
+
+    @Test
+    void testViewDoesNotTieHiddenPiecesToIds() {
+        GameRoom room = playingRoom();
+        Piece revealed = room.getBoard().getPieces().stream()
+                .filter(p -> p.getId().equals("B3"))
+                .findFirst()
+                .orElseThrow();
+        revealed.setRevealed(true);
+
+        byte[] view = BoardCodec.encodeView(RoomProjection.of(room), PlayerColor.RED);
+        assertEquals(BoardCodec.VIEW_LENGTH, view.length);
+
+        int hiddenSlots = 0;
+        for (int slot = BoardCodec.PIECES_PER_SIDE; slot < BoardCodec.SLOTS; slot++) {
+            if ((view[2 + slot] & 0x7F) == 0x7C) {
+                hiddenSlots++;
+            }
+        }
+        int hiddenCells = 0;
+        for (int i = BoardCodec.FULL_LENGTH; i < view.length; i++) {
+            hiddenCells += Integer.bitCount(view[i] & 0xFF);
+        }
+
+        assertEquals(34, hiddenSlots);
+        assertEquals(34, hiddenCells);
+        int revealedCell = BoardCells.indexOf(revealed.getPosition());
+        assertEquals(revealedCell | 0x80, view[2 + BoardCodec.slotOf("B3")] & 0xFF);
+    }
+
+    @Test
+    void testSlotOf() {
+        assertEquals(0, BoardCodec.slotOf("R1"));
+        assertEquals(34, BoardCodec.slotOf("R35"));
+        assertEquals(35, BoardCodec.slotOf("B1"));
+        assertEquals(-1, BoardCodec.slotOf("R36"));
+        assertEquals(-1, BoardCodec.slotOf("R01"));
+        assertEquals(-1, BoardCodec.slotOf("X1"));
+
+        Board board = new Board(true);
+        board.getPieces().add(new Piece("R1", PlayerColor.RED, PieceType.SCOUT, new Position(0, 0)));
+        assertFalse(BoardCodec.isEncodable(board));
+    }
+}
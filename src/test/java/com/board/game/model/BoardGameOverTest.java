@@ -0,0 +1,65 @@
+package com.board.game.model;
+
+import com.board.game.service.BattleRuleService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 잡힐 때마다 갱신한 말 수와 군기 상태로 종료와 승자를 판정하는지 확인
+ */
+class BoardGameOverTest {
+
+    private Board board;
+
+    @BeforeEach
+    void setUp() {
+        BattleRuleService battleRuleService = new BattleRuleService();
+        battleRuleService.init();
+        board = new Board(true);
+        board.setBattleRuleService(battleRuleService);
+        board.getPieces().add(new Piece("R1", PlayerColor.RED, PieceType.MAJOR_GENERAL, new Position(4, 3)));
+        board.getPieces().add(new Piece("R2", PlayerColor.RED, PieceType.FLAG, new Position(0, 0)));
+        board.getPieces().add(new Piece("B1", PlayerColor.BLUE, PieceType.FLAG, new Position(5, 3)));
+        board.getPieces().add(new Piece("B2", PlayerColor.BLUE, PieceType.PRIVATE, new Position(9, 5)));
+        board.setCurrentTurn(PlayerColor.RED);
+    }
+
+    @Test
+    void testCapturedFlagEndsGame() {
+        assertFalse(board.isGameOver());
+        assertNull(board.getWinner());
+
+        assertTrue(board.movePiece(new Position(4, 3), new Position(5, 3)));
+
+        assertTrue(board.isGameOver());
+        assertEquals(PlayerColor.RED, board.getWinner());
+    }
+
+    @Test
+    void testLastPieceCapturedEndsGame() {
+        board.getPieces().removeIf(piece -> piece.getType() == PieceType.FLAG);
+        board.getPieces().add(new Piece("B1", PlayerColor.BLUE, PieceType.PRIVATE, new Position(5, 3)));
+        board.getPieces().removeIf(piece -> piece.getId().equals("B2"));
+        assertFalse(board.isGameOver());
+
+        assertTrue(board.movePiece(new Position(4, 3), new Position(5, 3)));
+
+        assertTrue(board.isGameOver());
+        assertEquals(PlayerColor.RED, board.getWinner());
+    }
+
+    @Test
+    void testCountsFollowPieceListChanges() {
+        assertFalse(board.isGameOver());
+
+        // Board 를 거치지 않고 목록을 바꾸면 다음 조회에서 다시 센다
+        Piece flag = new Piece("R3", PlayerColor.RED, PieceType.FLAG, null);
+        flag.setCaptured(true);
+        board.getPieces().add(flag);
+
+        assertTrue(board.isGameOver());
+        assertEquals(PlayerColor.BLUE, board.getWinner());
+    }
+}
@@ -0,0 +1,98 @@
+package com.board.game.model;
+
+import com.board.game.service.BattleRuleService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoardOccupancyTest {
+
+    private Board board;
+
+    @BeforeEach
+    void setUp() {
+        board = new Board(true);
+        BattleRuleService battleRuleService = new BattleRuleService();
+        battleRuleService.init();
+        board.setBattleRuleService(battleRuleService);
+    }
+
+    @Test
+    void testCellIndexCoversBothSidesAndCrossings() {
+        assertEquals(0, BoardCells.indexOf(0, 0));
+        assertEquals(BoardCells.CROSSING_TOP, BoardCells.indexOf(6.5, 1.5));
+        assertEquals(BoardCells.CROSSING_BOTTOM, BoardCells.indexOf(6.5, 4.5));
+        assertEquals(BoardCells.NONE, BoardCells.indexOf(6, 3));
+        assertEquals(BoardCells.NONE, BoardCells.indexOf(4.5, 3));
+
+        for (int cell = 0; cell < BoardCells.CELL_COUNT; cell++) {
+            Position position = BoardCells.positionOf(cell);
+            assertTrue(position.isValid(), "Cell " + cell + " should map to a valid position");
+            assertEquals(cell, BoardCells.indexOf(position));
+        }
+    }
+
+    @Test
+    void testPiecesAddedThroughListAreFound() {
+        Piece general = new Piece("R1", PlayerColor.RED, PieceType.GENERAL, new Position(6.5, 1.5));
+        board.getPieces().add(general);
+
+        assertSame(general, board.getPieceAt(new Position(6.5, 1.5)));
+        assertNull(board.getPieceAt(new Position(5, 1)));
+    }
+
+    @Test
+    void testOccupancyFollowsMovesAndCaptures() {
+        Piece general = new Piece("R1", PlayerColor.RED, PieceType.GENERAL, new Position(4, 3));
+        Piece private_ = new Piece("B1", PlayerColor.BLUE, PieceType.PRIVATE, new Position(5, 3));
+        board.getPieces().add(general);
+        board.getPieces().add(private_);
+
+        assertTrue(board.movePiece(new Position(4, 3), new Position(5, 3)));
+
+        assertNull(board.getPieceAt(new Position(4, 3)));
+        assertSame(general, board.getPieceAt(new Position(5, 3)));
+    }
+
+    @Test
+    void testPlacePieceRejectsOccupiedCell() {
+        board.addPiece(new Piece("R1", PlayerColor.RED, PieceType.GENERAL, null));
+        board.addPiece(new Piece("R2", PlayerColor.RED, PieceType.MINE, null));
+
+        assertTrue(board.placePiece("R1", new Position(1, 1)));
+        assertFalse(board.placePiece("R2", new Position(1, 1)), "Cell already holds R1");
+
+        assertTrue(board.placePiece("R1", null));
+        assertNull(board.getPieceAt(new Position(1, 1)));
+        assertTrue(board.placePiece("R2", new Position(1, 1)));
+    }
+
+    @Test
+    void testAdjacencyMatchesBoardLines() {
+        int crossing = BoardCells.CROSSING_TOP;
+        assertTrue(BoardCells.isAdjacent(BoardCells.indexOf(5, 1), crossing));
+        assertTrue(BoardCells.isAdjacent(crossing, BoardCells.indexOf(8, 2)));
+        assertFalse(BoardCells.isAdjacent(BoardCells.indexOf(5, 3), crossing));
+        assertFalse(BoardCells.isAdjacent(BoardCells.indexOf(5, 1), BoardCells.indexOf(8, 1)));
+        assertFalse(BoardCells.isAdjacent(BoardCells.indexOf(4, 3), BoardCells.indexOf(5, 4)));
+        assertTrue(BoardCells.isAdjacent(BoardCells.indexOf(4, 3), BoardCells.indexOf(4, 4)));
+        assertEquals(4, BoardCells.neighbourCount(BoardCells.CROSSING_BOTTOM));
+    }
+
+    @Test
+    void testLegalMovesIncludeCrossingPoint() {
+        board.getPieces().add(new Piece("R1", PlayerColor.RED, PieceType.GENERAL, new Position(5, 1)));
+        board.getPieces().add(new Piece("R2", PlayerColor.RED, PieceType.MAJOR, new Position(5, 0)));
+
+        List<Position> moves = board.getLegalMoves(new Position(5, 1));
+
+        assertEquals(3, moves.size());
+        assertTrue(moves.contains(new Position(4, 1)));
+        assertTrue(moves.contains(new Position(5, 2)));
+        assertTrue(moves.contains(new Position(6.5, 1.5)));
+        assertTrue(board.movePiece(new Position(5, 1), new Position(6.5, 1.5)));
+    }
+}
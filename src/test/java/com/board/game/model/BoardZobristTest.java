@@ -0,0 +1,78 @@
+package com.board.game.model;
+
+import com.board.game.service.BattleRuleService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 이동과 배치로 갱신한 해시가 같은 위치를 처음부터 계산한 해시와 같은지 확인
+ */
+class BoardZobristTest {
+
+    private Board board;
+
+    @BeforeEach
+    void setUp() {
+        BattleRuleService battleRuleService = new BattleRuleService();
+        battleRuleService.init();
+        board = new Board(true);
+        board.setBattleRuleService(battleRuleService);
+        board.getPieces().add(new Piece("R1", PlayerColor.RED, PieceType.GENERAL, new Position(4, 3)));
+        board.getPieces().add(new Piece("R2", PlayerColor.RED, PieceType.SCOUT, new Position(4, 5)));
+        board.getPieces().add(new Piece("B1", PlayerColor.BLUE, PieceType.SCOUT, new Position(5, 3)));
+        board.getPieces().add(new Piece("B2", PlayerColor.BLUE, PieceType.GENERAL, new Position(9, 5)));
+        board.setCurrentTurn(PlayerColor.RED);
+    }
+
+    private long recomputed(Board source) {
+        Board copy = new Board(true);
+        for (Piece piece : source.getPieces()) {
+            Piece clone = new Piece(piece.getId(), piece.getColor(), piece.getType(), piece.getPosition());
+            clone.setCaptured(piece.isCaptured());
+            clone.setRevealed(piece.isRevealed());
+            copy.getPieces().add(clone);
+        }
+        copy.setCurrentTurn(source.getCurrentTurn());
+        return copy.getHash();
+    }
+
+    @Test
+    void testIncrementalHashMatchesRecomputed() {
+        long start = board.getHash();
+        assertEquals(recomputed(board), start);
+
+        // 대장이 척후병을 잡고 노출됨
+        assertTrue(board.movePiece(new Position(4, 3), new Position(5, 3)));
+        assertNotEquals(start, board.getHash());
+        assertEquals(recomputed(board), board.getHash());
+
+        assertTrue(board.movePiece(new Position(9, 5), new Position(8, 5)));
+        assertEquals(recomputed(board), board.getHash());
+    }
+
+    @Test
+    void testPlacementUpdatesHash() {
+        Piece inventory = new Piece("R3", PlayerColor.RED, PieceType.FLAG, null);
+        board.getPieces().add(inventory);
+        long before = board.getHash();
+
+        assertTrue(board.placePiece("R3", new Position(0, 0)));
+        assertNotEquals(before, board.getHash());
+        assertEquals(recomputed(board), board.getHash());
+    }
+
+    @Test
+    void testShuffleBackRepeatsHash() {
+        long start = board.getHash();
+
+        assertTrue(board.movePiece(new Position(4, 5), new Position(3, 5)));
+        assertTrue(board.movePiece(new Position(9, 5), new Position(10, 5)));
+        assertTrue(board.movePiece(new Position(3, 5), new Position(4, 5)));
+        assertNotEquals(start, board.getHash(), "Side to move is part of the position");
+        assertTrue(board.movePiece(new Position(10, 5), new Position(9, 5)));
+
+        assertEquals(start, board.getHash());
+    }
+}
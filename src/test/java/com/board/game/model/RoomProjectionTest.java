@@ -0,0 +1,49 @@
+package com.board.game.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 관전자 화면이 가린 말의 타입을 ID 나 순서로도 드러내지 않는지 확인
+ */
+class RoomProjectionTest {
+
+    @Test
+    void testSpectatorViewHidesCanonicalIds() {
+        GameRoom room = new GameRoom("room1");
+        room.addPlayer("redPlayer");
+        room.addPlayer("bluePlayer");
+        room.setStatus(GameStatus.PLAYING);
+
+        Board board = room.getBoard();
+        board.getPieces().clear();
+        board.getPieces().add(new Piece("R3", PlayerColor.RED, PieceType.FLAG, new Position(0, 3)));
+        board.getPieces().add(new Piece("R1", PlayerColor.RED, PieceType.MINE, new Position(0, 0)));
+        board.getPieces().add(new Piece("B2", PlayerColor.BLUE, PieceType.GENERAL, new Position(13, 1)));
+        Piece revealed = new Piece("B5", PlayerColor.BLUE, PieceType.MAJOR_GENERAL, new Position(9, 2));
+        revealed.setRevealed(true);
+        board.getPieces().add(revealed);
+
+        List<Piece> spectator = RoomProjection.of(room).piecesFor(null);
+        assertEquals(4, spectator.size());
+        for (Piece piece : spectator) {
+            if (piece.getType() == null) {
+                assertEquals(-1, BoardCodec.slotOf(piece.getId()), piece.getId());
+                assertTrue(piece.getId().startsWith(RoomProjection.HIDDEN_ID_PREFIX));
+            }
+        }
+        // 노출된 말은 두 플레이어 모두 알므로 그대로 보인다
+        assertTrue(spectator.stream().anyMatch(p -> "B5".equals(p.getId()) && p.getType() == PieceType.MAJOR_GENERAL));
+
+        // 가린 말은 칸 순서이므로 보드 목록 순서(R3, R1)와 무관하다
+        List<Piece> hidden = spectator.stream().filter(p -> p.getType() == null).toList();
+        assertEquals(new Position(0, 0), hidden.get(0).getPosition());
+        assertEquals(new Position(0, 3), hidden.get(1).getPosition());
+
+        // 플레이어 화면은 그대로 자기 말 ID 를 쓴다
+        assertTrue(RoomProjection.of(room).piecesFor(PlayerColor.RED).stream().anyMatch(p -> "R3".equals(p.getId())));
+    }
+}
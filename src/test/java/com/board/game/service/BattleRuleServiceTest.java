@@ -3,6 +3,15 @@ package com.board.game.service;
 import com.board.game.model.PieceType;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -105,4 +114,90 @@ class BattleRuleServiceTest {
         // 고사포가 비행기를 이김
         assertEquals(1, battleRuleService.resolveBattle(PieceType.ANTI_AIRCRAFT, PieceType.AIRPLANE));
     }
+
+    @Test
+    void testOutcomeTableIsAntisymmetric() {
+        // 공격과 방어를 바꾸면 결과도 반대가 되어야 함
+        for (PieceType attacker : PieceType.values()) {
+            for (PieceType defender : PieceType.values()) {
+                assertEquals(-battleRuleService.resolveBattle(defender, attacker),
+                        battleRuleService.resolveBattle(attacker, defender),
+                        attacker + " vs " + defender);
+            }
+        }
+    }
+
+    @Test
+    void testMutualWinIsDraw() {
+        // 대장과 탱크는 서로 이긴다고 정의되어 있어 무승부
+        assertEquals(0, battleRuleService.resolveBattle(PieceType.GENERAL, PieceType.TANK));
+        assertEquals(0, battleRuleService.resolveBattle(PieceType.TANK, PieceType.GENERAL));
+    }
+
+    @Test
+    void testReloadKeepsPinnedRuleSet() {
+        // 진행 중인 방이 잡고 있는 규칙은 다시 로드해도 바뀌지 않음
+        BattleRuleSet pinned = battleRuleService.getActiveRuleSet();
+        battleRuleService.reload();
+
+        assertNotSame(pinned, battleRuleService.getActiveRuleSet());
+        assertEquals("v1", pinned.getVersion());
+        assertEquals(1, pinned.resolveBattle(PieceType.ENGINEER, PieceType.MINE));
+    }
+
+    @Test
+    void testCompileRejectsIncompleteRules() {
+        assertThrows(IllegalStateException.class,
+                () -> BattleRuleSet.compile("broken", Map.of("대장", List.of("중장"))));
+        assertThrows(IllegalStateException.class,
+                () -> BattleRuleSet.compile("broken", Map.of("원수", List.of("대장"))));
+    }
+
+    @Test
+    void testCompileRejectsUndeclaredMutualWin() {
+        Map<String, List<String>> winRules = new HashMap<>();
+        for (PieceType type : PieceType.values()) {
+            winRules.put(type.getKoreanName(), new ArrayList<>());
+        }
+        winRules.get("대장").add("탱크");
+        winRules.get("탱크").add("대장");
+
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> BattleRuleSet.compile("broken", winRules));
+        assertTrue(e.getMessage().contains("대장-탱크"), e.getMessage());
+
+        // 무승부로 적어 두면 허용
+        BattleRuleSet ruleSet = BattleRuleSet.compile("draw", winRules, List.of(List.of("탱크", "대장")));
+        assertEquals(0, ruleSet.resolveBattle(PieceType.GENERAL, PieceType.TANK));
+        assertEquals(0, ruleSet.resolveBattle(PieceType.TANK, PieceType.GENERAL));
+    }
+
+    @Test
+    void testSelectSwitchesVersionsAtOnce(@TempDir Path dir) throws Exception {
+        String v1 = new String(getClass().getResourceAsStream("/rules/battle-rules-v1.json").readAllBytes(), StandardCharsets.UTF_8);
+        Files.writeString(dir.resolve("v1.json"), v1);
+        Files.writeString(dir.resolve("v2.json"), v1.replaceFirst("\"version\"\\s*:\\s*\"v1\"", "\"version\": \"v2\""));
+        BattleRuleService service = new BattleRuleService("file:" + dir + "/*.json");
+        service.init();
+
+        service.select("v2", "v1", 100);
+        assertEquals("v2", service.getActiveVersion());
+        assertEquals("v2", service.getActiveRuleSet().getVersion());
+        // 100% 면 새 방은 모두 후보 규칙
+        assertEquals("v1", service.assignRuleSet().getVersion());
+
+        // 잘못된 설정은 하나도 적용하지 않는다
+        assertThrows(IllegalArgumentException.class, () -> service.select("v1", "v3", 10));
+        assertThrows(IllegalArgumentException.class, () -> service.select("v1", "", 101));
+        assertThrows(IllegalArgumentException.class, () -> service.select("v3", "", 0));
+        assertEquals("v2", service.getActiveVersion());
+        assertEquals("v1", service.getCandidateVersion());
+        assertEquals(100, service.getCandidatePercent());
+
+        // 다시 읽어도 선택은 유지된다
+        service.reload();
+        service.select("v1", null, 0);
+        assertEquals("v1", service.assignRuleSet().getVersion());
+        assertEquals("", service.getCandidateVersion());
+    }
 }
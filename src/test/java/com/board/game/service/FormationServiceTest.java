@@ -0,0 +1,72 @@
+package com.board.game.service;
+
+import com.board.game.model.PlayerColor;
+import com.board.game.model.Position;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 배치 템플릿 읽기, 검증, 좌표 변환 확인
+ */
+class FormationServiceTest {
+
+    @Test
+    void testPredefinedTemplatesMirrorForBlue() {
+        FormationService service = new FormationService();
+        service.init();
+
+        Map<String, Position> red = service.placements("standard", PlayerColor.RED);
+        Map<String, Position> blue = service.placements("standard", PlayerColor.BLUE);
+        assertEquals(35, red.size());
+        assertEquals(new Position(0, 2), red.get("R3"));
+        assertEquals(new Position(13, 2), blue.get("B3"));
+        assertEquals(new Position(9, 6), blue.get("B35"));
+
+        assertNull(service.placements("missing", PlayerColor.RED));
+        assertTrue(service.getTemplates().stream().anyMatch(t -> t.getName().equals(FormationService.RANDOM)));
+    }
+
+    @Test
+    void testRandomKeepsFlagOnBackRow() {
+        FormationService service = new FormationService();
+        service.init();
+
+        for (int i = 0; i < 20; i++) {
+            Map<String, Position> blue = service.placements(FormationService.RANDOM, PlayerColor.BLUE);
+            assertEquals(35, blue.size());
+            assertEquals(13, blue.get("B3").getX());
+        }
+    }
+
+    @Test
+    void testSaveValidatesAndRejectsReservedNames() {
+        FormationService service = new FormationService();
+        service.init();
+
+        FormationTemplate template = new FormationTemplate();
+        template.setName("mine");
+        List<List<Integer>> rows = new ArrayList<>();
+        for (int column = 0; column < 5; column++) {
+            rows.add(new ArrayList<>(List.of(0, 0, 0, 0, 0, 0, 0)));
+        }
+        rows.get(0).set(3, 3);
+        template.setRows(rows);
+
+        service.save(template);
+        assertEquals(Map.of("B3", new Position(13, 3)), service.placements("mine", PlayerColor.BLUE));
+
+        rows.get(1).set(0, 3);
+        assertThrows(IllegalArgumentException.class, () -> service.save(template));
+
+        rows.get(1).set(0, 0);
+        template.setName("standard");
+        assertThrows(IllegalArgumentException.class, () -> service.save(template));
+        template.setName("../x");
+        assertThrows(IllegalArgumentException.class, () -> service.save(template));
+    }
+}
@@ -0,0 +1,101 @@
+package com.board.game.service;
+
+import com.board.game.model.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 오래 기다린 방에 봇이 앉아 배치와 준비를 마치고, 자기 차례에 수를 두는지 확인
+ */
+class GameBotTest {
+
+    private GameService gameService;
+    private GameBot gameBot;
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        BattleRuleService battleRuleService = new BattleRuleService();
+        battleRuleService.init();
+        gameService = new GameService(battleRuleService);
+
+        FormationService formationService = new FormationService();
+        formationService.init();
+        registry = new SimpleMeterRegistry();
+        gameBot = new GameBot(gameService, mock(GameBroadcaster.class), formationService, new GameMetrics(registry));
+        ReflectionTestUtils.setField(gameBot, "moveBudget", Duration.ofMillis(50));
+        ReflectionTestUtils.setField(gameBot, "threads", 1);
+        gameBot.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        gameBot.shutdown();
+    }
+
+    @Test
+    void testBotFillsAbandonedRoomAndPlays() throws InterruptedException {
+        String roomId = gameService.createRoom("redPlayer");
+        GameRoom room = gameService.getRoom(roomId);
+        long now = room.getLastActivityAt().getTime();
+
+        gameBot.tick(now + 1000);
+        assertEquals(GameStatus.WAITING, room.getStatus());
+
+        gameBot.tick(now + Duration.ofSeconds(31).toMillis());
+        String botId = room.getBluePlayer();
+        assertTrue(GameBot.isBot(botId));
+        assertEquals(GameStatus.SETUP, room.getStatus());
+
+        // 배치는 봇 풀에서 한 명령으로 처리된다
+        gameBot.tick(now + Duration.ofSeconds(32).toMillis());
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!room.isBluePlayerReady() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(room.isBluePlayerReady());
+        assertEquals(35, room.getBoard().getPieces().stream()
+                .filter(p -> p.getColor() == PlayerColor.BLUE && p.getPosition() != null)
+                .count());
+
+        assertTrue(gameService.placePiece(roomId, "redPlayer", "R29", new Position(4, 3)));
+        assertTrue(gameService.placePiece(roomId, "redPlayer", "R3", new Position(0, 0)));
+        assertTrue(gameService.setPlayerReady(roomId, "redPlayer"));
+        assertEquals(GameStatus.PLAYING, room.getStatus());
+
+        assertFalse(gameBot.playTurn(roomId, botId), "Bot must wait for its turn");
+        assertTrue(gameService.movePiece(roomId, "redPlayer", new Position(4, 3), new Position(5, 3)));
+        assertTrue(gameBot.playTurn(roomId, botId));
+        assertEquals(PlayerColor.RED, room.getBoard().getCurrentTurn());
+        assertEquals(1, registry.get("game.move").tags("source", "bot", "outcome", "applied").timer().count());
+    }
+
+    @Test
+    void testBotDoesNotJoinFullOrFreshRooms() {
+        String roomId = gameService.createRoom("redPlayer");
+        gameService.joinRoom(roomId, "bluePlayer");
+        long later = System.currentTimeMillis() + Duration.ofMinutes(5).toMillis();
+
+        gameBot.tick(later);
+        assertEquals("bluePlayer", gameService.getRoom(roomId).getBluePlayer());
+        assertEquals(0L, gameBot.getStats().get("botsSeated"));
+    }
+
+    @Test
+    void testHumansCannotTakeBotIds() {
+        assertNull(gameService.createRoom("bot-human"));
+        assertNull(gameService.findOrCreateRoom("bot-human"));
+
+        String roomId = gameService.createRoom("redPlayer");
+        assertNull(gameService.joinRoom(roomId, "bot-human"));
+        assertNull(gameService.getRoom(roomId).getBluePlayer());
+    }
+}
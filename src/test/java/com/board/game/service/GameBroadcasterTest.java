@@ -0,0 +1,193 @@
+package com.board.game.service;
+
+import com.board.game.model.*;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.MimeTypeUtils;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * 색상별 상태가 버전마다 한 번만 직렬화되어 REST 응답과 토픽 프레임에 재사용되는지 확인
+ */
+class GameBroadcasterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private GameService gameService;
+    private SimpMessagingTemplate messagingTemplate;
+    private GameBroadcaster broadcaster;
+
+    private SpectatorRegistry spectators;
+
+    @BeforeEach
+    void setUp() {
+        BattleRuleService battleRuleService = new BattleRuleService();
+        battleRuleService.init();
+        gameService = new GameService(battleRuleService);
+        messagingTemplate = mock(SimpMessagingTemplate.class);
+        spectators = mock(SpectatorRegistry.class);
+        broadcaster = new GameBroadcaster(gameService, messagingTemplate, objectMapper, GameMetrics.disabled(), spectators);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testBroadcastReusesRenderedBytes() throws Exception {
+        String roomId = gameService.createRoom("redPlayer");
+        gameService.joinRoom(roomId, "bluePlayer");
+
+        byte[] redResponse = broadcaster.render(roomId, PlayerColor.RED, "Player ready");
+        broadcaster.broadcast(roomId, "Player ready");
+
+        ArgumentCaptor<Message<?>> sent = ArgumentCaptor.forClass(Message.class);
+        verify(messagingTemplate).send(eq("/topic/game." + roomId + ".RED"), sent.capture());
+        verify(messagingTemplate).send(eq("/topic/game." + roomId + ".BLUE"), any(Message.class));
+
+        Message<?> redFrame = sent.getValue();
+        assertSame(redResponse, redFrame.getPayload(), "Topic frame should reuse the REST body");
+        assertEquals(MimeTypeUtils.APPLICATION_JSON, redFrame.getHeaders().get(MessageHeaders.CONTENT_TYPE));
+
+        JsonNode json = objectMapper.readTree(redResponse);
+        assertEquals("RED", json.get("playerColor").asText());
+        assertEquals("Player ready", json.get("message").asText());
+    }
+
+    @Test
+    void testNewVersionIsSerializedAgain() {
+        String roomId = gameService.createRoom("redPlayer");
+        byte[] before = broadcaster.render(roomId, PlayerColor.RED, null);
+        assertSame(before, broadcaster.render(roomId, PlayerColor.RED, null));
+
+        gameService.joinRoom(roomId, "bluePlayer");
+
+        assertNotSame(before, broadcaster.render(roomId, PlayerColor.RED, null));
+        assertNull(broadcaster.render("missing", PlayerColor.RED, null));
+        verify(messagingTemplate, never()).send(any(String.class), any(Message.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testScheduledBroadcastsCoalesceIntoOneFrame() throws Exception {
+        ReflectionTestUtils.setField(broadcaster, "coalesceWindow", Duration.ofMillis(50));
+        String roomId = gameService.createRoom("redPlayer");
+        gameService.joinRoom(roomId, "bluePlayer");
+
+        broadcaster.scheduleBroadcast(roomId, "Player joined: bluePlayer");
+        gameService.setPlayerReady(roomId, "redPlayer");
+        broadcaster.scheduleBroadcast(roomId, "Player ready");
+        broadcaster.scheduleBroadcast(roomId, null);
+        verify(messagingTemplate, never()).send(any(String.class), any(Message.class));
+
+        ArgumentCaptor<Message<?>> sent = ArgumentCaptor.forClass(Message.class);
+        verify(messagingTemplate, timeout(2000)).send(eq("/topic/game." + roomId + ".RED"), sent.capture());
+        verify(messagingTemplate, timeout(2000)).send(eq("/topic/game." + roomId + ".BLUE"), any(Message.class));
+
+        // 마지막 상태와 마지막 메시지가 실린 프레임 하나만 나간다
+        JsonNode json = objectMapper.readTree((byte[]) sent.getValue().getPayload());
+        assertEquals("Player ready", json.get("message").asText());
+        assertEquals(gameService.getRoom(roomId).getVersion(), json.get("seq").asLong());
+        Thread.sleep(150);
+        verify(messagingTemplate, times(2)).send(any(String.class), any(Message.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testImmediateBroadcastTakesOverPendingFrame() throws Exception {
+        ReflectionTestUtils.setField(broadcaster, "coalesceWindow", Duration.ofMillis(50));
+        String roomId = gameService.createRoom("redPlayer");
+        gameService.joinRoom(roomId, "bluePlayer");
+
+        broadcaster.scheduleBroadcast(roomId, "Player joined: bluePlayer");
+        broadcaster.broadcast(roomId, null);
+
+        ArgumentCaptor<Message<?>> sent = ArgumentCaptor.forClass(Message.class);
+        verify(messagingTemplate).send(eq("/topic/game." + roomId + ".RED"), sent.capture());
+        JsonNode json = objectMapper.readTree((byte[]) sent.getValue().getPayload());
+        assertEquals("Player joined: bluePlayer", json.get("message").asText());
+
+        // 묶음은 이미 보냈으므로 창이 지나도 다시 보내지 않는다
+        Thread.sleep(150);
+        verify(messagingTemplate, times(2)).send(any(String.class), any(Message.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testSpectatorsShareOneMaskedFrame() throws Exception {
+        String roomId = gameService.createRoom("redPlayer");
+        gameService.joinRoom(roomId, "bluePlayer");
+        assertTrue(gameService.placePiece(roomId, "redPlayer", "R3", new Position(0, 3)));
+        when(spectators.isWatched(roomId)).thenReturn(true);
+
+        // 배치 중에는 어느 쪽 말도 보이지 않는다
+        JsonNode setup = objectMapper.readTree(broadcaster.render(roomId, null, null));
+        assertEquals(0, setup.get("pieces").size());
+
+        assertTrue(gameService.placePiece(roomId, "bluePlayer", "B3", new Position(13, 3)));
+        gameService.setPlayerReady(roomId, "redPlayer");
+        gameService.setPlayerReady(roomId, "bluePlayer");
+        broadcaster.broadcast(roomId, null);
+        broadcaster.broadcast(roomId, null);
+
+        ArgumentCaptor<Message<?>> sent = ArgumentCaptor.forClass(Message.class);
+        verify(messagingTemplate, times(2)).send(eq("/topic/game." + roomId + ".SPECTATE"), sent.capture());
+        assertSame(sent.getAllValues().get(0).getPayload(), sent.getAllValues().get(1).getPayload());
+
+        // 진행 중에는 양쪽 모두 타입을 가리고, REST 조회도 같은 화면을 쓴다
+        byte[] frame = (byte[]) sent.getValue().getPayload();
+        assertSame(frame, broadcaster.render(roomId, null, null));
+        JsonNode json = objectMapper.readTree(frame);
+        assertEquals(2, json.get("pieces").size());
+        for (JsonNode piece : json.get("pieces")) {
+            assertTrue(piece.get("type").isNull(), piece.toString());
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testMoveFramesComeFromOneSnapshot() throws Exception {
+        String roomId = gameService.createRoom("redPlayer");
+        gameService.joinRoom(roomId, "bluePlayer");
+        GameRoom room = gameService.getRoom(roomId);
+        room.getBoard().getPieces().add(new Piece("R1", PlayerColor.RED, PieceType.MAJOR_GENERAL, new Position(4, 3)));
+        room.getBoard().getPieces().add(new Piece("B1", PlayerColor.BLUE, PieceType.GENERAL, new Position(10, 3)));
+        room.getBoard().setCurrentTurn(PlayerColor.RED);
+        room.setStatus(GameStatus.PLAYING);
+        assertTrue(gameService.movePiece(roomId, "redPlayer", new Position(4, 3), new Position(5, 3)));
+        long seq = room.getVersion();
+
+        // 스냅샷을 만든 직후 상대의 수가 들어와도 이번 전송은 그 스냅샷만 쓴다
+        GameService racing = spy(gameService);
+        doAnswer(invocation -> {
+            Object snapshot = invocation.callRealMethod();
+            assertTrue(gameService.movePiece(roomId, "bluePlayer", new Position(10, 3), new Position(9, 3)));
+            return snapshot;
+        }).when(racing).getMoveSnapshot(roomId);
+        GameBroadcaster deltas = new GameBroadcaster(racing, messagingTemplate, objectMapper, GameMetrics.disabled(), spectators);
+        ReflectionTestUtils.setField(deltas, "deltaEnabled", true);
+
+        deltas.broadcastMove(roomId, "Move successful");
+
+        ArgumentCaptor<Message<?>> red = ArgumentCaptor.forClass(Message.class);
+        ArgumentCaptor<Message<?>> blue = ArgumentCaptor.forClass(Message.class);
+        verify(messagingTemplate).send(eq("/topic/game." + roomId + ".RED"), red.capture());
+        verify(messagingTemplate).send(eq("/topic/game." + roomId + ".BLUE"), blue.capture());
+        for (Message<?> frame : List.of(red.getValue(), blue.getValue())) {
+            JsonNode json = objectMapper.readTree((byte[]) frame.getPayload());
+            assertEquals(seq, json.get("seq").asLong(), json.toString());
+            assertEquals(seq - 1, json.get("baseSeq").asLong(), json.toString());
+        }
+        assertTrue(room.getVersion() > seq);
+    }
+}
@@ -0,0 +1,81 @@
+package com.board.game.service;
+
+import com.board.game.model.*;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 방 수, 매칭 대기, 전투, 브로드캐스트 지표가 기록되는지 확인
+ */
+class GameMetricsTest {
+
+    private SimpleMeterRegistry registry;
+    private GameService gameService;
+
+    @BeforeEach
+    void setUp() {
+        BattleRuleService battleRuleService = new BattleRuleService();
+        battleRuleService.init();
+        registry = new SimpleMeterRegistry();
+        gameService = new GameService(battleRuleService, new RoomJournal(), new GameMetrics(registry));
+    }
+
+    private double rooms(GameStatus status) {
+        return registry.get("game.rooms").tag("status", status.name()).gauge().value();
+    }
+
+    @Test
+    void testRoomGaugesAndMatchmakingWait() {
+        String roomId = gameService.createRoom("redPlayer");
+        assertEquals(1, rooms(GameStatus.WAITING));
+        assertEquals(0, registry.get("game.matchmaking.wait").timer().count());
+
+        gameService.joinRoom(roomId, "bluePlayer");
+        assertEquals(0, rooms(GameStatus.WAITING));
+        assertEquals(1, rooms(GameStatus.SETUP));
+        assertEquals(1, registry.get("game.matchmaking.wait").timer().count());
+    }
+
+    @Test
+    void testBattleIsCountedByTypePair() {
+        String roomId = gameService.createRoom("redPlayer");
+        gameService.joinRoom(roomId, "bluePlayer");
+        GameRoom room = gameService.getRoom(roomId);
+        Board board = room.getBoard();
+        board.getPieces().add(new Piece("R1", PlayerColor.RED, PieceType.GENERAL, new Position(4, 3)));
+        board.getPieces().add(new Piece("R2", PlayerColor.RED, PieceType.FLAG, new Position(0, 0)));
+        board.getPieces().add(new Piece("B1", PlayerColor.BLUE, PieceType.SCOUT, new Position(5, 3)));
+        board.getPieces().add(new Piece("B2", PlayerColor.BLUE, PieceType.FLAG, new Position(13, 6)));
+        board.setCurrentTurn(PlayerColor.RED);
+        room.setStatus(GameStatus.PLAYING);
+
+        assertTrue(gameService.movePiece(roomId, "redPlayer", new Position(4, 3), new Position(5, 3)));
+
+        assertEquals(1, registry.get("game.battles")
+                .tag("attacker", "GENERAL")
+                .tag("defender", "SCOUT")
+                .tag("result", "win")
+                .counter().count());
+    }
+
+    @Test
+    void testBroadcastPayloadSizesAreRecorded() {
+        GameBroadcaster broadcaster = new GameBroadcaster(gameService, mock(SimpMessagingTemplate.class),
+                new ObjectMapper(), new GameMetrics(registry), new SpectatorRegistry());
+        String roomId = gameService.createRoom("redPlayer");
+        gameService.joinRoom(roomId, "bluePlayer");
+
+        broadcaster.broadcast(roomId, null);
+
+        DistributionSummary payload = registry.get("game.broadcast.payload").tag("kind", "state").summary();
+        assertEquals(2, payload.count());
+        assertTrue(payload.totalAmount() > 0);
+    }
+}
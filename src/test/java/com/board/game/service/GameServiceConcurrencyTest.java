@@ -0,0 +1,106 @@
+package com.board.game.service;
+
+import com.board.game.model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 같은 방에 동시에 들어오는 명령이 메일박스에서 순서대로 처리되는지 확인
+ */
+class GameServiceConcurrencyTest {
+
+    private GameService gameService;
+
+    @BeforeEach
+    void setUp() {
+        BattleRuleService battleRuleService = new BattleRuleService();
+        battleRuleService.init();
+        gameService = new GameService(battleRuleService);
+    }
+
+    @Test
+    void testConcurrentPlacementsInSameRoom() throws Exception {
+        String roomId = gameService.createRoom();
+        gameService.joinRoom(roomId, "redPlayer");
+        gameService.joinRoom(roomId, "bluePlayer");
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 1; i <= 20; i++) {
+                int n = i - 1;
+                String redId = "R" + i;
+                String blueId = "B" + i;
+                // RED: x 0-4, BLUE: x 9-13
+                Position redPosition = new Position(n / 7, n % 7);
+                Position bluePosition = new Position(9 + n / 7, n % 7);
+                results.add(pool.submit(() -> gameService.placePiece(roomId, "redPlayer", redId, redPosition)));
+                results.add(pool.submit(() -> gameService.placePiece(roomId, "bluePlayer", blueId, bluePosition)));
+            }
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get());
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        Board board = gameService.getRoom(roomId).getBoard();
+        assertEquals(40, board.getPieces().size());
+        for (Piece piece : board.getPieces()) {
+            assertSame(piece, board.getPieceAt(piece.getPosition()));
+        }
+    }
+
+    @Test
+    void testCommandsOnRemovedRoomAreRejected() {
+        String roomId = gameService.createRoom("redPlayer");
+        GameRoom room = gameService.getRoom(roomId);
+        assertTrue(gameService.evictRoom(room, r -> true));
+
+        // 제거된 방의 남은 참조로 들어온 명령은 메일박스 없이 실행되지 않는다
+        AtomicInteger evaluated = new AtomicInteger();
+        assertFalse(gameService.evictRoom(room, r -> evaluated.incrementAndGet() > 0));
+        assertEquals(0, evaluated.get());
+    }
+
+    @Test
+    void testConcurrentMatchmakingFillsRoomsInPairs() throws Exception {
+        int players = 64;
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        List<Future<GameRoom>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < players; i++) {
+                String playerId = "player" + i;
+                results.add(pool.submit(() -> gameService.findOrCreateRoom(playerId)));
+            }
+
+            Map<String, Integer> seats = new HashMap<>();
+            for (Future<GameRoom> result : results) {
+                GameRoom room = result.get();
+                assertNotNull(room);
+                seats.merge(room.getRoomId(), 1, Integer::sum);
+            }
+
+            assertEquals(players / 2, seats.size(), "Players should be paired without half-empty rooms");
+            for (String roomId : seats.keySet()) {
+                GameRoom room = gameService.getRoom(roomId);
+                assertTrue(room.isFull());
+                assertEquals(GameStatus.SETUP, room.getStatus());
+            }
+            assertTrue(gameService.getAvailableRooms().isEmpty());
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
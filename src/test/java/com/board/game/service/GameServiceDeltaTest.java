@@ -0,0 +1,85 @@
+package com.board.game.service;
+
+import com.board.game.dto.GameDeltaResponse;
+import com.board.game.model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 이동 후 델타에 바뀐 말만 담기고, 상대 말의 타입은 가려지는지 확인.
+ * 색상별 말 목록은 같은 버전 동안 공유되는지도 확인
+ */
+class GameServiceDeltaTest {
+
+    private GameService gameService;
+    private String roomId;
+
+    @BeforeEach
+    void setUp() {
+        BattleRuleService battleRuleService = new BattleRuleService();
+        battleRuleService.init();
+        gameService = new GameService(battleRuleService);
+
+        roomId = gameService.createRoom("redPlayer");
+        gameService.joinRoom(roomId, "bluePlayer");
+
+        GameRoom room = gameService.getRoom(roomId);
+        Board board = room.getBoard();
+        board.getPieces().add(new Piece("R1", PlayerColor.RED, PieceType.MAJOR_GENERAL, new Position(4, 3)));
+        board.getPieces().add(new Piece("R2", PlayerColor.RED, PieceType.GENERAL, new Position(0, 0)));
+        board.getPieces().add(new Piece("B1", PlayerColor.BLUE, PieceType.SCOUT, new Position(10, 3)));
+        board.getPieces().add(new Piece("B2", PlayerColor.BLUE, PieceType.GENERAL, new Position(13, 6)));
+        board.setCurrentTurn(PlayerColor.RED);
+        room.setStatus(GameStatus.PLAYING);
+    }
+
+    @Test
+    void testDeltaContainsOnlyMovedPiece() {
+        long before = gameService.getGameState(roomId, "redPlayer").getSeq();
+
+        assertTrue(gameService.movePiece(roomId, "redPlayer", new Position(4, 3), new Position(4, 2)));
+
+        GameDeltaResponse blueDelta = gameService.getGameDelta(roomId, "bluePlayer");
+        assertNotNull(blueDelta);
+        assertEquals(before, blueDelta.getBaseSeq());
+        assertEquals(before + 1, blueDelta.getSeq());
+        assertEquals(PlayerColor.BLUE, blueDelta.getCurrentTurn());
+        assertEquals(1, blueDelta.getPieces().size());
+
+        Piece moved = blueDelta.getPieces().get(0);
+        assertEquals("R1", moved.getId());
+        assertEquals(new Position(4, 2), moved.getPosition());
+        assertNull(moved.getType(), "Opponent piece type must stay hidden in the delta");
+
+        GameDeltaResponse redDelta = gameService.getGameDelta(roomId, "redPlayer");
+        assertEquals(PieceType.MAJOR_GENERAL, redDelta.getPieces().get(0).getType());
+        assertEquals(blueDelta.getSeq(), gameService.getGameState(roomId, "bluePlayer").getSeq());
+    }
+
+    @Test
+    void testNoDeltaWithoutMove() {
+        assertNull(gameService.getGameDelta(roomId, "redPlayer"));
+
+        assertTrue(gameService.movePiece(roomId, "redPlayer", new Position(4, 3), new Position(4, 2)));
+        assertNull(gameService.getGameDelta(roomId, "spectator"));
+    }
+
+    @Test
+    void testViewIsSharedUntilVersionChanges() {
+        List<Piece> blueView = gameService.getGameState(roomId, "bluePlayer").getPieces();
+        assertSame(blueView, gameService.getGameState(roomId, "bluePlayer").getPieces());
+        assertNotSame(blueView, gameService.getGameState(roomId, "redPlayer").getPieces());
+
+        assertTrue(gameService.movePiece(roomId, "redPlayer", new Position(4, 3), new Position(4, 2)));
+
+        List<Piece> afterMove = gameService.getGameState(roomId, "bluePlayer").getPieces();
+        assertNotSame(blueView, afterMove);
+        Piece before = blueView.stream().filter(p -> p.getId().equals("R1")).findFirst().orElseThrow();
+        assertEquals(new Position(4, 3), before.getPosition(), "Old view must not follow the live board");
+        assertThrows(UnsupportedOperationException.class, () -> afterMove.add(before));
+    }
+}
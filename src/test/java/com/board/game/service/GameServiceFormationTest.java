@@ -0,0 +1,88 @@
+package com.board.game.service;
+
+import com.board.game.model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 배치 전체를 한 명령으로 검사하고 적용하는지 확인
+ */
+class GameServiceFormationTest {
+
+    private GameService gameService;
+    private FormationService formationService;
+    private String roomId;
+
+    @BeforeEach
+    void setUp() {
+        BattleRuleService battleRuleService = new BattleRuleService();
+        battleRuleService.init();
+        gameService = new GameService(battleRuleService);
+        formationService = new FormationService();
+        formationService.init();
+
+        roomId = gameService.createRoom("redPlayer");
+        gameService.joinRoom(roomId, "bluePlayer");
+    }
+
+    @Test
+    void testTemplatePlacesAllPiecesInOneVersion() {
+        GameRoom room = gameService.getRoom(roomId);
+        long version = room.getVersion();
+
+        Map<String, Position> placements = formationService.placements("fortress", PlayerColor.BLUE);
+        assertTrue(gameService.placeFormation(roomId, "bluePlayer", placements, false));
+
+        assertEquals(version + 1, room.getVersion());
+        Board board = room.getBoard();
+        assertEquals(BoardCodec.PIECES_PER_SIDE, board.getPieces().size());
+        // fortress 는 군기를 맨 뒷줄 가운데에 둔다 (BLUE 는 x=13)
+        assertEquals(PieceType.FLAG, board.getPieceAt(new Position(13, 3)).getType());
+    }
+
+    @Test
+    void testInvalidEntryLeavesBoardUntouched() {
+        assertTrue(gameService.placePiece(roomId, "redPlayer", "R3", new Position(0, 3)));
+        Board board = gameService.getRoom(roomId).getBoard();
+
+        Map<String, Position> placements = new LinkedHashMap<>();
+        placements.put("R1", new Position(0, 0));
+        placements.put("R2", new Position(5, 0));   // 최전방 줄에는 놓을 수 없다
+        assertFalse(gameService.placeFormation(roomId, "redPlayer", placements, false));
+
+        placements.put("R2", new Position(0, 0));   // 같은 칸에 두 말
+        assertFalse(gameService.placeFormation(roomId, "redPlayer", placements, false));
+
+        placements.put("R2", new Position(0, 1));
+        placements.put("B4", new Position(0, 2));   // 상대 말
+        assertFalse(gameService.placeFormation(roomId, "redPlayer", placements, false));
+
+        assertEquals(1, board.getPieces().size());
+        assertEquals("R3", board.getPieceAt(new Position(0, 3)).getId());
+    }
+
+    @Test
+    void testFormationReplacesPreviousLayout() {
+        assertTrue(gameService.placeFormation(roomId, "redPlayer",
+                formationService.placements("standard", PlayerColor.RED), false));
+        Board board = gameService.getRoom(roomId).getBoard();
+
+        // R1 과 R2 의 자리를 맞바꾸고 나머지는 인벤토리로 돌린다
+        Map<String, Position> placements = new LinkedHashMap<>();
+        placements.put("R1", new Position(0, 1));
+        placements.put("R2", new Position(0, 0));
+        placements.put("R3", new Position(0, 2));
+        assertTrue(gameService.placeFormation(roomId, "redPlayer", placements, true));
+
+        assertEquals("R2", board.getPieceAt(new Position(0, 0)).getId());
+        assertEquals("R1", board.getPieceAt(new Position(0, 1)).getId());
+        assertNull(board.getPieceAt(new Position(4, 6)));
+        assertNull(board.findPiece("R35").getPosition());
+        assertTrue(gameService.getRoom(roomId).isPlayerReady("redPlayer"));
+    }
+}
@@ -0,0 +1,66 @@
+package com.board.game.service;
+
+import com.board.game.model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 배치 단계에서 방이 미리 만든 시작 말을 ID 로 바로 찾아 쓰는지 확인
+ */
+class GameServicePlacementTest {
+
+    private GameService gameService;
+    private String roomId;
+
+    @BeforeEach
+    void setUp() {
+        BattleRuleService battleRuleService = new BattleRuleService();
+        battleRuleService.init();
+        gameService = new GameService(battleRuleService);
+
+        roomId = gameService.createRoom("redPlayer");
+        gameService.joinRoom(roomId, "bluePlayer");
+    }
+
+    @Test
+    void testPlacementReusesReservedPiece() {
+        Board board = gameService.getRoom(roomId).getBoard();
+        assertNull(board.findPiece("R3"));
+
+        assertTrue(gameService.placePiece(roomId, "redPlayer", "R3", new Position(0, 3)));
+        Piece flag = board.findPiece("R3");
+        assertEquals(PieceType.FLAG, flag.getType());
+        assertEquals(flag, board.getPieceAt(new Position(0, 3)));
+
+        // 인벤토리로 되돌렸다가 다시 놓아도 같은 말이 움직인다
+        assertTrue(gameService.placePiece(roomId, "redPlayer", "R3", null));
+        assertNull(board.getPieceAt(new Position(0, 3)));
+        assertTrue(gameService.placePiece(roomId, "redPlayer", "R3", new Position(1, 3)));
+        assertSame(flag, board.findPiece("R3"));
+        assertEquals(1, board.getPieces().size());
+    }
+
+    @Test
+    void testOpponentAndUnknownPiecesAreRejected() {
+        assertFalse(gameService.placePiece(roomId, "redPlayer", "B3", new Position(0, 3)));
+        assertFalse(gameService.placePiece(roomId, "redPlayer", "X1", new Position(0, 3)));
+
+        assertTrue(gameService.placePiece(roomId, "bluePlayer", "B3", new Position(13, 3)));
+        // 상대가 이미 놓은 말도 옮길 수 없다
+        assertFalse(gameService.placePiece(roomId, "redPlayer", "B3", new Position(0, 3)));
+        assertFalse(gameService.placePiece(roomId, "redPlayer", "B3", null));
+    }
+
+    @Test
+    void testLookupFollowsPieceListChanges() {
+        Board board = gameService.getRoom(roomId).getBoard();
+        Piece added = new Piece("R5", PlayerColor.RED, PieceType.MAJOR_GENERAL, new Position(2, 2));
+        board.getPieces().add(added);
+        assertSame(added, board.findPiece("R5"));
+
+        board.getPieces().remove(added);
+        assertNull(board.findPiece("R5"));
+    }
+}
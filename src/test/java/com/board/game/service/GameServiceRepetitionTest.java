@@ -0,0 +1,67 @@
+package com.board.game.service;
+
+import com.board.game.model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 같은 위치가 반복되면 승자 없이 게임이 끝나는지 확인
+ */
+class GameServiceRepetitionTest {
+
+    private GameService gameService;
+    private String roomId;
+
+    @BeforeEach
+    void setUp() {
+        BattleRuleService battleRuleService = new BattleRuleService();
+        battleRuleService.init();
+        gameService = new GameService(battleRuleService);
+
+        roomId = gameService.createRoom("redPlayer");
+        gameService.joinRoom(roomId, "bluePlayer");
+
+        GameRoom room = gameService.getRoom(roomId);
+        Board board = room.getBoard();
+        board.getPieces().add(new Piece("R1", PlayerColor.RED, PieceType.GENERAL, new Position(4, 3)));
+        board.getPieces().add(new Piece("R2", PlayerColor.RED, PieceType.FLAG, new Position(0, 0)));
+        board.getPieces().add(new Piece("B1", PlayerColor.BLUE, PieceType.GENERAL, new Position(9, 3)));
+        board.getPieces().add(new Piece("B2", PlayerColor.BLUE, PieceType.FLAG, new Position(13, 6)));
+        board.setCurrentTurn(PlayerColor.RED);
+        room.setStatus(GameStatus.PLAYING);
+    }
+
+    private void shuffle() {
+        assertTrue(gameService.movePiece(roomId, "redPlayer", new Position(4, 3), new Position(3, 3)));
+        assertTrue(gameService.movePiece(roomId, "bluePlayer", new Position(9, 3), new Position(10, 3)));
+        assertTrue(gameService.movePiece(roomId, "redPlayer", new Position(3, 3), new Position(4, 3)));
+        assertTrue(gameService.movePiece(roomId, "bluePlayer", new Position(10, 3), new Position(9, 3)));
+    }
+
+    @Test
+    void testThirdRepetitionIsDraw() {
+        shuffle();
+        shuffle();
+        assertEquals(GameStatus.PLAYING, gameService.getRoom(roomId).getStatus());
+
+        // 첫 이동 후의 위치가 세 번째로 나온다
+        assertTrue(gameService.movePiece(roomId, "redPlayer", new Position(4, 3), new Position(3, 3)));
+        GameRoom room = gameService.getRoom(roomId);
+        assertEquals(GameStatus.FINISHED, room.getStatus());
+        assertNull(room.getBoard().getWinner());
+        assertFalse(gameService.movePiece(roomId, "bluePlayer", new Position(9, 3), new Position(10, 3)));
+    }
+
+    @Test
+    void testRepetitionRuleCanBeDisabled() {
+        ReflectionTestUtils.setField(gameService, "repetitionLimit", 0);
+
+        shuffle();
+        shuffle();
+        shuffle();
+        assertEquals(GameStatus.PLAYING, gameService.getRoom(roomId).getStatus());
+    }
+}
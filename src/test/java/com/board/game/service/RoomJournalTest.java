@@ -0,0 +1,151 @@
+package com.board.game.service;
+
+import com.board.game.model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 이벤트 로그와 스냅샷으로 재시작 후 진행 중인 방을 복구하는지 확인
+ */
+class RoomJournalTest {
+
+    @TempDir
+    Path dir;
+
+    private BattleRuleService battleRuleService;
+
+    @BeforeEach
+    void setUp() {
+        battleRuleService = new BattleRuleService();
+        battleRuleService.init();
+    }
+
+    private GameService start(int snapshotEvery) {
+        RoomJournal journal = new RoomJournal();
+        ReflectionTestUtils.setField(journal, "enabled", true);
+        ReflectionTestUtils.setField(journal, "dir", dir.toString());
+        ReflectionTestUtils.setField(journal, "snapshotEvery", snapshotEvery);
+        journal.init();
+
+        GameService gameService = new GameService(battleRuleService, journal);
+        gameService.recoverRooms();
+        return gameService;
+    }
+
+    private String playOpening(GameService gameService) {
+        String roomId = gameService.createRoom("redPlayer");
+        gameService.joinRoom(roomId, "bluePlayer");
+        assertTrue(gameService.placePiece(roomId, "redPlayer", "R29", new Position(4, 0)));
+        assertTrue(gameService.placePiece(roomId, "redPlayer", "R1", new Position(0, 0)));
+        assertTrue(gameService.placePiece(roomId, "bluePlayer", "B29", new Position(9, 0)));
+        assertTrue(gameService.placePiece(roomId, "bluePlayer", "B1", new Position(13, 0)));
+        assertTrue(gameService.setPlayerReady(roomId, "redPlayer"));
+        assertTrue(gameService.setPlayerReady(roomId, "bluePlayer"));
+        assertTrue(gameService.movePiece(roomId, "redPlayer", new Position(4, 0), new Position(5, 0)));
+        return roomId;
+    }
+
+    private void assertSameGame(GameRoom expected, GameRoom actual) {
+        assertNotNull(actual);
+        assertEquals(expected.getStatus(), actual.getStatus());
+        assertEquals(expected.getRedPlayer(), actual.getRedPlayer());
+        assertEquals(expected.getBluePlayer(), actual.getBluePlayer());
+        assertEquals(expected.getRuleVersion(), actual.getRuleVersion());
+        assertEquals(expected.getBoard().getCurrentTurn(), actual.getBoard().getCurrentTurn());
+        // 스냅샷은 말을 ID 순서로 복원한다
+        Comparator<Piece> byId = Comparator.comparing(Piece::getId);
+        assertEquals(expected.getBoard().getPieces().stream().sorted(byId).toList(),
+                actual.getBoard().getPieces().stream().sorted(byId).toList());
+    }
+
+    @Test
+    void testRoomIsRebuiltFromLogAfterRestart() {
+        GameService before = start(1000);
+        String roomId = playOpening(before);
+        ((RoomJournal) ReflectionTestUtils.getField(before, "journal")).close();
+
+        GameService after = start(1000);
+
+        assertSameGame(before.getRoom(roomId), after.getRoom(roomId));
+        assertEquals(GameStatus.PLAYING, after.getRoom(roomId).getStatus());
+        assertTrue(after.movePiece(roomId, "bluePlayer", new Position(9, 0), new Position(8, 0)));
+    }
+
+    @Test
+    void testSnapshotPlusTailSurvivesTornWrite() throws Exception {
+        GameService before = start(3);
+        String roomId = playOpening(before);
+        RoomJournal journal = (RoomJournal) ReflectionTestUtils.getField(before, "journal");
+        journal.close();
+        assertTrue(Files.exists(dir.resolve(roomId + ".snap")));
+
+        // 마지막 레코드를 쓰다가 죽은 경우
+        Files.write(dir.resolve(roomId + ".log"), new byte[] {0, 0, 0, 20, 1, 2}, StandardOpenOption.APPEND);
+
+        GameService after = start(3);
+        assertSameGame(before.getRoom(roomId), after.getRoom(roomId));
+    }
+
+    @Test
+    void testMailboxDoesNotTouchDiskUntilFlush() throws Exception {
+        GameService before = start(3);
+        String roomId = playOpening(before);
+        RoomJournal journal = (RoomJournal) ReflectionTestUtils.getField(before, "journal");
+
+        // 스냅샷이 몇 번 잡혔어도 파일은 flusher 가 쓴다
+        assertFalse(Files.exists(dir.resolve(roomId + ".snap")));
+        assertFalse(Files.exists(dir.resolve(roomId + ".log")));
+
+        journal.flush();
+        assertTrue(Files.exists(dir.resolve(roomId + ".snap")));
+        journal.close();
+
+        GameService after = start(3);
+        assertSameGame(before.getRoom(roomId), after.getRoom(roomId));
+    }
+
+    @Test
+    void testRepetitionCountsSurviveRestart() {
+        GameService before = start(3);
+        String roomId = playOpening(before);
+        // 첫 이동 후의 위치로 한 번 돌아온다
+        assertTrue(before.movePiece(roomId, "bluePlayer", new Position(9, 0), new Position(8, 0)));
+        assertTrue(before.movePiece(roomId, "redPlayer", new Position(5, 0), new Position(4, 0)));
+        assertTrue(before.movePiece(roomId, "bluePlayer", new Position(8, 0), new Position(9, 0)));
+        assertTrue(before.movePiece(roomId, "redPlayer", new Position(4, 0), new Position(5, 0)));
+        ((RoomJournal) ReflectionTestUtils.getField(before, "journal")).close();
+        assertTrue(Files.exists(dir.resolve(roomId + ".snap")));
+
+        GameService after = start(3);
+        assertEquals(before.getRoom(roomId).getPositionCounts(), after.getRoom(roomId).getPositionCounts());
+
+        // 세 번째로 나오면 재시작과 상관없이 무승부
+        assertTrue(after.movePiece(roomId, "bluePlayer", new Position(9, 0), new Position(8, 0)));
+        assertTrue(after.movePiece(roomId, "redPlayer", new Position(5, 0), new Position(4, 0)));
+        assertTrue(after.movePiece(roomId, "bluePlayer", new Position(8, 0), new Position(9, 0)));
+        assertTrue(after.movePiece(roomId, "redPlayer", new Position(4, 0), new Position(5, 0)));
+        assertEquals(GameStatus.FINISHED, after.getRoom(roomId).getStatus());
+        assertNull(after.getRoom(roomId).getBoard().getWinner());
+    }
+
+    @Test
+    void testEvictedRoomIsNotRecovered() {
+        GameService before = start(1000);
+        String roomId = before.createRoom("redPlayer");
+        ((RoomJournal) ReflectionTestUtils.getField(before, "journal")).close();
+        assertTrue(before.evictRoom(before.getRoom(roomId), room -> true));
+
+        GameService after = start(1000);
+        assertNull(after.getRoom(roomId));
+        assertEquals(0, after.getLiveRoomCount());
+    }
+}
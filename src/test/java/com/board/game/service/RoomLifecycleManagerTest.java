@@ -0,0 +1,74 @@
+package com.board.game.service;
+
+import com.board.game.model.GameStatus;
+import com.board.game.model.PlayerColor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoomLifecycleManagerTest {
+
+    private GameService gameService;
+    private RoomLifecycleManager lifecycleManager;
+
+    @BeforeEach
+    void setUp() {
+        BattleRuleService battleRuleService = new BattleRuleService();
+        battleRuleService.init();
+        gameService = new GameService(battleRuleService);
+        lifecycleManager = new RoomLifecycleManager(gameService);
+    }
+
+    @Test
+    void testFinishedRoomEvictedAfterTtl() {
+        String roomId = gameService.createRoom("redPlayer");
+        gameService.joinRoom(roomId, "bluePlayer");
+        gameService.leaveRoom(roomId, "bluePlayer");
+        assertEquals(GameStatus.FINISHED, gameService.getRoom(roomId).getStatus());
+
+        long now = System.currentTimeMillis();
+        lifecycleManager.reap(now);
+        assertNotNull(gameService.getRoom(roomId), "Finished room should stay until its TTL passes");
+
+        lifecycleManager.reap(now + Duration.ofMinutes(3).toMillis());
+        assertNull(gameService.getRoom(roomId));
+        assertEquals(1L, lifecycleManager.getStats().get("evictedFinished"));
+        assertEquals(0, gameService.getLiveRoomCount());
+    }
+
+    @Test
+    void testAbandonedWaitingRoomLeavesMatchmaking() {
+        String roomId = gameService.createRoom("redPlayer");
+        assertEquals(1, gameService.getAvailableRooms().size());
+
+        lifecycleManager.reap(System.currentTimeMillis() + Duration.ofMinutes(11).toMillis());
+
+        assertNull(gameService.getRoom(roomId));
+        assertTrue(gameService.getAvailableRooms().isEmpty());
+        assertNotEquals(roomId, gameService.findOrCreateRoom("bluePlayer").getRoomId());
+    }
+
+    @Test
+    void testActiveGameIsKept() {
+        String roomId = gameService.createRoom("redPlayer");
+        gameService.joinRoom(roomId, "bluePlayer");
+
+        lifecycleManager.reap(System.currentTimeMillis() + Duration.ofMinutes(5).toMillis());
+
+        assertNotNull(gameService.getRoom(roomId));
+    }
+
+    @Test
+    void testPlayerColorOfReapedRoomIsNull() {
+        String roomId = gameService.createRoom("redPlayer");
+        assertEquals(PlayerColor.RED, gameService.getPlayerColor(roomId, "redPlayer"));
+        assertNull(gameService.getPlayerColor(roomId, "stranger"));
+
+        lifecycleManager.reap(System.currentTimeMillis() + Duration.ofMinutes(11).toMillis());
+
+        assertNull(gameService.getPlayerColor(roomId, "redPlayer"));
+    }
+}
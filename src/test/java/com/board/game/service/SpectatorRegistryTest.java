@@ -0,0 +1,54 @@
+package com.board.game.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 관전 토픽 구독을 방별로 세고, 구독 해제와 연결 끊김에서 정리하는지 확인
+ */
+class SpectatorRegistryTest {
+
+    private final SpectatorRegistry registry = new SpectatorRegistry();
+
+    @Test
+    void testCountsSpectateSubscriptionsOnly() {
+        registry.onSubscribe(new SessionSubscribeEvent(this, frame(StompCommand.SUBSCRIBE, "s1", "1", "/topic/game.room1.SPECTATE")));
+        registry.onSubscribe(new SessionSubscribeEvent(this, frame(StompCommand.SUBSCRIBE, "s2", "1", "/topic/game.room1.SPECTATE")));
+        registry.onSubscribe(new SessionSubscribeEvent(this, frame(StompCommand.SUBSCRIBE, "s3", "1", "/topic/game.room2.RED")));
+
+        assertEquals(2, registry.getWatcherCount("room1"));
+        assertTrue(registry.isWatched("room1"));
+        assertFalse(registry.isWatched("room2"));
+
+        registry.onUnsubscribe(new SessionUnsubscribeEvent(this, frame(StompCommand.UNSUBSCRIBE, "s1", "1", null)));
+        assertEquals(1, registry.getWatcherCount("room1"));
+
+        registry.onDisconnect(new SessionDisconnectEvent(this, frame(StompCommand.DISCONNECT, "s2", null, null), "s2", CloseStatus.NORMAL));
+        assertEquals(0, registry.getWatcherCount("room1"));
+        assertFalse(registry.isWatched("room1"));
+    }
+
+    @Test
+    void testRelayAlwaysPublishes() {
+        ReflectionTestUtils.setField(registry, "brokerMode", "relay");
+        assertTrue(registry.isWatched("room1"));
+    }
+
+    private static Message<byte[]> frame(StompCommand command, String sessionId, String subscriptionId, String destination) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(command);
+        accessor.setSessionId(sessionId);
+        accessor.setSubscriptionId(subscriptionId);
+        accessor.setDestination(destination);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
@@ -0,0 +1,51 @@
+package com.board.game.sim;
+
+import com.board.game.model.PieceType;
+import com.board.game.service.BattleRuleService;
+import com.board.game.service.BattleRuleSet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SelfPlayTest {
+
+    private BattleRuleSet ruleSet;
+
+    @BeforeEach
+    void setUp() {
+        BattleRuleService battleRuleService = new BattleRuleService();
+        battleRuleService.init();
+        ruleSet = battleRuleService.getActiveRuleSet();
+    }
+
+    private SelfPlay.Options options(String... args) {
+        return SelfPlay.parse(args);
+    }
+
+    @Test
+    void testGamesMatchBoardWhenVerified() throws Exception {
+        SelfPlayStats stats = new SelfPlay(ruleSet, options("--games=40", "--red=aggressive", "--verify",
+                "--max-plies=300", "--threads=2")).run();
+
+        assertEquals(40, stats.getGames());
+        assertEquals(40, stats.getRedWins() + stats.getBlueWins() + stats.getUnfinished());
+        assertTrue(stats.getBattles(PieceType.PRIVATE) > 0);
+    }
+
+    @Test
+    void testResultDoesNotDependOnThreadCount() throws Exception {
+        SelfPlayStats one = new SelfPlay(ruleSet, options("--games=3000", "--threads=1", "--seed=5")).run();
+        SelfPlayStats four = new SelfPlay(ruleSet, options("--games=3000", "--threads=4", "--seed=5")).run();
+
+        assertEquals(one.toMap(), four.toMap());
+        assertEquals(3000L, ((Map<?, ?>) one.toMap()).get("games"));
+    }
+
+    @Test
+    void testRejectsUnknownOption() {
+        assertThrows(IllegalArgumentException.class, () -> options("--game=10"));
+    }
+}